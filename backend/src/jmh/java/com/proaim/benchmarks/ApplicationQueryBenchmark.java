@@ -0,0 +1,51 @@
+package com.proaim.benchmarks;
+
+import com.proaim.entity.Application;
+import com.proaim.service.ApplicationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Application filters that used to be findAll().stream().filter(...) scans; with the
+// derived queries the time should stay flat as the table grows to a million rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ApplicationQueryBenchmark {
+
+    private static final int PROPERTIES = 10000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int applications;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationService applicationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(PROPERTIES, applications);
+        applicationService = context.getBean(ApplicationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // applications / 10000 rows
+    @Benchmark
+    public List<Application> getApplicationsByListing() {
+        return applicationService.getApplicationsByListing(PROPERTIES / 2L);
+    }
+
+    // applications / 1000 rows
+    @Benchmark
+    public List<Application> getApplicationsByOccupantsCount() {
+        return applicationService.getApplicationsByOccupantsCount(BenchmarkContext.RARE_OCCUPANTS_COUNT);
+    }
+}
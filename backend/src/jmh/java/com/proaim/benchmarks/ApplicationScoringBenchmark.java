@@ -0,0 +1,70 @@
+package com.proaim.benchmarks;
+
+import com.proaim.dto.ApplicationScore;
+import com.proaim.service.ApplicationScoringService;
+import com.proaim.service.scoring.ApplicantFeatures;
+import com.proaim.service.scoring.PropertyTerms;
+import com.proaim.service.scoring.ScoringModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Ranking one property's pending applications: the whole request on a cold cache
+// (projection query, scoring, sort) and the scoring model's batch pass on its own
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ApplicationScoringBenchmark {
+
+    private static final long PROPERTY_ID = 1L;
+
+    // All seeded applications belong to the one property; three in four are pending
+    @Param({"1000", "10000", "100000"})
+    private int applications;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationScoringService applicationScoringService;
+    private ScoringModel scoringModel;
+    private ApplicantFeatures features;
+    private PropertyTerms terms;
+    private double[] scores;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(1, applications);
+        applicationScoringService = context.getBean(ApplicationScoringService.class);
+        scoringModel = context.getBean(ScoringModel.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        features = new ApplicantFeatures(applications);
+        for (int i = 0; i < applications; i++) {
+            features.set(i, i + 1, 2000 + random.nextInt(10000), 500 + random.nextInt(350),
+                    1 + random.nextInt(5), random.nextInt(3), random.nextInt(800));
+        }
+        terms = new PropertyTerms(1800, 2, true);
+        scores = new double[applications];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ApplicationScore> rankColdCache() {
+        applicationScoringService.evictProperty(PROPERTY_ID);
+        return applicationScoringService.rankPendingApplications(PROPERTY_ID);
+    }
+
+    @Benchmark
+    public double[] scoreBatch() {
+        scoringModel.score(features, terms, scores);
+        return scores;
+    }
+}
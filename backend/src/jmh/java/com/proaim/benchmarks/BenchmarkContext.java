@@ -0,0 +1,94 @@
+package com.proaim.benchmarks;
+
+import com.proaim.WebsiteBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Boots the application against a private in-memory H2 database and seeds it
+// with the requested number of properties, spread over 50 cities and a
+// one-degree square around Austin, plus one listing per property and optionally
+// applications spread round-robin over the properties
+final class BenchmarkContext {
+
+    static final int CITIES = 50;
+    static final double CENTER_LAT = 30.27;
+    static final double CENTER_LNG = -97.74;
+
+    private BenchmarkContext() {
+    }
+
+    // Every 1000th application asks for this many occupants; no other does
+    static final int RARE_OCCUPANTS_COUNT = 6;
+
+    static ConfigurableApplicationContext start(int properties) {
+        return start(properties, 0);
+    }
+
+    static ConfigurableApplicationContext start(int properties, int applications) {
+        String url = "jdbc:h2:mem:bench" + properties + "_" + applications + ";DB_CLOSE_DELAY=-1";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WebsiteBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "app.datasource.replica.jdbc-url=" + url,
+                        "spring.jpa.show-sql=false",
+                        "sql.monitor.sample-rate=0.0",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.proaim=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "spring.main.banner-mode=off")
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate, properties);
+        seedApplications(jdbcTemplate, properties, applications);
+        return context;
+    }
+
+    // Uses H2's SYSTEM_RANGE so even a million rows load in one statement
+    private static void seed(JdbcTemplate jdbcTemplate, int properties) {
+        jdbcTemplate.update(
+                "INSERT INTO properties (bathrooms, bedrooms, lease_term_months, pets_allowed, rent_amount, " +
+                "security_deposit, smoking_allowed, square_footage, available_date, landlord_id, address, city, " +
+                "description, furnishing_status, property_type, state, title, zip_code, status, created_at, " +
+                "updated_at, latitude, longitude) " +
+                "SELECT MOD(x, 3) + 1, MOD(x, 5) + 1, 12, MOD(x, 2) = 0, 800 + MOD(x * 37, 3200), 500, false, " +
+                "500 + MOD(x, 2000), NOW(), 1, 'Street ' || x, 'City' || MOD(x, " + CITIES + "), " +
+                "'Benchmark property', 'UNFURNISHED', CASE MOD(x, 3) WHEN 0 THEN 'APARTMENT' WHEN 1 THEN 'HOUSE' " +
+                "ELSE 'CONDO' END, 'TX', 'Property ' || x, '78701', " +
+                "CASE WHEN MOD(x, 10) = 0 THEN 'RENTED' ELSE 'AVAILABLE' END, NOW(), NOW(), " +
+                "? + MOD(x * 7919, 10000) / 10000.0 - 0.5, ? + MOD(x * 104729, 10000) / 10000.0 - 0.5 " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                CENTER_LAT, CENTER_LNG, properties);
+        jdbcTemplate.update("INSERT INTO property_amenities (property_id, amenity) " +
+                "SELECT id, 'Parking' FROM properties WHERE MOD(id, 2) = 0");
+        jdbcTemplate.update("INSERT INTO property_images (property_id, image_url) " +
+                "SELECT id, 'https://images.example.com/' || id || '.jpg' FROM properties");
+    }
+
+    // Listing ids match property ids in a fresh database; the tenant and landlord come from data.sql.
+    // Three in four applications are PENDING and the rental history runs to 50 characters.
+    private static void seedApplications(JdbcTemplate jdbcTemplate, int properties, int applications) {
+        jdbcTemplate.update("INSERT INTO listings (title, description, rent_amount, security_deposit, available_date, " +
+                "lease_term_months, status, type, property_id, landlord_id, created_at, updated_at, expires_at, " +
+                "is_featured, view_count) " +
+                "SELECT title, description, rent_amount, security_deposit, available_date, 12, 'ACTIVE', 'RENT', id, " +
+                "landlord_id, NOW(), NOW(), DATEADD('DAY', 90, NOW()), false, 0 FROM properties ORDER BY id");
+        if (applications == 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO applications (tenant_id, property_id, listing_id, landlord_id, status, cover_letter, " +
+                "monthly_income, employment_status, employer_name, employer_phone, rental_history, credit_score, " +
+                "pets_count, pet_types, occupants_count, " +
+                "move_in_date, lease_term_preference, created_at, updated_at, application_fee, fee_paid) " +
+                "SELECT 4, MOD(x, ?) + 1, MOD(x, ?) + 1, 1, CASE WHEN MOD(x, 4) = 0 THEN 'APPROVED' ELSE 'PENDING' END, " +
+                "'Benchmark application', 2000 + MOD(x * 31, 10000), 'EMPLOYED', 'Acme Corp', '555-0100', " +
+                "REPEAT('x', MOD(x, 50)), 500 + MOD(x * 17, 350), MOD(x, 3), 'Cat', " +
+                "CASE WHEN MOD(x, 1000) = 0 THEN " + RARE_OCCUPANTS_COUNT + " ELSE MOD(x, 5) + 1 END, " +
+                "NOW(), 12, DATEADD('SECOND', -x, NOW()), NOW(), 50, false FROM SYSTEM_RANGE(1, ?)",
+                properties, properties, applications);
+    }
+}
@@ -0,0 +1,43 @@
+package com.proaim.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+// The JDK's Ed25519 signature check over an access token's header and payload,
+// to set against JwtBenchmark's verify numbers for HS256, RS256 and ES256
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Ed25519VerifyBenchmark {
+
+    private KeyPair keyPair;
+    private byte[] signingInput;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        String token = JwtBenchmark.newJwtUtils().generateJwtToken(JwtBenchmark.authentication());
+        signingInput = token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+        Signature signer = Signature.getInstance("Ed25519");
+        signer.initSign(keyPair.getPrivate());
+        signer.update(signingInput);
+        signature = signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(signingInput);
+        return verifier.verify(signature);
+    }
+}
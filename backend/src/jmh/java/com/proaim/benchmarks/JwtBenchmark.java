@@ -0,0 +1,80 @@
+package com.proaim.benchmarks;
+
+import com.proaim.security.JwtUtils;
+import com.proaim.security.SigningKeyRegistry;
+import com.proaim.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and verification per signing algorithm. RS256 and ES256 verify with
+// the public key looked up by kid, as any node holding the JWKS would. EdDSA isn't
+// available in this jjwt version; Ed25519VerifyBenchmark gives its raw cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing";
+
+    @Param({"HS256", "RS256", "ES256"})
+    private String algorithm;
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils(algorithm);
+        authentication = authentication();
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    static JwtUtils newJwtUtils() {
+        return newJwtUtils("HS256");
+    }
+
+    static JwtUtils newJwtUtils(String algorithm) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "signingKeys", new SigningKeyRegistry(algorithm, SECRET, 86400000, "", "", "", List.of(), 10000));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        return jwtUtils;
+    }
+
+    static Authentication authentication() {
+        UserDetailsImpl user = new UserDetailsImpl(1L, "tenant", "tenant@proaim.com", "Test", "Tenant", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    // The single parse AuthTokenFilter performs per request
+    @Benchmark
+    public Claims parseAccessToken() {
+        return jwtUtils.parseAccessToken(token);
+    }
+}
@@ -0,0 +1,50 @@
+package com.proaim.benchmarks;
+
+import com.proaim.security.UserDetailsImpl;
+import com.proaim.security.WebSecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One login through DaoAuthenticationProvider with the application's password encoder,
+// per BCrypt cost. The user lookup is served from memory. A single thread keeps one
+// core busy, so the score is logins per second per core; a verifier pool of N threads
+// can serve roughly N times that.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final String PASSWORD = "tenant123";
+
+    @Param({"10", "11", "12"})
+    private int strength;
+
+    private DaoAuthenticationProvider provider;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = WebSecurityConfig.delegatingPasswordEncoder(strength);
+        UserDetails user = new UserDetailsImpl(1L, "tenant", "tenant@proaim.com", "Test", "Tenant",
+                encoder.encode(PASSWORD), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(encoder);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken("tenant", PASSWORD));
+    }
+}
@@ -0,0 +1,39 @@
+package com.proaim.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt cost of a login check and of hashing at registration, per work factor.
+// The application currently uses the default strength of 10.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("tenant123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("tenant123", hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("tenant123");
+    }
+}
@@ -0,0 +1,52 @@
+package com.proaim.benchmarks;
+
+import com.proaim.entity.Property;
+import com.proaim.repository.PropertyRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Property search and map queries against seeded H2 tables of increasing size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class PropertyRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private PropertyRepository propertyRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        propertyRepository = context.getBean(PropertyRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // First page of a typical filtered search, including its count query
+    @Benchmark
+    public Page<Property> searchProperties() {
+        return propertyRepository.searchProperties("City7", "TX", new BigDecimal("1000"), new BigDecimal("2500"),
+                2, 1, null, null, PageRequest.of(0, 20));
+    }
+
+    // Roughly 1% of the seeded area
+    @Benchmark
+    public List<Property> findPropertiesNearLocation() {
+        return propertyRepository.findPropertiesNearLocation(BenchmarkContext.CENTER_LAT, BenchmarkContext.CENTER_LNG, 0.05);
+    }
+}
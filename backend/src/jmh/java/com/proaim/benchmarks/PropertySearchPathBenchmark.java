@@ -0,0 +1,98 @@
+package com.proaim.benchmarks;
+
+import com.proaim.entity.Property;
+import com.proaim.repository.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The unpaged property search on its stateless session against the same search loaded
+// as managed entities, in a read-only and in a read-write transaction. Allocation is
+// the point of the comparison, so run it with the GC profiler:
+// mvn -Pbenchmarks verify -Djmh.includes=PropertySearchPathBenchmark -Djmh.args="-prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class PropertySearchPathBenchmark {
+
+    private static final String SEARCH = "SELECT p FROM Property p WHERE p.city = :city AND p.state = :state " +
+            "AND p.rentAmount >= :minRent AND p.rentAmount <= :maxRent AND p.bedrooms >= :bedrooms " +
+            "AND p.bathrooms >= :bathrooms AND p.status = 'AVAILABLE' ORDER BY p.id";
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private PropertyRepository propertyRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        propertyRepository = context.getBean(PropertyRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // What PropertyService.searchProperties runs: no persistence context, no snapshots
+    @Benchmark
+    public List<Property> statelessSession() {
+        return propertyRepository.searchDetached("City7", "TX", new BigDecimal("1000"), new BigDecimal("2500"),
+                2, 1, null, null);
+    }
+
+    // Managed entities loaded read-only: no snapshots and no flush, but a persistence context
+    @Benchmark
+    public List<Property> readOnlyEntities() {
+        return readOnlyTransaction.execute(status -> loadEntities());
+    }
+
+    // Managed entities with snapshots, dirty checked at commit
+    @Benchmark
+    public List<Property> readWriteEntities() {
+        return readWriteTransaction.execute(status -> loadEntities());
+    }
+
+    private List<Property> loadEntities() {
+        // From the database like the stateless session, not from the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        List<Property> properties = entityManager.createQuery(SEARCH, Property.class)
+                .setParameter("city", "City7")
+                .setParameter("state", "TX")
+                .setParameter("minRent", new BigDecimal("1000"))
+                .setParameter("maxRent", new BigDecimal("2500"))
+                .setParameter("bedrooms", 2)
+                .setParameter("bathrooms", 1)
+                .getResultList();
+        // The subselect loads each collection for every property of the query at once
+        for (Property property : properties) {
+            Hibernate.initialize(property.getAmenities());
+            Hibernate.initialize(property.getImageUrls());
+        }
+        return properties;
+    }
+}
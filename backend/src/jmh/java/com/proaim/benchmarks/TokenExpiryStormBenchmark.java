@@ -0,0 +1,130 @@
+package com.proaim.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.proaim.security.AuthTokenFilter;
+import com.proaim.security.JwtUtils;
+import com.proaim.security.TokenDenylist;
+import com.proaim.security.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Many clients retrying with the same expired token at once. Every request goes
+// through AuthTokenFilter and fails validation; what differs is the logging behind it:
+//   sync     - the appender writes on the request thread, serialized by its lock
+//   async    - request threads enqueue, one background thread writes (never blocks)
+// and, per appender, the throttled JwtUtils path against logging every failure,
+// which is what the filter did before.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TokenExpiryStormBenchmark {
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private AuthTokenFilter filter;
+    private String authorization;
+    private Path logFile;
+    private Appender<ILoggingEvent> attached;
+    private final org.slf4j.Logger jwtLogger = LoggerFactory.getLogger(JwtUtils.class);
+
+    @Setup
+    public void setUp() throws IOException {
+        JwtUtils jwtUtils = JwtBenchmark.newJwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", -60000);
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "tokenDenylist", new TokenDenylist(100000, 0.01));
+        ReflectionTestUtils.setField(filter, "userDetailsService", new UserDetailsServiceImpl());
+        authorization = "Bearer " + jwtUtils.generateJwtToken(JwtBenchmark.authentication());
+
+        // A real file rather than the console, so the fork's output stays readable
+        logFile = Files.createTempFile("token-storm", ".log");
+        attached = attach(appender, logFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAppender(attached);
+        attached.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public Object throttled() throws Exception {
+        return expiredRequest();
+    }
+
+    // Same request plus an unconditional error line, as validateJwtToken used to log
+    @Benchmark
+    public Object loggedEveryTime() throws Exception {
+        Object authentication = expiredRequest();
+        jwtLogger.error("JWT token is expired: {}", "JWT expired at 2026-01-01T00:00:00Z. Current time: 2026-01-01T00:01:00Z");
+        return authentication;
+    }
+
+    private Object expiredRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/properties");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static Appender<ILoggingEvent> attach(String mode, Path file) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{ISO8601} %-5level [%thread] %logger{36} : %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> result = fileAppender;
+        if (mode.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            result = async;
+        }
+        root.addAppender(result);
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.proaim.config;
+
+import com.proaim.metrics.StatementMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// Two Hikari pools, primary and (optionally) replica, behind one routing DataSource.
+// Without app.datasource.replica.jdbc-url everything goes to the primary.
+@Configuration
+public class DataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+    
+    @Bean
+    @ConditionalOnProperty("app.datasource.replica.jdbc-url")
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaPool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryPool") HikariDataSource primaryPool,
+            @Qualifier("replicaPool") ObjectProvider<HikariDataSource> replicaPool,
+            @Value("${app.datasource.read-your-writes-window-ms:5000}") long readYourWritesWindowMs) {
+        HikariDataSource replica = replicaPool.getIfAvailable();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replica != null, readYourWritesWindowMs);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.Target.PRIMARY, primaryPool);
+        targets.put(ReplicaRoutingDataSource.Target.REPLICA, replica != null ? replica : primaryPool);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryPool);
+        return routing;
+    }
+    
+    // The JDBC proxy sits outermost so StatementMonitor and the tracing listener see every statement regardless of pool
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource, StatementMonitor statementMonitor,
+                                 DataSourceObservationListener dataSourceObservationListener) {
+        return ProxyDataSourceBuilder.create(new LazyConnectionDataSourceProxy(replicaRoutingDataSource))
+                .name("application")
+                .listener(statementMonitor)
+                .listener(dataSourceObservationListener)
+                .methodListener(dataSourceObservationListener)
+                .queryTransformer(statementMonitor)
+                .build();
+    }
+}
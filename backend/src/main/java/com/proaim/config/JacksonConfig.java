@@ -0,0 +1,19 @@
+package com.proaim.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Entities are serialized after their transaction has ended (open-in-view is off).
+// Lazy associations that were never loaded are written as just their id instead
+// of triggering a query or failing.
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+}
@@ -0,0 +1,129 @@
+package com.proaim.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically checks the replica. While it is unreachable or further behind than
+// max-lag-ms, read-only transactions fall back to the primary. The measured lag
+// also widens the read-your-writes window.
+// app.datasource.replica.lag-query should return the lag in seconds as a single
+// number, e.g. from a heartbeat table; without it only reachability is checked.
+// The check runs on its own thread: a replica that hangs on connect or on the lag
+// query must not hold up the shared @Scheduled thread and the jobs queued behind it.
+@Component
+public class ReplicaLagMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    
+    @Autowired
+    @Qualifier("primaryPool")
+    private HikariDataSource primaryPool;
+    
+    @Autowired
+    @Qualifier("replicaPool")
+    private ObjectProvider<HikariDataSource> replicaPool;
+    
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+    
+    @Value("${app.datasource.replica.max-lag-ms:30000}")
+    private long maxLagMs;
+    
+    @Value("${app.datasource.replica.check-interval-ms:5000}")
+    private long checkIntervalMs;
+    
+    private ScheduledExecutorService scheduler;
+    
+    @PostConstruct
+    public void start() {
+        if (replicaPool.getIfAvailable() == null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkReplica, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    public void checkReplica() {
+        HikariDataSource replica = replicaPool.getIfAvailable();
+        if (replica == null) {
+            return;
+        }
+        boolean healthy;
+        long lagMs = 0;
+        try (Connection connection = replica.getConnection()) {
+            healthy = connection.isValid(2);
+            if (healthy && StringUtils.hasText(lagQuery)) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    if (resultSet.next()) {
+                        lagMs = (long) (resultSet.getDouble(1) * 1000);
+                    }
+                }
+                healthy = lagMs <= maxLagMs;
+            }
+        } catch (Exception e) {
+            logger.warn("Replica check failed, reads fall back to primary: {}", e.getMessage());
+            healthy = false;
+        }
+        routingDataSource.updateReplicaState(healthy, lagMs);
+        routingDataSource.expireWrites();
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("routing", routingDataSource.getStats());
+        stats.put("primary", poolStats(primaryPool));
+        HikariDataSource replica = replicaPool.getIfAvailable();
+        if (replica != null) {
+            stats.put("replica", poolStats(replica));
+        }
+        return stats;
+    }
+    
+    private Map<String, Object> poolStats(HikariDataSource pool) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        stats.put("poolName", pool.getPoolName());
+        stats.put("maximumPoolSize", pool.getMaximumPoolSize());
+        if (mxBean != null) {
+            stats.put("active", mxBean.getActiveConnections());
+            stats.put("idle", mxBean.getIdleConnections());
+            stats.put("total", mxBean.getTotalConnections());
+            stats.put("waiting", mxBean.getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,128 @@
+package com.proaim.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sends connections for read-only transactions to the replica and everything
+// else to the primary. A user who wrote recently keeps reading from the primary
+// until the replica has had time to catch up, so they always see their own changes.
+// The write is timed from the commit, not from when the connection was fetched: a
+// long transaction's changes only start replicating once it commits.
+// Must sit behind a LazyConnectionDataSourceProxy so the transaction's read-only
+// flag is known by the time a connection is actually fetched.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Target { PRIMARY, REPLICA }
+    
+    private final boolean replicaConfigured;
+    private final long readYourWritesWindowMs;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong readYourWritesRoutes = new AtomicLong();
+    private volatile boolean replicaHealthy = true;
+    private volatile long replicaLagMs;
+    
+    public ReplicaRoutingDataSource(boolean replicaConfigured, long readYourWritesWindowMs) {
+        this.replicaConfigured = replicaConfigured;
+        this.readYourWritesWindowMs = readYourWritesWindowMs;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteOnCommit(user);
+            }
+            primaryRoutes.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        if (!replicaConfigured || !replicaHealthy) {
+            primaryRoutes.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesWindowMs + replicaLagMs) {
+                readYourWritesRoutes.incrementAndGet();
+                primaryRoutes.incrementAndGet();
+                return Target.PRIMARY;
+            }
+        }
+        replicaRoutes.incrementAndGet();
+        return Target.REPLICA;
+    }
+    
+    private void recordWriteOnCommit(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteByUser.put(user, System.currentTimeMillis());
+            return;
+        }
+        // One hook per transaction, however many connections it fetches
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof WriteRecorder) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new WriteRecorder(user));
+    }
+    
+    public boolean isReplicaConfigured() {
+        return replicaConfigured;
+    }
+    
+    public void updateReplicaState(boolean healthy, long lagMs) {
+        this.replicaHealthy = healthy;
+        this.replicaLagMs = lagMs;
+    }
+    
+    // Forgets users whose last write is older than any replica could still be behind
+    public void expireWrites() {
+        long cutoff = System.currentTimeMillis() - readYourWritesWindowMs - replicaLagMs;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replicaConfigured", replicaConfigured);
+        stats.put("replicaHealthy", replicaHealthy);
+        stats.put("replicaLagMs", replicaLagMs);
+        stats.put("primaryRoutes", primaryRoutes.get());
+        stats.put("replicaRoutes", replicaRoutes.get());
+        stats.put("readYourWritesRoutes", readYourWritesRoutes.get());
+        stats.put("trackedWriters", lastWriteByUser.size());
+        return stats;
+    }
+    
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
+    private final class WriteRecorder implements TransactionSynchronization {
+        private final String user;
+        
+        WriteRecorder(String user) {
+            this.user = user;
+        }
+        
+        @Override
+        public void afterCommit() {
+            lastWriteByUser.put(user, System.currentTimeMillis());
+        }
+    }
+}
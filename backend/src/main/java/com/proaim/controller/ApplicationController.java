@@ -1,10 +1,16 @@
 package com.proaim.controller;
 
+import com.proaim.dto.ApplicationInboxResponse;
+import com.proaim.dto.ApplicationScore;
 import com.proaim.entity.Application;
+import com.proaim.repository.ApplicationRepository;
+import com.proaim.service.AnalyticsService;
+import com.proaim.service.ApplicationScoringService;
 import com.proaim.service.ApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +27,12 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
 
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ApplicationScoringService applicationScoringService;
+
     // Public endpoints
     @GetMapping
     public ResponseEntity<Page<Application>> getAllApplications(Pageable pageable) {
@@ -62,6 +74,12 @@ public class ApplicationController {
         return ResponseEntity.ok(applicationService.getApplicationsByProperty(propertyId));
     }
 
+    @GetMapping("/property/{propertyId}/ranking")
+    @PreAuthorize("hasRole('ADMIN') or @propertySecurity.ownsProperty(#propertyId, authentication)")
+    public ResponseEntity<List<ApplicationScore>> getApplicationRanking(@PathVariable Long propertyId) {
+        return ResponseEntity.ok(applicationScoringService.rankPendingApplications(propertyId));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Application>> getApplicationsByStatus(@PathVariable Application.ApplicationStatus status) {
         return ResponseEntity.ok(applicationService.getApplicationsByStatus(status));
@@ -121,6 +139,19 @@ public class ApplicationController {
         return ResponseEntity.ok(applicationService.getApplicationsByLandlord(landlordId));
     }
 
+    @GetMapping("/landlord/{landlordId}/inbox")
+    @PreAuthorize("hasRole('ADMIN') or #landlordId == authentication.principal.id")
+    public ResponseEntity<ApplicationInboxResponse> getLandlordInbox(
+            @PathVariable Long landlordId,
+            @RequestParam(defaultValue = "PENDING") Application.ApplicationStatus status,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return ResponseEntity.ok(applicationService.getLandlordInbox(landlordId, status, sortBy, direction, cursor, size));
+    }
+
     @GetMapping("/needing-review")
     @PreAuthorize("hasRole('LANDLORD') or hasRole('ADMIN')")
     public ResponseEntity<List<Application>> getApplicationsNeedingReview() {
@@ -213,11 +244,12 @@ public class ApplicationController {
     @GetMapping("/analytics")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApplicationAnalytics> getApplicationAnalytics() {
+        ApplicationRepository.ApplicationStatusCounts counts = analyticsService.getApplicationStatusCounts();
         ApplicationAnalytics analytics = new ApplicationAnalytics();
-        analytics.setTotalApplications(applicationService.getTotalApplicationsCount());
-        analytics.setPendingApplications(applicationService.getPendingApplicationsCount());
-        analytics.setOverdueApplications((long) applicationService.getOverdueApplications().size());
-        analytics.setApplicationsWithPets((long) applicationService.getApplicationsWithPets(1).size());
+        analytics.setTotalApplications(counts.getTotal());
+        analytics.setPendingApplications(counts.getPending());
+        analytics.setOverdueApplications(counts.getOverdue());
+        analytics.setApplicationsWithPets(counts.getWithPets());
         return ResponseEntity.ok(analytics);
     }
 
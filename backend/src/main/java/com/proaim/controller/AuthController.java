@@ -2,24 +2,32 @@ package com.proaim.controller;
 
 import com.proaim.dto.AuthResponse;
 import com.proaim.dto.LoginRequest;
+import com.proaim.dto.RefreshTokenRequest;
 import com.proaim.dto.RegisterRequest;
 import com.proaim.entity.User;
 import com.proaim.security.JwtUtils;
+import com.proaim.security.PasswordVerifier;
+import com.proaim.security.TokenDenylist;
 import com.proaim.security.UserDetailsImpl;
+import com.proaim.service.RefreshTokenService;
 import com.proaim.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -35,46 +43,117 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    PasswordVerifier passwordVerifier;
+    
+    @Autowired
+    RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    TokenDenylist tokenDenylist;
+    
+    // The credential check runs on the verifier pool and the request thread is released
+    // while it waits; when the pool's queue is full the login is refused with 429
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        CompletableFuture<Authentication> authentication;
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
-            
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtils.generateJwtToken(authentication);
-            
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            authentication = passwordVerifier.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())));
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Too many login attempts in progress, please retry shortly");
+            response.put("timestamp", System.currentTimeMillis());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(response));
+        }
+        
+        return authentication.handle((result, error) -> {
+            if (error == null) {
+                return loginSucceeded(result);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("timestamp", System.currentTimeMillis());
+            if (cause instanceof BadCredentialsException) {
+                response.put("message", "Invalid username or password");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+            response.put("message", "Login failed: " + cause.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        });
+    }
+    
+    private ResponseEntity<Map<String, Object>> loginSucceeded(Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Login successful");
+        response.put("data", tokenResponse(userDetails, refreshTokenService.issue(userDetails.getId())));
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Swaps a refresh token for a new access token and the next refresh token, without a password check
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            RefreshTokenService.IssuedToken issued = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            UserDetailsImpl userDetails = UserDetailsImpl.build(userService.getUserById(issued.userId()));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Login successful");
-            response.put("data", new AuthResponse(
-                    jwt,
-                    userDetails.getId(),
-                    userDetails.getUsername(),
-                    userDetails.getEmail(),
-                    userDetails.getFirstName(),
-                    userDetails.getLastName(),
-                    userDetails.getAuthorities().iterator().next().getAuthority()
-            ));
-            
+            response.put("message", "Token refreshed");
+            response.put("data", tokenResponse(userDetails, issued));
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "Invalid username or password");
+            response.put("message", e.getMessage());
             response.put("timestamp", System.currentTimeMillis());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Login failed: " + e.getMessage());
-            response.put("timestamp", System.currentTimeMillis());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
     
+    // Revokes the refresh token's family and, when sent, the access token in the Authorization header
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@RequestBody(required = false) RefreshTokenRequest logoutRequest,
+                                                      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (logoutRequest != null && logoutRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(logoutRequest.getRefreshToken());
+        }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseAccessToken(authorization.substring(7));
+            if (claims != null && claims.getId() != null) {
+                tokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Logged out");
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+    
+    private AuthResponse tokenResponse(UserDetailsImpl userDetails, RefreshTokenService.IssuedToken refreshToken) {
+        return new AuthResponse(
+                jwtUtils.generateAccessToken(userDetails, refreshToken.familyId()),
+                jwtUtils.getJwtExpirationMs() / 1000,
+                refreshToken.refreshToken(),
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                userDetails.getFirstName(),
+                userDetails.getLastName(),
+                userDetails.getAuthorities().iterator().next().getAuthority()
+        );
+    }
+    
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
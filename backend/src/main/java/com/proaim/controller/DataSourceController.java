@@ -0,0 +1,24 @@
+package com.proaim.controller;
+
+import com.proaim.config.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/datasources")
+public class DataSourceController {
+    
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDataSourceStats() {
+        return ResponseEntity.ok(replicaLagMonitor.getStats());
+    }
+}
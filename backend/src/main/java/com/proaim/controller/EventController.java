@@ -0,0 +1,49 @@
+package com.proaim.controller;
+
+import com.proaim.dto.EventRelayStats;
+import com.proaim.event.OutboxFeed;
+import com.proaim.event.OutboxRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private OutboxFeed outboxFeed;
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EventRelayStats> getRelayStats() {
+        return ResponseEntity.ok(outboxRelay.getStats());
+    }
+    
+    // This node's read position over the outbox, which feeds its caches, rollups and live feeds
+    @GetMapping("/feed/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getFeedStats() {
+        return ResponseEntity.ok(outboxFeed.getStats());
+    }
+    
+    // Retry every dead-lettered event, e.g. after fixing the subscriber that rejected them
+    @PostMapping("/dead-letters/requeue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> requeueDeadLetters() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Dead-lettered events requeued");
+        response.put("requeued", outboxRelay.requeueDeadLettered());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+}
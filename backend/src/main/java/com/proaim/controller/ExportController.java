@@ -0,0 +1,63 @@
+package com.proaim.controller;
+
+import com.proaim.dto.ExportJobStatus;
+import com.proaim.dto.ExportRequest;
+import com.proaim.service.ExportService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/exports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    // Start a background export; poll the returned id for progress
+    @PostMapping
+    public ResponseEntity<ExportJobStatus> startExport(@Valid @RequestBody ExportRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportService.startExport(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<ExportJobStatus>> getExports() {
+        return ResponseEntity.ok(exportService.getExports());
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobStatus> getExportStatus(@PathVariable String id) {
+        return exportService.getExportStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+        Optional<Path> file = exportService.getExportFile(id);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.get().getFileName() + "\"")
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(new FileSystemResource(file.get()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.proaim.controller;
+
+import com.proaim.security.SigningKeyRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Public keys for verifying this node's access tokens, for other nodes and services
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+public class JwksController {
+    
+    @Autowired
+    private SigningKeyRegistry signingKeys;
+    
+    // Verifiers refetch on an unknown kid anyway, so a short cache is enough
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(signingKeys.getJwks());
+    }
+}
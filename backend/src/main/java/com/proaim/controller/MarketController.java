@@ -0,0 +1,45 @@
+package com.proaim.controller;
+
+import com.proaim.dto.RentStats;
+import com.proaim.service.MarketStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/market")
+public class MarketController {
+    
+    @Autowired
+    private MarketStatsService marketStatsService;
+    
+    // Rent quantiles for a city; leave out bedrooms or propertyType to combine all of them.
+    // For landlords pricing a listing; landlords are USER accounts with userType LANDLORD.
+    @GetMapping("/rent-stats")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isLandlord(authentication)")
+    public ResponseEntity<RentStats> getRentStats(@RequestParam String city,
+                                                  @RequestParam(required = false) Integer bedrooms,
+                                                  @RequestParam(required = false) String propertyType) {
+        if (city.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(marketStatsService.getRentStats(city, bedrooms, propertyType));
+    }
+    
+    @GetMapping("/rent-stats/sketches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSketchStats() {
+        return ResponseEntity.ok(marketStatsService.getStats());
+    }
+    
+    @PostMapping("/rent-stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        marketStatsService.rebuild();
+        return ResponseEntity.ok(marketStatsService.getStats());
+    }
+}
@@ -1,9 +1,11 @@
 package com.proaim.controller;
 
 import com.proaim.entity.Payment;
-import com.proaim.repository.PaymentRepository;
+import com.proaim.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -14,18 +16,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PaymentController {
 
-    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
 
     // ✅ Get all payments
     @GetMapping
     public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+        return paymentService.getAllPayments();
+    }
+
+    // Payment history by payment date, including archived payments. Callers see their
+    // own payments as tenant or landlord; the unfiltered history is for admins only.
+    // tenantId wins when both are given, so it is the one checked.
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('ADMIN') or (#tenantId != null ? #tenantId == authentication.principal.id"
+            + " : #landlordId == authentication.principal.id)")
+    public List<Payment> getPaymentHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(required = false) Long landlordId) {
+        if (tenantId != null) {
+            return paymentService.getTenantPaymentHistory(tenantId, from, to);
+        }
+        if (landlordId != null) {
+            return paymentService.getLandlordPaymentHistory(landlordId, from, to);
+        }
+        return paymentService.getPaymentHistory(from, to);
     }
 
     // ✅ Get a payment by ID
     @GetMapping("/{id}")
     public ResponseEntity<Payment> getPaymentById(@PathVariable Long id) {
-        return paymentRepository.findById(id)
+        return paymentService.getPaymentById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -33,44 +55,23 @@ public class PaymentController {
     // ✅ Create a new payment
     @PostMapping
     public Payment createPayment(@RequestBody Payment payment) {
-        payment.setCreatedAt(LocalDateTime.now());
-        payment.setUpdatedAt(LocalDateTime.now());
-        payment.setVersion(0L); // 👈 ensure version starts at 0
-        return paymentRepository.save(payment);
+        return paymentService.createPayment(payment);
     }
 
     // ✅ Update payment
     @PutMapping("/{id}")
     public ResponseEntity<Payment> updatePayment(@PathVariable Long id, @RequestBody Payment updatedPayment) {
-        return paymentRepository.findById(id)
-                .map(payment -> {
-                    // update fields
-                    payment.setStatus(updatedPayment.getStatus());
-                    payment.setAmount(updatedPayment.getAmount());
-                    payment.setPaymentDate(updatedPayment.getPaymentDate());
-                    payment.setDueDate(updatedPayment.getDueDate());
-                    payment.setPaymentDescription(updatedPayment.getPaymentDescription());
-                    payment.setMethod(updatedPayment.getMethod());
-                    payment.setTransactionId(updatedPayment.getTransactionId());
-                    payment.setLateFee(updatedPayment.getLateFee());
-                    payment.setProcessingFee(updatedPayment.getProcessingFee());
-                    payment.setTotalAmount(updatedPayment.getTotalAmount());
-                    payment.setUpdatedAt(LocalDateTime.now());
-
-                    // 👇 version is automatically handled by JPA
-                    return ResponseEntity.ok(paymentRepository.save(payment));
-                })
+        return paymentService.updatePayment(id, updatedPayment)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // ✅ Delete payment
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deletePayment(@PathVariable Long id) {
-        return paymentRepository.findById(id)
-                .map(payment -> {
-                    paymentRepository.delete(payment);
-                    return ResponseEntity.noContent().build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (paymentService.deletePayment(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
     }
 }
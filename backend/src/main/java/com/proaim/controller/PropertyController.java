@@ -1,6 +1,8 @@
 package com.proaim.controller;
 
 import com.proaim.entity.Property;
+import com.proaim.repository.PropertyRepository;
+import com.proaim.service.AnalyticsService;
 import com.proaim.service.PropertyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -24,6 +26,9 @@ public class PropertyController {
     @Autowired
     private PropertyService propertyService;
     
+    @Autowired
+    private AnalyticsService analyticsService;
+    
     // Get all properties with pagination
     @GetMapping
     public ResponseEntity<Page<Property>> getAllProperties(
@@ -241,10 +246,11 @@ public class PropertyController {
     @GetMapping("/analytics")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PropertyAnalytics> getPropertyAnalytics() {
+        PropertyRepository.PropertyStatusCounts counts = analyticsService.getPropertyStatusCounts();
         PropertyAnalytics analytics = new PropertyAnalytics();
-        analytics.setTotalProperties(propertyService.getTotalPropertiesCount());
-        analytics.setAvailableProperties(propertyService.getAvailablePropertiesCount());
-        analytics.setRentedProperties(propertyService.getRentedPropertiesCount());
+        analytics.setTotalProperties(counts.getTotal());
+        analytics.setAvailableProperties(counts.getAvailable());
+        analytics.setRentedProperties(counts.getRented());
         return ResponseEntity.ok(analytics);
     }
     
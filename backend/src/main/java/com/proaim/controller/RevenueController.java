@@ -0,0 +1,106 @@
+package com.proaim.controller;
+
+import com.proaim.dto.RevenueBucket;
+import com.proaim.dto.RevenueSummary;
+import com.proaim.security.UserDetailsImpl;
+import com.proaim.service.PropertyService;
+import com.proaim.service.RevenueRollupService;
+import com.proaim.service.revenue.Granularity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/revenue")
+@PreAuthorize("isAuthenticated()")
+public class RevenueController {
+    
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    
+    @Autowired
+    private PropertyService propertyService;
+    
+    // Completed-payment totals for a property over [from, to]
+    @GetMapping("/properties/{propertyId}")
+    public ResponseEntity<RevenueSummary> getPropertyRevenue(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @PathVariable Long propertyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!canViewProperty(user, propertyId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getPropertyRevenue(propertyId, from, to));
+    }
+    
+    @GetMapping("/properties/{propertyId}/series")
+    public ResponseEntity<List<RevenueBucket>> getPropertyRevenueSeries(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @PathVariable Long propertyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") Granularity granularity) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!canViewProperty(user, propertyId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getPropertyRevenueSeries(propertyId, from, to, granularity));
+    }
+    
+    // Completed-payment totals across a landlord's properties over [from, to]
+    @GetMapping("/landlords/{landlordId}")
+    @PreAuthorize("hasRole('ADMIN') or #landlordId == authentication.principal.id")
+    public ResponseEntity<RevenueSummary> getLandlordRevenue(
+            @PathVariable Long landlordId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getLandlordRevenue(landlordId, from, to));
+    }
+    
+    @GetMapping("/landlords/{landlordId}/series")
+    @PreAuthorize("hasRole('ADMIN') or #landlordId == authentication.principal.id")
+    public ResponseEntity<List<RevenueBucket>> getLandlordRevenueSeries(
+            @PathVariable Long landlordId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") Granularity granularity) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getLandlordRevenueSeries(landlordId, from, to, granularity));
+    }
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(revenueRollupService.getStats());
+    }
+    
+    // Admins see every property; landlords only their own
+    private boolean canViewProperty(UserDetailsImpl user, Long propertyId) {
+        if (user.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+            return true;
+        }
+        return propertyService.getPropertyById(propertyId)
+                .map(property -> property.getLandlord() != null && user.getId().equals(property.getLandlord().getId()))
+                .orElse(false);
+    }
+}
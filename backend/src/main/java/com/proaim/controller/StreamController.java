@@ -0,0 +1,34 @@
+package com.proaim.controller;
+
+import com.proaim.notification.LiveFeedHub;
+import com.proaim.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+    
+    @Autowired
+    private LiveFeedHub liveFeedHub;
+    
+    // Live status changes for the current user's applications, agreements and payments
+    @GetMapping(value = "/status", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@AuthenticationPrincipal UserDetailsImpl user) {
+        return liveFeedHub.subscribe(user.getId());
+    }
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStreamStats() {
+        return ResponseEntity.ok(liveFeedHub.getStats());
+    }
+}
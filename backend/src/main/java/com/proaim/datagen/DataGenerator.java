@@ -0,0 +1,650 @@
+package com.proaim.datagen;
+
+import com.proaim.datagen.SyntheticData.City;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fills the database with a deterministic synthetic data set for load testing:
+// users, properties with amenities and images clustered around real city
+// centres, listings, applications, agreements and their monthly rent payments.
+//
+// Each table is cut into chunks written in parallel over plain JDBC batches,
+// one transaction per chunk. Every chunk draws from its own random stream
+// seeded by (seed, table, chunk), and cross-table references come from
+// SyntheticData, so the same settings always produce the same rows whatever
+// the thread count. Ids continue after the rows already in each table.
+//
+// Run with the datagen profile, e.g. --spring.profiles.active=dev,datagen --datagen.scale=30
+@Component
+@Profile("datagen")
+public class DataGenerator implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+    
+    // Password of every generated user
+    static final String PASSWORD = "password123";
+    
+    private static final String[] TABLES = {"users", "properties", "listings", "applications", "agreements", "payments"};
+    
+    @Autowired
+    @Qualifier("primaryPool")
+    private DataSource dataSource;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ApplicationContext applicationContext;
+    
+    @Value("${datagen.seed:42}")
+    private long seed;
+    
+    // Multiplies every row count below
+    @Value("${datagen.scale:1}")
+    private double scale;
+    
+    @Value("${datagen.users:10000}")
+    private long users;
+    
+    @Value("${datagen.landlord-ratio:0.1}")
+    private double landlordRatio;
+    
+    // One listing is generated per property
+    @Value("${datagen.properties:20000}")
+    private long properties;
+    
+    @Value("${datagen.applications:50000}")
+    private long applications;
+    
+    // At most one per application
+    @Value("${datagen.agreements:10000}")
+    private long agreements;
+    
+    // At most twelve per agreement, one per lease month
+    @Value("${datagen.payments:120000}")
+    private long payments;
+    
+    // Threads and connections used for writing; 0 means one per processor
+    @Value("${datagen.threads:0}")
+    private int threads;
+    
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${datagen.chunk-size:20000}")
+    private int chunkSize;
+    
+    // "Now" for generated dates and statuses; pin it for identical data on every run
+    @Value("${datagen.reference-date:}")
+    private String referenceDate;
+    
+    // The generated rows are consistent by construction, so foreign key and unique
+    // checks can be switched off while loading; each costs an index lookup per row
+    @Value("${datagen.skip-constraint-checks:true}")
+    private boolean skipConstraintChecks;
+    
+    // Close the application once generation finishes, for populating an external database
+    @Value("${datagen.exit-on-completion:false}")
+    private boolean exitOnCompletion;
+    
+    private SyntheticData data;
+    private long generatedAgreements;
+    private String passwordHash;
+    private final long[] idOffsets = new long[TABLES.length];
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long userCount = scaled(users);
+        long landlordCount = Math.max(1, Math.round(userCount * landlordRatio));
+        long tenantCount = Math.max(1, userCount - landlordCount);
+        long propertyCount = Math.max(1, scaled(properties));
+        long applicationCount = scaled(applications);
+        long agreementCount = Math.min(scaled(agreements), applicationCount);
+        long paymentCount = agreementCount == 0 ? 0 : Math.min(scaled(payments), agreementCount * 12);
+        LocalDateTime reference = (referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate)).atStartOfDay();
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        
+        generatedAgreements = agreementCount;
+        data = new SyntheticData(seed, landlordCount, tenantCount, propertyCount, applicationCount, agreementCount, reference);
+        passwordHash = passwordEncoder.encode(PASSWORD);
+        readIdOffsets();
+        
+        logger.info("Generating {} users, {} properties and listings, {} applications, {} agreements and {} payments " +
+                "(seed {}, {} threads)", landlordCount + tenantCount, propertyCount, applicationCount, agreementCount,
+                paymentCount, seed, threadCount);
+        long started = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount, namedThreads());
+        long rows = 0;
+        boolean h2 = isH2();
+        if (skipConstraintChecks && h2) {
+            execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        try {
+            // Tables in foreign key order; chunks within a table run in parallel
+            rows += generate(pool, "users", landlordCount + tenantCount, this::writeUsers);
+            rows += generate(pool, "properties", propertyCount, this::writeProperties);
+            rows += generate(pool, "listings", propertyCount, this::writeListings);
+            rows += generate(pool, "applications", applicationCount, this::writeApplications);
+            rows += generate(pool, "agreements", agreementCount, this::writeAgreements);
+            rows += generate(pool, "payments", paymentCount, this::writePayments);
+        } finally {
+            pool.shutdownNow();
+            if (skipConstraintChecks && h2) {
+                execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+        if (h2) {
+            restartIdentities();
+        }
+        long millis = Math.max(1, System.currentTimeMillis() - started);
+        logger.info("Generated {} rows in {} s ({} rows/s); every user's password is '{}'",
+                rows, millis / 1000, rows * 1000 / millis, PASSWORD);
+        
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+    
+    private long scaled(long rows) {
+        return Math.round(rows * scale);
+    }
+    
+    @FunctionalInterface
+    private interface ChunkWriter {
+        // Writes rows [from, to) and returns the number of rows inserted, child rows included
+        long write(Connection connection, long from, long to, SplittableRandom random) throws SQLException;
+    }
+    
+    private long generate(ExecutorService pool, String table, long rows, ChunkWriter writer)
+            throws InterruptedException, ExecutionException, SQLException {
+        boolean h2 = isH2();
+        long started = System.currentTimeMillis();
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (long from = 0, chunk = 0; from < rows; from += chunkSize, chunk++) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(rows, from + chunkSize);
+            SplittableRandom random = new SplittableRandom(data.chunkSeed(table, chunk));
+            chunks.add(pool.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    if (skipConstraintChecks && !h2) {
+                        setSessionChecks(connection, 0);
+                    }
+                    long written = writer.write(connection, chunkFrom, chunkTo, random);
+                    connection.commit();
+                    if (skipConstraintChecks && !h2) {
+                        setSessionChecks(connection, 1);
+                    }
+                    return written;
+                }
+            }));
+        }
+        long written = 0;
+        for (Future<Long> chunk : chunks) {
+            written += chunk.get();
+        }
+        logger.info("{}: {} rows in {} ms", table, written, System.currentTimeMillis() - started);
+        return written;
+    }
+    
+    private long writeUsers(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, username, email, password, first_name, last_name, role, user_type, phone, " +
+                "city, state, zip_code, email_verified, phone_verified, identity_verified, " +
+                "landlord_background_check_passed, tenant_background_check_passed, company_name, employment_status, " +
+                "employer_name, monthly_income, credit_score, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Batch batch = new Batch(insert);
+            for (long i = from; i < to; i++) {
+                long id = userId(i);
+                boolean landlord = data.isLandlord(i);
+                City city = SyntheticData.CITIES[random.nextInt(SyntheticData.CITIES.length)];
+                Timestamp created = timestamp(data.getReferenceTime().minusDays(random.nextInt(1500)));
+                insert.setLong(1, id);
+                insert.setString(2, (landlord ? "landlord" : "tenant") + id);
+                insert.setString(3, (landlord ? "landlord" : "tenant") + id + "@example.com");
+                insert.setString(4, passwordHash);
+                insert.setString(5, pick(random, SyntheticData.FIRST_NAMES));
+                insert.setString(6, pick(random, SyntheticData.LAST_NAMES));
+                insert.setString(7, "USER");
+                insert.setString(8, landlord ? "LANDLORD" : "TENANT");
+                insert.setString(9, phone(random));
+                insert.setString(10, city.name);
+                insert.setString(11, city.state);
+                insert.setString(12, zip(city, random));
+                insert.setBoolean(13, random.nextInt(10) < 9);
+                insert.setBoolean(14, random.nextBoolean());
+                insert.setBoolean(15, random.nextInt(10) < 3);
+                insert.setBoolean(16, landlord && random.nextInt(10) < 8);
+                insert.setBoolean(17, !landlord && random.nextInt(10) < 6);
+                insert.setString(18, landlord && random.nextBoolean() ? pick(random, SyntheticData.LAST_NAMES) + " Properties LLC" : null);
+                insert.setString(19, landlord ? null : random.nextInt(10) < 8 ? "EMPLOYED" : "SELF_EMPLOYED");
+                insert.setString(20, landlord ? null : pick(random, SyntheticData.EMPLOYERS));
+                insert.setBigDecimal(21, landlord ? null : money(2500 + random.nextInt(12000)));
+                if (landlord) {
+                    insert.setNull(22, Types.INTEGER);
+                } else {
+                    insert.setInt(22, 500 + random.nextInt(350));
+                }
+                insert.setTimestamp(23, created);
+                insert.setTimestamp(24, created);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+    
+    private long writeProperties(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO properties (id, title, description, address, city, state, zip_code, rent_amount, " +
+                "security_deposit, bedrooms, bathrooms, square_footage, property_type, furnishing_status, " +
+                "available_date, lease_term_months, pets_allowed, smoking_allowed, status, landlord_id, created_at, " +
+                "updated_at, latitude, longitude) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement amenityInsert = connection.prepareStatement(
+                     "INSERT INTO property_amenities (property_id, amenity) VALUES (?, ?)");
+             PreparedStatement imageInsert = connection.prepareStatement(
+                     "INSERT INTO property_images (property_id, image_url) VALUES (?, ?)")) {
+            Batch batch = new Batch(insert);
+            Batch amenities = batch.child(amenityInsert);
+            Batch images = batch.child(imageInsert);
+            for (long i = from; i < to; i++) {
+                long id = propertyId(i);
+                City city = data.propertyCity(i);
+                int bedrooms = data.propertyBedrooms(i);
+                BigDecimal rent = data.propertyRent(i);
+                String type = pick(random, SyntheticData.PROPERTY_TYPES);
+                Timestamp created = timestamp(data.getReferenceTime().minusDays(random.nextInt(1200)));
+                insert.setLong(1, id);
+                insert.setString(2, bedrooms + " bedroom " + type.toLowerCase() + " in " + city.name);
+                insert.setString(3, "Bright " + bedrooms + " bedroom " + type.toLowerCase() + " close to downtown " +
+                        city.name + ", with updated kitchen and plenty of natural light.");
+                insert.setString(4, (100 + random.nextInt(9900)) + " " + pick(random, SyntheticData.LAST_NAMES) + " St");
+                insert.setString(5, city.name);
+                insert.setString(6, city.state);
+                insert.setString(7, zip(city, random));
+                insert.setBigDecimal(8, rent);
+                insert.setBigDecimal(9, rent);
+                insert.setInt(10, bedrooms);
+                insert.setInt(11, Math.max(1, bedrooms - random.nextInt(2)));
+                insert.setInt(12, 350 + bedrooms * 350 + random.nextInt(400));
+                insert.setString(13, type);
+                insert.setString(14, pick(random, SyntheticData.FURNISHING));
+                insert.setTimestamp(15, timestamp(data.getReferenceTime().plusDays(random.nextInt(90))));
+                insert.setInt(16, random.nextInt(4) == 0 ? 6 : 12);
+                insert.setBoolean(17, random.nextBoolean());
+                insert.setBoolean(18, random.nextInt(10) == 0);
+                int status = random.nextInt(20);
+                insert.setString(19, status < 14 ? "AVAILABLE" : status < 18 ? "RENTED" : status < 19 ? "UNDER_MAINTENANCE" : "OFF_MARKET");
+                insert.setLong(20, userId(data.landlordUserIndex(data.propertyLandlord(i))));
+                insert.setTimestamp(21, created);
+                insert.setTimestamp(22, created);
+                // Roughly a city-sized spread around the centre
+                insert.setDouble(23, city.latitude + random.nextGaussian() * 0.08);
+                insert.setDouble(24, city.longitude + random.nextGaussian() * 0.08);
+                batch.add();
+                
+                int amenityMask = random.nextInt(1 << SyntheticData.AMENITIES.length);
+                for (int a = 0; a < SyntheticData.AMENITIES.length; a++) {
+                    // About a third of the amenities each
+                    if ((amenityMask >> a & 1) == 1 && random.nextBoolean()) {
+                        amenityInsert.setLong(1, id);
+                        amenityInsert.setString(2, SyntheticData.AMENITIES[a]);
+                        amenities.add();
+                    }
+                }
+                int imageCount = 1 + random.nextInt(5);
+                for (int n = 1; n <= imageCount; n++) {
+                    imageInsert.setLong(1, id);
+                    imageInsert.setString(2, "https://images.example.com/properties/" + id + "/" + n + ".jpg");
+                    images.add();
+                }
+            }
+            return batch.finish();
+        }
+    }
+    
+    private long writeListings(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO listings (id, title, description, rent_amount, security_deposit, available_date, " +
+                "lease_term_months, status, type, property_id, landlord_id, created_at, updated_at, expires_at, " +
+                "is_featured, view_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Batch batch = new Batch(insert);
+            for (long i = from; i < to; i++) {
+                City city = data.propertyCity(i);
+                BigDecimal rent = data.propertyRent(i);
+                LocalDateTime created = data.getReferenceTime().minusDays(random.nextInt(365));
+                insert.setLong(1, listingId(i));
+                insert.setString(2, data.propertyBedrooms(i) + " bedroom for rent in " + city.name);
+                insert.setString(3, "Available now in " + city.name + ". Contact the landlord for a viewing.");
+                insert.setBigDecimal(4, rent);
+                insert.setBigDecimal(5, rent);
+                insert.setTimestamp(6, timestamp(created.plusDays(14)));
+                insert.setInt(7, 12);
+                int status = random.nextInt(10);
+                insert.setString(8, status < 7 ? "ACTIVE" : status < 9 ? "RENTED" : "EXPIRED");
+                insert.setString(9, "RENT");
+                insert.setLong(10, propertyId(i));
+                insert.setLong(11, userId(data.landlordUserIndex(data.propertyLandlord(i))));
+                insert.setTimestamp(12, timestamp(created));
+                insert.setTimestamp(13, timestamp(created));
+                insert.setTimestamp(14, timestamp(created.plusDays(90)));
+                insert.setBoolean(15, random.nextInt(20) == 0);
+                insert.setInt(16, random.nextInt(2000));
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+    
+    private long writeApplications(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO applications (id, tenant_id, property_id, listing_id, landlord_id, status, cover_letter, " +
+                "monthly_income, employment_status, employer_name, employer_phone, rental_history, credit_score, " +
+                "pets_count, pet_types, occupants_count, move_in_date, lease_term_preference, created_at, updated_at, " +
+                "application_fee, fee_paid) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Batch batch = new Batch(insert);
+            for (long j = from; j < to; j++) {
+                long property = data.applicationListing(j);
+                int pets = random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(2);
+                LocalDateTime created = data.getReferenceTime().minusDays(random.nextInt(1100));
+                insert.setLong(1, applicationId(j));
+                insert.setLong(2, userId(data.tenantUserIndex(data.applicationTenant(j))));
+                insert.setLong(3, propertyId(property));
+                insert.setLong(4, listingId(property));
+                insert.setLong(5, userId(data.landlordUserIndex(data.propertyLandlord(property))));
+                insert.setString(6, data.applicationStatus(j));
+                insert.setString(7, "I am interested in this home and can move in on short notice.");
+                insert.setBigDecimal(8, money(2500 + random.nextInt(12000)));
+                insert.setString(9, random.nextInt(10) < 8 ? "EMPLOYED" : "SELF_EMPLOYED");
+                insert.setString(10, pick(random, SyntheticData.EMPLOYERS));
+                insert.setString(11, phone(random));
+                insert.setString(12, random.nextInt(5) + " years renting, no evictions");
+                insert.setInt(13, 500 + random.nextInt(350));
+                insert.setInt(14, pets);
+                insert.setString(15, pets == 0 ? "None" : random.nextBoolean() ? "Dog" : "Cat");
+                insert.setInt(16, 1 + random.nextInt(4));
+                insert.setTimestamp(17, timestamp(created.plusDays(15 + random.nextInt(45))));
+                insert.setInt(18, random.nextInt(4) == 0 ? 6 : 12);
+                insert.setTimestamp(19, timestamp(created));
+                insert.setTimestamp(20, timestamp(created));
+                insert.setBigDecimal(21, money(50));
+                insert.setBoolean(22, random.nextInt(10) < 8);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+    
+    private long writeAgreements(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO agreements (id, tenant_id, landlord_id, property_id, application_id, status, " +
+                "agreement_number, start_date, end_date, rent_amount, security_deposit, lease_term_months, " +
+                "payment_due_day, late_fee, pet_deposit, utilities_included, maintenance_responsibility, pet_policy, " +
+                "smoking_policy, guest_policy, created_at, updated_at, signed_at, signed_by_tenant, signed_by_landlord, " +
+                "effective_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Batch batch = new Batch(insert);
+            for (long g = from; g < to; g++) {
+                long application = data.agreementApplication(g);
+                long property = data.applicationListing(application);
+                BigDecimal rent = data.propertyRent(property);
+                LocalDateTime start = data.agreementStart(g);
+                LocalDateTime end = start.plusMonths(12);
+                long id = agreementId(g);
+                insert.setLong(1, id);
+                insert.setLong(2, userId(data.tenantUserIndex(data.applicationTenant(application))));
+                insert.setLong(3, userId(data.landlordUserIndex(data.propertyLandlord(property))));
+                insert.setLong(4, propertyId(property));
+                insert.setLong(5, applicationId(application));
+                insert.setString(6, end.isAfter(data.getReferenceTime()) ? "ACTIVE" : "EXPIRED");
+                insert.setString(7, "AGR-" + id);
+                insert.setTimestamp(8, timestamp(start));
+                insert.setTimestamp(9, timestamp(end));
+                insert.setBigDecimal(10, rent);
+                insert.setBigDecimal(11, rent);
+                insert.setInt(12, 12);
+                insert.setInt(13, 1);
+                insert.setBigDecimal(14, money(50));
+                insert.setBigDecimal(15, money(random.nextBoolean() ? 0 : 300));
+                insert.setBoolean(16, random.nextInt(4) == 0);
+                insert.setString(17, "Tenant handles minor repairs; landlord handles structural and appliance repairs.");
+                insert.setString(18, "Pets allowed with deposit.");
+                insert.setString(19, "No smoking inside the unit.");
+                insert.setString(20, "Guests may stay up to 14 nights per month.");
+                insert.setTimestamp(21, timestamp(start.minusDays(14)));
+                insert.setTimestamp(22, timestamp(start.minusDays(7)));
+                insert.setTimestamp(23, timestamp(start.minusDays(7)));
+                insert.setBoolean(24, true);
+                insert.setBoolean(25, true);
+                insert.setTimestamp(26, timestamp(start));
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+    
+    // Payment y is month y / agreements of agreement y % agreements, so every
+    // lease gets its first months before any lease gets later ones
+    private long writePayments(Connection connection, long from, long to, SplittableRandom random) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO payments (id, tenant_id, landlord_id, property_id, agreement_id, type, status, " +
+                "payment_reference, amount, payment_date, due_date, processed_at, method, transaction_id, late_fee, " +
+                "processing_fee, total_amount, retry_count, version, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Batch batch = new Batch(insert);
+            for (long y = from; y < to; y++) {
+                long g = y % generatedAgreements;
+                long month = y / generatedAgreements;
+                long application = data.agreementApplication(g);
+                long property = data.applicationListing(application);
+                BigDecimal rent = data.propertyRent(property);
+                LocalDateTime due = data.agreementStart(g).plusMonths(month);
+                
+                String status;
+                LocalDateTime paid = due;
+                BigDecimal lateFee = BigDecimal.ZERO.setScale(2);
+                if (due.isAfter(data.getReferenceTime())) {
+                    status = "PENDING";
+                } else {
+                    int roll = random.nextInt(100);
+                    status = roll < 91 ? "COMPLETED" : roll < 95 ? "FAILED" : roll < 98 ? "REFUNDED" : "CANCELLED";
+                    paid = due.plusDays(random.nextInt(roll < 85 ? 3 : 15));
+                    if (paid.isAfter(due.plusDays(5))) {
+                        lateFee = money(50);
+                    }
+                }
+                BigDecimal processingFee = rent.multiply(new BigDecimal("0.01")).setScale(2, RoundingMode.HALF_UP);
+                long id = paymentId(y);
+                insert.setLong(1, id);
+                insert.setLong(2, userId(data.tenantUserIndex(data.applicationTenant(application))));
+                insert.setLong(3, userId(data.landlordUserIndex(data.propertyLandlord(property))));
+                insert.setLong(4, propertyId(property));
+                insert.setLong(5, agreementId(g));
+                insert.setString(6, "RENT");
+                insert.setString(7, status);
+                insert.setString(8, "GEN-" + id);
+                insert.setBigDecimal(9, rent);
+                insert.setTimestamp(10, timestamp(paid));
+                insert.setTimestamp(11, timestamp(due));
+                insert.setTimestamp(12, "PENDING".equals(status) ? null : timestamp(paid));
+                insert.setString(13, random.nextInt(3) == 0 ? "CREDIT_CARD" : "BANK_TRANSFER");
+                insert.setString(14, "PENDING".equals(status) ? null : "TXN-" + Long.toHexString(random.nextLong()));
+                insert.setBigDecimal(15, lateFee);
+                insert.setBigDecimal(16, processingFee);
+                insert.setBigDecimal(17, rent.add(lateFee).add(processingFee));
+                insert.setInt(18, 0);
+                insert.setLong(19, 0);
+                insert.setTimestamp(20, timestamp(due.minusDays(5)));
+                insert.setTimestamp(21, timestamp(paid));
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+    
+    // Generated ids continue after whatever each table already holds
+    private void readIdOffsets() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (int t = 0; t < TABLES.length; t++) {
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + TABLES[t])) {
+                    rs.next();
+                    idOffsets[t] = rs.getLong(1);
+                }
+            }
+        }
+    }
+    
+    private boolean isH2() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "H2".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+    
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    // MySQL session settings; pooled connections are reset before going back
+    private static void setSessionChecks(Connection connection, int enabled) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET foreign_key_checks = " + enabled + ", unique_checks = " + enabled);
+        }
+    }
+    
+    // Explicit ids don't move H2's identity counters; MySQL's AUTO_INCREMENT follows on its own
+    private void restartIdentities() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long next;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    next = rs.getLong(1);
+                }
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+    }
+    
+    private long userId(long index) { return idOffsets[0] + index + 1; }
+    private long propertyId(long index) { return idOffsets[1] + index + 1; }
+    private long listingId(long index) { return idOffsets[2] + index + 1; }
+    private long applicationId(long index) { return idOffsets[3] + index + 1; }
+    private long agreementId(long index) { return idOffsets[4] + index + 1; }
+    private long paymentId(long index) { return idOffsets[5] + index + 1; }
+    
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String phone(SplittableRandom random) {
+        return String.format("+1-%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000));
+    }
+    
+    private static String zip(City city, SplittableRandom random) {
+        return city.zipPrefix + String.format("%02d", random.nextInt(100));
+    }
+    
+    private static BigDecimal money(long amount) {
+        return BigDecimal.valueOf(amount).setScale(2);
+    }
+    
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+    
+    private static ThreadFactory namedThreads() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    // Adds rows to a JDBC batch and sends it every batchSize rows. Child batches
+    // (collection tables) are only sent right after their parent's, so foreign
+    // keys always point at rows already inserted.
+    private final class Batch {
+        private final PreparedStatement statement;
+        private final List<Batch> children = new ArrayList<>();
+        private final boolean child;
+        private int pending;
+        private long rows;
+        
+        private Batch(PreparedStatement statement) {
+            this(statement, false);
+        }
+        
+        private Batch(PreparedStatement statement, boolean child) {
+            this.statement = statement;
+            this.child = child;
+        }
+        
+        Batch child(PreparedStatement childStatement) {
+            Batch batch = new Batch(childStatement, true);
+            children.add(batch);
+            return batch;
+        }
+        
+        void add() throws SQLException {
+            statement.addBatch();
+            rows++;
+            if (++pending == batchSize && !child) {
+                send();
+            }
+        }
+        
+        long finish() throws SQLException {
+            send();
+            long total = rows;
+            for (Batch batch : children) {
+                total += batch.rows;
+            }
+            return total;
+        }
+        
+        private void send() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+            for (Batch batch : children) {
+                batch.send();
+            }
+        }
+    }
+}
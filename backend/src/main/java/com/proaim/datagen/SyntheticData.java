@@ -0,0 +1,217 @@
+package com.proaim.datagen;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Deterministic values for generated rows. Everything a row refers to in
+// another table (its landlord, its property's rent, its agreement's start date)
+// is a pure function of the seed and the row index, so tables can be generated
+// in parallel chunks without reading back what was already written.
+// Indexes are 0-based; database ids are index + 1 + the table's id offset.
+public class SyntheticData {
+
+    // Hash salts, one per derived attribute
+    private static final long LANDLORD = 1;
+    private static final long CITY = 2;
+    private static final long BEDROOMS = 3;
+    private static final long RENT = 4;
+    private static final long LISTING = 5;
+    private static final long TENANT = 6;
+    private static final long LEASE_START = 7;
+    private static final long APPLICATION_STATUS = 8;
+
+    // Name, state, zip prefix, centre, relative weight, median 1-bedroom rent
+    static final City[] CITIES = {
+            new City("New York", "NY", "100", 40.7128, -74.0060, 20, 3200),
+            new City("Los Angeles", "CA", "900", 34.0522, -118.2437, 14, 2600),
+            new City("Chicago", "IL", "606", 41.8781, -87.6298, 9, 1800),
+            new City("Houston", "TX", "770", 29.7604, -95.3698, 8, 1300),
+            new City("Phoenix", "AZ", "850", 33.4484, -112.0740, 6, 1400),
+            new City("Philadelphia", "PA", "191", 39.9526, -75.1652, 5, 1700),
+            new City("San Antonio", "TX", "782", 29.4241, -98.4936, 5, 1200),
+            new City("San Diego", "CA", "921", 32.7157, -117.1611, 5, 2500),
+            new City("Dallas", "TX", "752", 32.7767, -96.7970, 5, 1500),
+            new City("Austin", "TX", "787", 30.2672, -97.7431, 5, 1700),
+            new City("San Francisco", "CA", "941", 37.7749, -122.4194, 5, 3000),
+            new City("Seattle", "WA", "981", 47.6062, -122.3321, 4, 2200),
+            new City("Denver", "CO", "802", 39.7392, -104.9903, 4, 1800),
+            new City("Boston", "MA", "021", 42.3601, -71.0589, 4, 2800),
+            new City("Miami", "FL", "331", 25.7617, -80.1918, 4, 2400),
+            new City("Atlanta", "GA", "303", 33.7490, -84.3880, 4, 1700),
+            new City("Nashville", "TN", "372", 36.1627, -86.7816, 3, 1600),
+            new City("Portland", "OR", "972", 45.5152, -122.6784, 3, 1700),
+            new City("Minneapolis", "MN", "554", 44.9778, -93.2650, 3, 1400),
+            new City("Columbus", "OH", "432", 39.9612, -82.9988, 3, 1200)
+    };
+
+    static final String[] PROPERTY_TYPES = {"APARTMENT", "APARTMENT", "APARTMENT", "CONDO", "HOUSE", "TOWNHOUSE"};
+    static final String[] FURNISHING = {"UNFURNISHED", "UNFURNISHED", "FURNISHED", "PARTIALLY_FURNISHED"};
+    static final String[] AMENITIES = {"Parking", "Gym", "Pool", "Laundry", "Air Conditioning", "Dishwasher",
+            "Balcony", "Elevator", "Doorman", "Storage", "Pet Park", "EV Charging"};
+    static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Maria",
+            "Wei", "Aisha", "Carlos", "Priya", "Mohammed", "Yuki", "Olga"};
+    static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Lee", "Nguyen", "Patel", "Kim", "Chen", "Singh"};
+    static final String[] EMPLOYERS = {"Acme Corp", "Globex", "Initech", "Umbrella Health", "Stark Industries",
+            "Wayne Enterprises", "City Hospital", "State University", "Public Schools", "Self-employed"};
+
+    private static final int TOTAL_CITY_WEIGHT;
+
+    static {
+        int total = 0;
+        for (City city : CITIES) {
+            total += city.weight;
+        }
+        TOTAL_CITY_WEIGHT = total;
+    }
+
+    private final long seed;
+    private final long landlords;
+    private final long tenants;
+    private final long properties;
+    private final long applications;
+    private final long agreements;
+    private final LocalDateTime referenceTime;
+
+    public SyntheticData(long seed, long landlords, long tenants, long properties, long applications,
+                         long agreements, LocalDateTime referenceTime) {
+        this.seed = seed;
+        this.landlords = landlords;
+        this.tenants = tenants;
+        this.properties = properties;
+        this.applications = applications;
+        this.agreements = agreements;
+        this.referenceTime = referenceTime;
+    }
+
+    public LocalDateTime getReferenceTime() {
+        return referenceTime;
+    }
+
+    // Seed for the random stream of one chunk of one table
+    public long chunkSeed(String table, long chunk) {
+        return mix(seed, table.hashCode(), chunk);
+    }
+
+    // Users: landlords first, then tenants
+    public long landlordUserIndex(long landlord) {
+        return landlord;
+    }
+
+    public long tenantUserIndex(long tenant) {
+        return landlords + tenant;
+    }
+
+    public boolean isLandlord(long userIndex) {
+        return userIndex < landlords;
+    }
+
+    // Properties
+
+    public long propertyLandlord(long property) {
+        return pick(LANDLORD, property, landlords);
+    }
+
+    public City propertyCity(long property) {
+        long target = pick(CITY, property, TOTAL_CITY_WEIGHT);
+        for (City city : CITIES) {
+            target -= city.weight;
+            if (target < 0) {
+                return city;
+            }
+        }
+        return CITIES[CITIES.length - 1];
+    }
+
+    public int propertyBedrooms(long property) {
+        // 1-4 bedrooms, skewed towards smaller units
+        long roll = pick(BEDROOMS, property, 10);
+        return roll < 4 ? 1 : roll < 7 ? 2 : roll < 9 ? 3 : 4;
+    }
+
+    public BigDecimal propertyRent(long property) {
+        double base = propertyCity(property).medianRent * (0.7 + 0.3 * propertyBedrooms(property));
+        double spread = 0.75 + 0.5 * unit(RENT, property);
+        return BigDecimal.valueOf(Math.round(base * spread / 5) * 5L);
+    }
+
+    // Applications
+
+    public long applicationListing(long application) {
+        return pick(LISTING, application, properties);
+    }
+
+    public long applicationTenant(long application) {
+        return pick(TENANT, application, tenants);
+    }
+
+    // Every stride-th application is approved and gets an agreement
+    public long approvalStride() {
+        return Math.max(1, applications / Math.max(1, agreements));
+    }
+
+    public boolean applicationApproved(long application) {
+        long stride = approvalStride();
+        return application % stride == 0 && application / stride < agreements;
+    }
+
+    public String applicationStatus(long application) {
+        if (applicationApproved(application)) {
+            return "APPROVED";
+        }
+        long roll = pick(APPLICATION_STATUS, application, 10);
+        return roll < 4 ? "PENDING" : roll < 6 ? "UNDER_REVIEW" : roll < 9 ? "REJECTED" : "WITHDRAWN";
+    }
+
+    // Agreements
+
+    public long agreementApplication(long agreement) {
+        return agreement * approvalStride();
+    }
+
+    public LocalDateTime agreementStart(long agreement) {
+        // Leases started over the last three years, on the first of a month
+        long monthsBack = pick(LEASE_START, agreement, 36);
+        return referenceTime.withDayOfMonth(1).toLocalDate().atStartOfDay().minusMonths(monthsBack);
+    }
+
+    // Uniform in [0, 1) from the seed, salt and index
+    public double unit(long salt, long index) {
+        return (mix(seed, salt, index) >>> 11) * 0x1.0p-53;
+    }
+
+    private long pick(long salt, long index, long bound) {
+        return Math.floorMod(mix(seed, salt, index), bound);
+    }
+
+    // SplitMix64 finalizer over the combined inputs
+    private static long mix(long seed, long salt, long index) {
+        long z = seed + salt * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static final class City {
+        final String name;
+        final String state;
+        final String zipPrefix;
+        final double latitude;
+        final double longitude;
+        final int weight;
+        final int medianRent;
+
+        City(String name, String state, String zipPrefix, double latitude, double longitude, int weight,
+             int medianRent) {
+            this.name = name;
+            this.state = state;
+            this.zipPrefix = zipPrefix;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.weight = weight;
+            this.medianRent = medianRent;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.proaim.dto;
+
+import com.proaim.entity.Application;
+
+import java.util.List;
+
+public class ApplicationInboxResponse {
+    
+    private List<Application> applications;
+    private String nextCursor;
+    private boolean hasNext;
+    
+    // Constructors
+    public ApplicationInboxResponse() {}
+    
+    public ApplicationInboxResponse(List<Application> applications, String nextCursor, boolean hasNext) {
+        this.applications = applications;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+    
+    // Getters and Setters
+    public List<Application> getApplications() {
+        return applications;
+    }
+    
+    public void setApplications(List<Application> applications) {
+        this.applications = applications;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,42 @@
+package com.proaim.dto;
+
+public class ApplicationScore {
+    
+    private Long applicationId;
+    private double score;
+    private int rank;
+    
+    // Constructors
+    public ApplicationScore() {}
+    
+    public ApplicationScore(Long applicationId, double score, int rank) {
+        this.applicationId = applicationId;
+        this.score = score;
+        this.rank = rank;
+    }
+    
+    // Getters and Setters
+    public Long getApplicationId() {
+        return applicationId;
+    }
+    
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+    
+    public int getRank() {
+        return rank;
+    }
+    
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+}
@@ -4,6 +4,8 @@ public class AuthResponse {
     
     private String token;
     private String type = "Bearer";
+    private long expiresIn; // seconds until the access token expires
+    private String refreshToken;
     private Long id;
     private String username;
     private String email;
@@ -24,6 +26,13 @@ public class AuthResponse {
         this.role = role;
     }
     
+    public AuthResponse(String token, long expiresIn, String refreshToken, Long id, String username, String email,
+                        String firstName, String lastName, String role) {
+        this(token, id, username, email, firstName, lastName, role);
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+    }
+    
     // Getters and Setters
     public String getToken() {
         return token;
@@ -41,6 +50,22 @@ public class AuthResponse {
         this.type = type;
     }
     
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
     public Long getId() {
         return id;
     }
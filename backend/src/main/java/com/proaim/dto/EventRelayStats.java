@@ -0,0 +1,53 @@
+package com.proaim.dto;
+
+public class EventRelayStats {
+    
+    private long deliveredEvents;
+    private long failedDeliveries;
+    private long pendingEvents;
+    private long deadLetteredEvents;
+    private long batches;
+    private int lastBatchSize;
+    private long lastBatchMillis;
+    private double eventsPerSecond;
+    
+    // Constructors
+    public EventRelayStats() {}
+    
+    public EventRelayStats(long deliveredEvents, long failedDeliveries, long pendingEvents, long deadLetteredEvents,
+                           long batches, int lastBatchSize, long lastBatchMillis, double eventsPerSecond) {
+        this.deliveredEvents = deliveredEvents;
+        this.failedDeliveries = failedDeliveries;
+        this.pendingEvents = pendingEvents;
+        this.deadLetteredEvents = deadLetteredEvents;
+        this.batches = batches;
+        this.lastBatchSize = lastBatchSize;
+        this.lastBatchMillis = lastBatchMillis;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+    
+    // Getters and Setters
+    public long getDeliveredEvents() { return deliveredEvents; }
+    public void setDeliveredEvents(long deliveredEvents) { this.deliveredEvents = deliveredEvents; }
+    
+    public long getFailedDeliveries() { return failedDeliveries; }
+    public void setFailedDeliveries(long failedDeliveries) { this.failedDeliveries = failedDeliveries; }
+    
+    public long getPendingEvents() { return pendingEvents; }
+    public void setPendingEvents(long pendingEvents) { this.pendingEvents = pendingEvents; }
+    
+    public long getDeadLetteredEvents() { return deadLetteredEvents; }
+    public void setDeadLetteredEvents(long deadLetteredEvents) { this.deadLetteredEvents = deadLetteredEvents; }
+    
+    public long getBatches() { return batches; }
+    public void setBatches(long batches) { this.batches = batches; }
+    
+    public int getLastBatchSize() { return lastBatchSize; }
+    public void setLastBatchSize(int lastBatchSize) { this.lastBatchSize = lastBatchSize; }
+    
+    public long getLastBatchMillis() { return lastBatchMillis; }
+    public void setLastBatchMillis(long lastBatchMillis) { this.lastBatchMillis = lastBatchMillis; }
+    
+    public double getEventsPerSecond() { return eventsPerSecond; }
+    public void setEventsPerSecond(double eventsPerSecond) { this.eventsPerSecond = eventsPerSecond; }
+}
@@ -0,0 +1,54 @@
+package com.proaim.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ExportJobStatus {
+    
+    private String id;
+    private String dataset;
+    private List<String> columns;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private long totalRows;
+    private long rowsWritten;
+    private double progress;
+    private long bytesWritten;
+    private String fileName;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    
+    // Constructors
+    public ExportJobStatus() {}
+    
+    public ExportJobStatus(String id, String dataset, List<String> columns, String status, long totalRows,
+                           long rowsWritten, long bytesWritten, String fileName, String error,
+                           LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.dataset = dataset;
+        this.columns = columns;
+        this.status = status;
+        this.totalRows = totalRows;
+        this.rowsWritten = rowsWritten;
+        this.progress = totalRows > 0 ? Math.min(1.0, (double) rowsWritten / totalRows) : ("COMPLETED".equals(status) ? 1.0 : 0.0);
+        this.bytesWritten = bytesWritten;
+        this.fileName = fileName;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+    
+    // Getters
+    public String getId() { return id; }
+    public String getDataset() { return dataset; }
+    public List<String> getColumns() { return columns; }
+    public String getStatus() { return status; }
+    public long getTotalRows() { return totalRows; }
+    public long getRowsWritten() { return rowsWritten; }
+    public double getProgress() { return progress; }
+    public long getBytesWritten() { return bytesWritten; }
+    public String getFileName() { return fileName; }
+    public String getError() { return error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
@@ -0,0 +1,52 @@
+package com.proaim.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ExportRequest {
+    
+    @NotBlank
+    private String dataset; // PAYMENTS, AGREEMENTS
+    
+    // Columns to export, in order; all columns when empty
+    private List<String> columns;
+    
+    // Optional range on the data set's date column, from inclusive, to exclusive
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    // Getters and Setters
+    public String getDataset() {
+        return dataset;
+    }
+    
+    public void setDataset(String dataset) {
+        this.dataset = dataset;
+    }
+    
+    public List<String> getColumns() {
+        return columns;
+    }
+    
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
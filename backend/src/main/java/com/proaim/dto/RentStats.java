@@ -0,0 +1,58 @@
+package com.proaim.dto;
+
+import java.math.BigDecimal;
+
+public class RentStats {
+    
+    private String city;
+    private Integer bedrooms;     // null when all bedroom counts were combined
+    private String propertyType;  // null when all property types were combined
+    private long count;
+    private BigDecimal min;
+    private BigDecimal p25;
+    private BigDecimal median;
+    private BigDecimal p75;
+    private BigDecimal p90;
+    private BigDecimal max;
+    
+    // Constructors
+    public RentStats() {}
+    
+    public RentStats(String city, Integer bedrooms, String propertyType, long count) {
+        this.city = city;
+        this.bedrooms = bedrooms;
+        this.propertyType = propertyType;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public Integer getBedrooms() { return bedrooms; }
+    public void setBedrooms(Integer bedrooms) { this.bedrooms = bedrooms; }
+    
+    public String getPropertyType() { return propertyType; }
+    public void setPropertyType(String propertyType) { this.propertyType = propertyType; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    
+    public BigDecimal getMin() { return min; }
+    public void setMin(BigDecimal min) { this.min = min; }
+    
+    public BigDecimal getP25() { return p25; }
+    public void setP25(BigDecimal p25) { this.p25 = p25; }
+    
+    public BigDecimal getMedian() { return median; }
+    public void setMedian(BigDecimal median) { this.median = median; }
+    
+    public BigDecimal getP75() { return p75; }
+    public void setP75(BigDecimal p75) { this.p75 = p75; }
+    
+    public BigDecimal getP90() { return p90; }
+    public void setP90(BigDecimal p90) { this.p90 = p90; }
+    
+    public BigDecimal getMax() { return max; }
+    public void setMax(BigDecimal max) { this.max = max; }
+}
@@ -0,0 +1,40 @@
+package com.proaim.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RevenueBucket {
+    
+    private LocalDate start;
+    private LocalDate end;
+    private BigDecimal amount;
+    private BigDecimal lateFee;
+    private BigDecimal processingFee;
+    
+    // Constructors
+    public RevenueBucket() {}
+    
+    public RevenueBucket(LocalDate start, LocalDate end, BigDecimal amount, BigDecimal lateFee, BigDecimal processingFee) {
+        this.start = start;
+        this.end = end;
+        this.amount = amount;
+        this.lateFee = lateFee;
+        this.processingFee = processingFee;
+    }
+    
+    // Getters and Setters
+    public LocalDate getStart() { return start; }
+    public void setStart(LocalDate start) { this.start = start; }
+    
+    public LocalDate getEnd() { return end; }
+    public void setEnd(LocalDate end) { this.end = end; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getLateFee() { return lateFee; }
+    public void setLateFee(BigDecimal lateFee) { this.lateFee = lateFee; }
+    
+    public BigDecimal getProcessingFee() { return processingFee; }
+    public void setProcessingFee(BigDecimal processingFee) { this.processingFee = processingFee; }
+}
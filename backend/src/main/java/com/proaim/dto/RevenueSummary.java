@@ -0,0 +1,64 @@
+package com.proaim.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RevenueSummary {
+    
+    private String scope; // PROPERTY, LANDLORD
+    private Long scopeId;
+    
+    // Range actually summed; wider than requested when only week or month buckets remain for it
+    private LocalDate from;
+    private LocalDate to;
+    private String resolution; // DAY, WEEK, MONTH
+    
+    private BigDecimal amount;
+    private BigDecimal lateFee;
+    private BigDecimal processingFee;
+    private BigDecimal total;
+    
+    // Constructors
+    public RevenueSummary() {}
+    
+    public RevenueSummary(String scope, Long scopeId, LocalDate from, LocalDate to, String resolution,
+                          BigDecimal amount, BigDecimal lateFee, BigDecimal processingFee) {
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.from = from;
+        this.to = to;
+        this.resolution = resolution;
+        this.amount = amount;
+        this.lateFee = lateFee;
+        this.processingFee = processingFee;
+        this.total = amount.add(lateFee).add(processingFee);
+    }
+    
+    // Getters and Setters
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+    
+    public Long getScopeId() { return scopeId; }
+    public void setScopeId(Long scopeId) { this.scopeId = scopeId; }
+    
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getLateFee() { return lateFee; }
+    public void setLateFee(BigDecimal lateFee) { this.lateFee = lateFee; }
+    
+    public BigDecimal getProcessingFee() { return processingFee; }
+    public void setProcessingFee(BigDecimal processingFee) { this.processingFee = processingFee; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
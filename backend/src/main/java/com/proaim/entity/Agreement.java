@@ -1,5 +1,6 @@
 package com.proaim.entity;
 
+import com.proaim.service.AgreementLifecycleListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,7 +9,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "agreements")
+@Table(name = "agreements", indexes = {
+        @Index(name = "idx_agreements_status_end_date", columnList = "status, endDate")
+})
+@EntityListeners(AgreementLifecycleListener.class)
 public class Agreement {
     
     @Id
@@ -115,6 +119,9 @@ public class Agreement {
     
     private String terminationReason;
     
+    @Column(name = "renewal_reminder_sent_at")
+    private LocalDateTime renewalReminderSentAt;
+    
     public enum AgreementStatus {
         DRAFT, PENDING_SIGNATURE, ACTIVE, EXPIRED, TERMINATED, RENEWED
     }
@@ -374,6 +381,14 @@ public class Agreement {
         this.terminationReason = terminationReason;
     }
     
+    public LocalDateTime getRenewalReminderSentAt() {
+        return renewalReminderSentAt;
+    }
+    
+    public void setRenewalReminderSentAt(LocalDateTime renewalReminderSentAt) {
+        this.renewalReminderSentAt = renewalReminderSentAt;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -7,7 +7,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        @Index(name = "idx_applications_listing", columnList = "listing_id"),
+        @Index(name = "idx_applications_occupants_count", columnList = "occupantsCount"),
+        @Index(name = "idx_applications_landlord_status_created", columnList = "landlord_id, status, created_at, id"),
+        @Index(name = "idx_applications_landlord_status_move_in", columnList = "landlord_id, status, moveInDate, id"),
+        @Index(name = "idx_applications_landlord_status_credit", columnList = "landlord_id, status, creditScore, id"),
+        @Index(name = "idx_applications_landlord_status_income", columnList = "landlord_id, status, monthlyIncome, id")
+})
 public class Application {
     
     @Id
@@ -26,6 +33,10 @@ public class Application {
     @JoinColumn(name = "listing_id", nullable = false)
     private Listing listing;
     
+    // Denormalized from property.landlord so the landlord inbox avoids the join
+    @Column(name = "landlord_id")
+    private Long landlordId;
+    
     @Enumerated(EnumType.STRING)
     private ApplicationStatus status = ApplicationStatus.PENDING;
     
@@ -130,6 +141,14 @@ public class Application {
         this.listing = listing;
     }
     
+    public Long getLandlordId() {
+        return landlordId;
+    }
+    
+    public void setLandlordId(Long landlordId) {
+        this.landlordId = landlordId;
+    }
+    
     public ApplicationStatus getStatus() {
         return status;
     }
@@ -9,7 +9,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_created_at", columnList = "created_at"),
+        @Index(name = "idx_payments_due_date", columnList = "dueDate"),
+        @Index(name = "idx_payments_payment_date", columnList = "paymentDate"),
+        @Index(name = "idx_payments_processed_at", columnList = "processed_at"),
+        @Index(name = "idx_payments_status_created_at", columnList = "status, created_at")
+})
 public class Payment {
 
     @Id
@@ -0,0 +1,147 @@
+package com.proaim.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Settled payments moved out of the hot payments table. Related rows are kept as
+// plain ids, without foreign keys, so archived history never blocks deletes elsewhere.
+// On MySQL the table is stored compressed (schema-mysql.sql).
+@Entity
+@Table(name = "payments_archive", indexes = {
+        @Index(name = "idx_payments_archive_month", columnList = "archive_month"),
+        @Index(name = "idx_payments_archive_payment_date", columnList = "payment_date"),
+        @Index(name = "idx_payments_archive_tenant", columnList = "tenant_id, payment_date"),
+        @Index(name = "idx_payments_archive_landlord", columnList = "landlord_id, payment_date")
+})
+public class PaymentArchive {
+
+    // Same id the payment had in the hot table
+    @Id
+    private Long id;
+
+    // yyyyMM of created_at; the monthly bucket the row was archived under
+    @Column(name = "archive_month", nullable = false)
+    private Integer archiveMonth;
+
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Column(name = "landlord_id")
+    private Long landlordId;
+
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    @Column(name = "agreement_id")
+    private Long agreementId;
+
+    @Enumerated(EnumType.STRING)
+    private Payment.PaymentType type;
+
+    @Enumerated(EnumType.STRING)
+    private Payment.PaymentStatus status;
+
+    @Column(name = "payment_reference")
+    private String paymentReference;
+
+    private BigDecimal amount;
+
+    @Column(name = "payment_date")
+    private LocalDateTime paymentDate;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Enumerated(EnumType.STRING)
+    private Payment.PaymentMethod method;
+
+    @Column(name = "transaction_id")
+    private String transactionId;
+
+    @Column(name = "payment_description")
+    private String paymentDescription;
+
+    @Column(name = "late_fee")
+    private BigDecimal lateFee;
+
+    @Column(name = "processing_fee")
+    private BigDecimal processingFee;
+
+    @Column(name = "total_amount")
+    private BigDecimal totalAmount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // ===== Getters & Setters =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getArchiveMonth() { return archiveMonth; }
+    public void setArchiveMonth(Integer archiveMonth) { this.archiveMonth = archiveMonth; }
+
+    public Long getTenantId() { return tenantId; }
+    public void setTenantId(Long tenantId) { this.tenantId = tenantId; }
+
+    public Long getLandlordId() { return landlordId; }
+    public void setLandlordId(Long landlordId) { this.landlordId = landlordId; }
+
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+
+    public Long getAgreementId() { return agreementId; }
+    public void setAgreementId(Long agreementId) { this.agreementId = agreementId; }
+
+    public Payment.PaymentType getType() { return type; }
+    public void setType(Payment.PaymentType type) { this.type = type; }
+
+    public Payment.PaymentStatus getStatus() { return status; }
+    public void setStatus(Payment.PaymentStatus status) { this.status = status; }
+
+    public String getPaymentReference() { return paymentReference; }
+    public void setPaymentReference(String paymentReference) { this.paymentReference = paymentReference; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public LocalDateTime getPaymentDate() { return paymentDate; }
+    public void setPaymentDate(LocalDateTime paymentDate) { this.paymentDate = paymentDate; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public Payment.PaymentMethod getMethod() { return method; }
+    public void setMethod(Payment.PaymentMethod method) { this.method = method; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getPaymentDescription() { return paymentDescription; }
+    public void setPaymentDescription(String paymentDescription) { this.paymentDescription = paymentDescription; }
+
+    public BigDecimal getLateFee() { return lateFee; }
+    public void setLateFee(BigDecimal lateFee) { this.lateFee = lateFee; }
+
+    public BigDecimal getProcessingFee() { return processingFee; }
+    public void setProcessingFee(BigDecimal processingFee) { this.processingFee = processingFee; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
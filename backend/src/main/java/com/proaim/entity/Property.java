@@ -1,6 +1,10 @@
 package com.proaim.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -9,7 +13,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_market", columnList = "city, bedrooms, propertyType")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Property {
     
     @Id
@@ -61,12 +68,18 @@ public class Property {
     @NotBlank(message = "Furnishing status is required")
     private String furnishingStatus; // FURNISHED, UNFURNISHED, PARTIALLY_FURNISHED
     
-    @ElementCollection
+    // Lazy: reads that return properties fetch amenities and images explicitly. In a
+    // session the subselect loads them for every property of the query at once.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "property_amenities", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "amenity")
     private List<String> amenities;
     
-    @ElementCollection
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "property_images", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "image_url")
     private List<String> imageUrls;
@@ -0,0 +1,148 @@
+package com.proaim.entity;
+
+import com.proaim.notification.NotificationChannel;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A notification accepted for delivery, kept until its digest was sent and for the
+// retention window after, so a redelivered event does not queue it a second time.
+// One row per event, recipient and channel.
+@Entity
+@Table(name = "queued_notifications", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_queued_notifications_event", columnNames = {"event_id", "recipient_id", "channel"})
+}, indexes = {
+        @Index(name = "idx_queued_notifications_unsent", columnList = "sent_at, claimed_until, id")
+})
+public class QueuedNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Outbox event that raised it; null for notifications sent directly
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationChannel channel;
+    
+    @Column(name = "coalesce_key", nullable = false)
+    private String coalesceKey;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(length = 2000)
+    private String body;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Leased to one node's dispatcher until this time
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    // Constructors
+    public QueuedNotification() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public QueuedNotification(Long eventId, Long recipientId, NotificationChannel channel, String coalesceKey,
+                              String subject, String body) {
+        this();
+        this.eventId = eventId;
+        this.recipientId = recipientId;
+        this.channel = channel;
+        this.coalesceKey = coalesceKey;
+        this.subject = subject;
+        this.body = body;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public Long getRecipientId() {
+        return recipientId;
+    }
+    
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+    
+    public NotificationChannel getChannel() {
+        return channel;
+    }
+    
+    public void setChannel(NotificationChannel channel) {
+        this.channel = channel;
+    }
+    
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+    
+    public void setCoalesceKey(String coalesceKey) {
+        this.coalesceKey = coalesceKey;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+    
+    public void setClaimedUntil(LocalDateTime claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+    
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.proaim.event;
+
+import com.proaim.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Drops this node's cached analytics counts as soon as a property or application
+// changes, instead of waiting for the TTL
+@Component
+public class AnalyticsCacheSubscriber implements NodeStateSubscriber {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Override
+    public boolean supports(DomainEvent event) {
+        return EventTypes.PROPERTY.equals(event.getAggregateType())
+                || EventTypes.APPLICATION.equals(event.getAggregateType());
+    }
+    
+    @Override
+    public void onEvent(DomainEvent event) {
+        analyticsService.evictCachedCounts();
+    }
+}
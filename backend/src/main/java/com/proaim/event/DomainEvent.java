@@ -0,0 +1,43 @@
+package com.proaim.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// An outbox row as delivered to subscribers, with its payload already parsed
+public class DomainEvent {
+    
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+    private final Map<String, Object> payload;
+    private final LocalDateTime createdAt;
+    
+    public DomainEvent(Long id, String aggregateType, Long aggregateId, String eventType,
+                       Map<String, Object> payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() { return id; }
+    public String getAggregateType() { return aggregateType; }
+    public Long getAggregateId() { return aggregateId; }
+    public String getEventType() { return eventType; }
+    public Map<String, Object> getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    // Payload ids come back from JSON as Integer or Long
+    public Long getPayloadLong(String key) {
+        Object value = payload.get(key);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+    
+    public String getPayloadString(String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
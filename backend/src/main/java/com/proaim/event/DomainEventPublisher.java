@@ -0,0 +1,46 @@
+package com.proaim.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.entity.OutboxEvent;
+import com.proaim.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Writes domain events to the outbox table inside the caller's transaction,
+// so an event exists if and only if the entity change it describes committed
+@Component
+public class DomainEventPublisher {
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Transactional
+    public void publish(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, toJson(payload)));
+    }
+    
+    @Transactional
+    public void publishAll(String aggregateType, String eventType, Map<Long, Map<String, Object>> payloadsById) {
+        List<OutboxEvent> events = new ArrayList<>(payloadsById.size());
+        payloadsById.forEach((aggregateId, payload) ->
+                events.add(new OutboxEvent(aggregateType, aggregateId, eventType, toJson(payload))));
+        outboxEventRepository.saveAll(events);
+    }
+    
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event payload", e);
+        }
+    }
+}
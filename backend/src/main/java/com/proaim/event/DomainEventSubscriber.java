@@ -0,0 +1,12 @@
+package com.proaim.event;
+
+// In-process consumer of domain events relayed from the outbox, for side effects that
+// must happen once across all nodes, such as notifications: the event is delivered on
+// the node whose relay claimed it. State held per node belongs in a NodeStateSubscriber.
+// Delivery is at-least-once, so handlers must be idempotent.
+public interface DomainEventSubscriber {
+    
+    boolean supports(DomainEvent event);
+    
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,36 @@
+package com.proaim.event;
+
+// Aggregate and event type names written to the outbox
+public final class EventTypes {
+    
+    // Aggregates
+    public static final String APPLICATION = "APPLICATION";
+    public static final String PROPERTY = "PROPERTY";
+    public static final String PAYMENT = "PAYMENT";
+    public static final String AGREEMENT = "AGREEMENT";
+    
+    // Application events
+    public static final String APPLICATION_CREATED = "APPLICATION_CREATED";
+    public static final String APPLICATION_UPDATED = "APPLICATION_UPDATED";
+    public static final String APPLICATION_STATUS_CHANGED = "APPLICATION_STATUS_CHANGED";
+    public static final String APPLICATION_FEE_STATUS_CHANGED = "APPLICATION_FEE_STATUS_CHANGED";
+    public static final String APPLICATION_DELETED = "APPLICATION_DELETED";
+    
+    // Property events
+    public static final String PROPERTY_CREATED = "PROPERTY_CREATED";
+    public static final String PROPERTY_UPDATED = "PROPERTY_UPDATED";
+    public static final String PROPERTY_STATUS_CHANGED = "PROPERTY_STATUS_CHANGED";
+    public static final String PROPERTY_DELETED = "PROPERTY_DELETED";
+    
+    // Payment events
+    public static final String PAYMENT_CREATED = "PAYMENT_CREATED";
+    public static final String PAYMENT_UPDATED = "PAYMENT_UPDATED";
+    public static final String PAYMENT_DELETED = "PAYMENT_DELETED";
+    
+    // Agreement events
+    public static final String AGREEMENT_RENEWAL_REMINDER = "AGREEMENT_RENEWAL_REMINDER";
+    public static final String AGREEMENT_EXPIRED = "AGREEMENT_EXPIRED";
+    
+    private EventTypes() {
+    }
+}
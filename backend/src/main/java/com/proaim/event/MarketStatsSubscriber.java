@@ -0,0 +1,35 @@
+package com.proaim.event;
+
+import com.proaim.service.MarketStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Keeps this node's rent sketches in step with property creates, edits and deletes
+@Component
+public class MarketStatsSubscriber implements NodeStateSubscriber {
+    
+    @Autowired
+    private MarketStatsService marketStatsService;
+    
+    @Override
+    public boolean supports(DomainEvent event) {
+        return EventTypes.PROPERTY.equals(event.getAggregateType());
+    }
+    
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (EventTypes.PROPERTY_DELETED.equals(event.getEventType())) {
+            marketStatsService.removeProperty(event.getAggregateId());
+            return;
+        }
+        Long bedrooms = event.getPayloadLong("bedrooms");
+        String rentAmount = event.getPayloadString("rentAmount");
+        marketStatsService.recordProperty(event.getAggregateId(),
+                event.getPayloadString("city"),
+                bedrooms != null ? bedrooms.intValue() : null,
+                event.getPayloadString("propertyType"),
+                rentAmount != null ? new BigDecimal(rentAmount) : null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.proaim.event;
+
+// In-process consumer of domain events that keeps state held by this node current:
+// caches, rollups, sketches, open live feeds. Every node gets every event through its
+// own OutboxFeed, unlike a DomainEventSubscriber, which runs only on the node whose
+// relay claimed the event. Delivery is at-least-once, so handlers must be idempotent.
+public interface NodeStateSubscriber {
+    
+    boolean supports(DomainEvent event);
+    
+    void onEvent(DomainEvent event);
+    
+    // The feed holds events back until every subscriber is ready, e.g. done loading its state
+    default boolean isReady() {
+        return true;
+    }
+}
@@ -0,0 +1,194 @@
+package com.proaim.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.entity.OutboxEvent;
+import com.proaim.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Feeds every outbox event to this node's NodeStateSubscribers, so each node's
+// caches, rollups and live feeds see all changes and not only the events its relay
+// happened to claim. Each node reads the outbox from its own position in id order,
+// without locking or claiming rows, and keeps no state in the table.
+// Ids are assigned when a row is inserted but become visible when its transaction
+// commits, so a lower id can appear after a higher one was read. Ids skipped over are
+// kept as gaps and looked up again on every poll until they appear or
+// events.feed.gap-timeout-ms passes (a rolled-back insert leaves a gap for good).
+// A failing event stops the feed so later events keep their order, and is skipped
+// after events.feed.max-attempts. The position starts at the newest event, since
+// subscribers load their state from the tables at startup; a node that falls further
+// behind than events.outbox.retention-hours misses the purged events.
+@Component
+public class OutboxFeed {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxFeed.class);
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private ObjectProvider<NodeStateSubscriber> subscribers;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${events.feed.batch-size:500}")
+    private int batchSize;
+    
+    // How long a skipped id is waited for; longer than any transaction that writes events
+    @Value("${events.feed.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+    
+    @Value("${events.feed.max-attempts:10}")
+    private int maxAttempts;
+    
+    // Highest id read so far
+    private long position;
+    
+    // Skipped ids -> when they were first missed
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    
+    // Failed deliveries per event still being retried
+    private final Map<Long, Integer> attempts = new HashMap<>();
+    
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong failedDeliveries = new AtomicLong();
+    private final AtomicLong skippedEvents = new AtomicLong();
+    private final AtomicLong filledGaps = new AtomicLong();
+    private final AtomicLong expiredGaps = new AtomicLong();
+    
+    // Transactions still open at startup may commit ids below the newest one; the
+    // connection pool bounds how many there are, so one batch below it covers them
+    @PostConstruct
+    public synchronized void start() {
+        Long newest = outboxEventRepository.findMaxId();
+        position = newest != null ? newest : 0;
+        long from = Math.max(0, position - batchSize);
+        Set<Long> visible = new HashSet<>(outboxEventRepository.findIdsAfter(from));
+        long now = System.currentTimeMillis();
+        for (long id = from + 1; id < position; id++) {
+            if (!visible.contains(id)) {
+                gaps.put(id, now);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.feed.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if (!subscribers.orderedStream().allMatch(NodeStateSubscriber::isReady)) {
+            return;
+        }
+        if (!gaps.isEmpty()) {
+            fillGaps();
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(position,
+                PageRequest.of(0, batchSize));
+        long now = System.currentTimeMillis();
+        for (OutboxEvent row : batch) {
+            if (!deliver(row)) {
+                break;
+            }
+            // A jump wider than a batch is an id allocation gap, not open transactions
+            for (long id = Math.max(position, row.getId() - batchSize) + 1; id < row.getId(); id++) {
+                gaps.put(id, now);
+            }
+            position = row.getId();
+        }
+    }
+    
+    // Whether the feed may still deliver the event with this id; stable while a
+    // subscriber is not ready, because the feed does not move until then
+    public synchronized boolean isPending(long id) {
+        return id > position || gaps.containsKey(id);
+    }
+    
+    // Lowest id the feed may still deliver, less one
+    public synchronized long getFloor() {
+        return gaps.isEmpty() ? position : Math.min(position, gaps.keySet().iterator().next() - 1);
+    }
+    
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("position", position);
+        stats.put("openGaps", gaps.size());
+        stats.put("deliveredEvents", deliveredEvents.get());
+        stats.put("failedDeliveries", failedDeliveries.get());
+        stats.put("skippedEvents", skippedEvents.get());
+        stats.put("filledGaps", filledGaps.get());
+        stats.put("expiredGaps", expiredGaps.get());
+        return stats;
+    }
+    
+    // Delivers the gap ids that have committed since, and gives up on the ones that timed out
+    private void fillGaps() {
+        for (OutboxEvent row : outboxEventRepository.findAllById(List.copyOf(gaps.keySet()))) {
+            if (deliver(row)) {
+                gaps.remove(row.getId());
+                filledGaps.incrementAndGet();
+            }
+        }
+        long expiry = System.currentTimeMillis() - gapTimeoutMs;
+        List<Long> expired = new ArrayList<>();
+        gaps.forEach((id, since) -> {
+            if (since < expiry && !attempts.containsKey(id)) {
+                expired.add(id);
+            }
+        });
+        expired.forEach(gaps::remove);
+        expiredGaps.addAndGet(expired.size());
+    }
+    
+    // False while the event should be retried on the next poll
+    private boolean deliver(OutboxEvent row) {
+        try {
+            DomainEvent event = toDomainEvent(row);
+            subscribers.orderedStream()
+                    .filter(subscriber -> subscriber.supports(event))
+                    .forEach(subscriber -> subscriber.onEvent(event));
+            attempts.remove(row.getId());
+            deliveredEvents.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            failedDeliveries.incrementAndGet();
+            int attempt = attempts.merge(row.getId(), 1, Integer::sum);
+            if (attempt < maxAttempts) {
+                logger.warn("Feeding outbox event {} ({}) failed, attempt {} of {}: {}",
+                        row.getId(), row.getEventType(), attempt, maxAttempts, e.getMessage());
+                return false;
+            }
+            // Unlike the relay this node has no dead-letter row to keep it in; its state may
+            // now be off until the next reload
+            attempts.remove(row.getId());
+            skippedEvents.incrementAndGet();
+            logger.error("Skipping outbox event {} ({}) on this node after {} attempts: {}",
+                    row.getId(), row.getEventType(), attempt, e.getMessage());
+            return true;
+        }
+    }
+    
+    private DomainEvent toDomainEvent(OutboxEvent row) throws Exception {
+        Map<String, Object> payload = row.getPayload() != null
+                ? objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE)
+                : Map.of();
+        return new DomainEvent(row.getId(), row.getAggregateType(), row.getAggregateId(),
+                row.getEventType(), payload, row.getCreatedAt());
+    }
+}
@@ -0,0 +1,276 @@
+package com.proaim.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.dto.EventRelayStats;
+import com.proaim.entity.OutboxEvent;
+import com.proaim.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the outbox in id order and hands events to DomainEventSubscribers.
+// Each poll claims a batch of due events with SELECT ... FOR UPDATE SKIP LOCKED and
+// leases them (next_attempt_at = now + lease) before delivering, so several nodes
+// can relay the same outbox without delivering an event twice while its lease lasts.
+// Every event therefore reaches one node; per-node state is fed by OutboxFeed instead.
+// Events are split into lanes by aggregate, each lane on its own thread, so one
+// aggregate's events are delivered in order while different aggregates run in
+// parallel. Rows are marked published only after every subscriber succeeded.
+// A failed event is retried with exponential backoff and dead-lettered after
+// events.relay.max-attempts; later events of its aggregate wait until then.
+@Component
+public class OutboxRelay {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private ObjectProvider<DomainEventSubscriber> subscribers;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${events.relay.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${events.relay.lanes:4}")
+    private int laneCount;
+    
+    @Value("${events.outbox.retention-hours:24}")
+    private int retentionHours;
+    
+    // A relay that dies mid-batch leaves its events to others once the lease ends
+    @Value("${events.relay.lease-ms:60000}")
+    private long leaseMs;
+    
+    @Value("${events.relay.max-attempts:10}")
+    private int maxAttempts;
+    
+    // Backoff doubles from the initial delay after each failed attempt, up to the maximum
+    @Value("${events.relay.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+    
+    @Value("${events.relay.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private ExecutorService[] lanes;
+    
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong failedDeliveries = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastBatchMillis;
+    
+    @PostConstruct
+    public void start() {
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "outbox-lane-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.relay.poll-interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch = claim();
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        
+        List<List<OutboxEvent>> partitions = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (OutboxEvent event : batch) {
+            int lane = Math.floorMod(Objects.hash(event.getAggregateType(), event.getAggregateId()), laneCount);
+            partitions.get(lane).add(event);
+        }
+        
+        List<Future<LaneResult>> futures = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            List<OutboxEvent> partition = partitions.get(i);
+            if (!partition.isEmpty()) {
+                futures.add(lanes[i].submit(() -> deliver(partition)));
+            }
+        }
+        
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Long> skipped = new ArrayList<>();
+        for (Future<LaneResult> future : futures) {
+            try {
+                LaneResult result = future.get();
+                delivered.addAll(result.delivered);
+                skipped.addAll(result.skipped);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // The lane's events stay leased and are picked up again once the lease ends
+                logger.error("Outbox lane failed: {}", e.getMessage());
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+        }
+        if (!skipped.isEmpty()) {
+            outboxEventRepository.release(skipped);
+        }
+        
+        deliveredEvents.addAndGet(delivered.size());
+        batches.incrementAndGet();
+        lastBatchSize = batch.size();
+        lastBatchMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+    
+    // Locks a batch of due events, leases them to this relay and commits, so the row
+    // locks are held only for the claim and not while subscribers run
+    private List<OutboxEvent> claim() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return due;
+            }
+            Set<Long> behind = new HashSet<>(outboxEventRepository.findBehindUnclaimed(
+                    due.stream().map(OutboxEvent::getId).toList()));
+            List<OutboxEvent> claimed = due.stream().filter(event -> !behind.contains(event.getId())).toList();
+            if (!claimed.isEmpty()) {
+                outboxEventRepository.lease(claimed.stream().map(OutboxEvent::getId).toList(),
+                        now.plus(Duration.ofMillis(leaseMs)));
+            }
+            return claimed;
+        });
+        return batch != null ? batch : List.of();
+    }
+    
+    // Puts every dead-lettered event back in the queue; returns how many
+    public int requeueDeadLettered() {
+        int requeued = outboxEventRepository.requeueDeadLettered();
+        if (requeued > 0) {
+            logger.info("Requeued {} dead-lettered outbox events", requeued);
+        }
+        return requeued;
+    }
+    
+    @Scheduled(fixedDelayString = "${events.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.debug("Purged {} published outbox events", deleted);
+        }
+    }
+    
+    public EventRelayStats getStats() {
+        long millis = lastBatchMillis;
+        double eventsPerSecond = millis > 0 ? lastBatchSize * 1000.0 / millis : lastBatchSize;
+        return new EventRelayStats(deliveredEvents.get(), failedDeliveries.get(),
+                outboxEventRepository.countByPublishedAtIsNullAndDeadLetteredAtIsNull(),
+                outboxEventRepository.countByDeadLetteredAtIsNotNull(), batches.get(),
+                lastBatchSize, millis, eventsPerSecond);
+    }
+    
+    private LaneResult deliver(List<OutboxEvent> partition) {
+        LaneResult result = new LaneResult();
+        Set<String> blockedAggregates = new HashSet<>();
+        for (OutboxEvent row : partition) {
+            String aggregateKey = row.getAggregateType() + ":" + row.getAggregateId();
+            if (blockedAggregates.contains(aggregateKey)) {
+                // Released, then held back by the claim query until the failed event is retried
+                result.skipped.add(row.getId());
+                continue;
+            }
+            try {
+                DomainEvent event = toDomainEvent(row);
+                subscribers.orderedStream()
+                        .filter(subscriber -> subscriber.supports(event))
+                        .forEach(subscriber -> subscriber.onEvent(event));
+                result.delivered.add(row.getId());
+            } catch (Exception e) {
+                // Hold back the rest of this aggregate's events to keep them in order
+                blockedAggregates.add(aggregateKey);
+                failedDeliveries.incrementAndGet();
+                recordFailure(row, e);
+            }
+        }
+        return result;
+    }
+    
+    private void recordFailure(OutboxEvent row, Throwable e) {
+        int attempts = row.getAttempts() + 1;
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markDeadLettered(row.getId(), LocalDateTime.now(), error);
+            logger.error("Outbox event {} ({}) dead-lettered after {} attempts: {}",
+                    row.getId(), row.getEventType(), attempts, error);
+        } else {
+            long backoffMs = backoffMs(attempts);
+            outboxEventRepository.markFailed(row.getId(), LocalDateTime.now().plus(Duration.ofMillis(backoffMs)), error);
+            logger.warn("Delivery of outbox event {} ({}) failed, attempt {} of {}, retrying in {} ms: {}",
+                    row.getId(), row.getEventType(), attempts, maxAttempts, backoffMs, error);
+        }
+    }
+    
+    // initial * 2^(attempts - 1), capped
+    private long backoffMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(maxBackoffMs, initialBackoffMs << doublings);
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+    
+    private DomainEvent toDomainEvent(OutboxEvent row) throws Exception {
+        Map<String, Object> payload = row.getPayload() != null
+                ? objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE)
+                : Map.of();
+        return new DomainEvent(row.getId(), row.getAggregateType(), row.getAggregateId(),
+                row.getEventType(), payload, row.getCreatedAt());
+    }
+    
+    // Event ids a lane delivered, and those it skipped behind a failed event of the same aggregate
+    private static final class LaneResult {
+        private final List<Long> delivered = new ArrayList<>();
+        private final List<Long> skipped = new ArrayList<>();
+    }
+}
@@ -0,0 +1,61 @@
+package com.proaim.event;
+
+import com.proaim.service.RevenueRollupService;
+import com.proaim.service.revenue.PaymentRevenue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Feeds payment changes into the in-memory revenue rollups. An update event carries
+// the payment's previous revenue fields, so the rollups can take back the old values.
+// Holds the feed back until the rollups are loaded
+@Component
+public class RevenueRollupSubscriber implements NodeStateSubscriber {
+    
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    
+    @Override
+    public boolean supports(DomainEvent event) {
+        return EventTypes.PAYMENT.equals(event.getAggregateType());
+    }
+    
+    @Override
+    public boolean isReady() {
+        return revenueRollupService.isLoaded();
+    }
+    
+    @Override
+    public void onEvent(DomainEvent event) {
+        PaymentRevenue current = revenue(event, "status", "paymentDate", "amount", "lateFee", "processingFee");
+        PaymentRevenue before = null;
+        PaymentRevenue after = current;
+        switch (event.getEventType()) {
+            case EventTypes.PAYMENT_DELETED -> {
+                before = current;
+                after = null;
+            }
+            case EventTypes.PAYMENT_UPDATED -> before = revenue(event, "previousStatus", "previousPaymentDate",
+                    "previousAmount", "previousLateFee", "previousProcessingFee");
+            default -> { }
+        }
+        revenueRollupService.applyPaymentChange(event.getId(), event.getPayloadLong("propertyId"),
+                event.getPayloadLong("landlordId"), before, after);
+    }
+    
+    private static PaymentRevenue revenue(DomainEvent event, String status, String paymentDate, String amount,
+                                          String lateFee, String processingFee) {
+        String date = event.getPayloadString(paymentDate);
+        return new PaymentRevenue(event.getPayloadString(status),
+                date != null ? LocalDateTime.parse(date).toLocalDate() : null,
+                decimal(event, amount), decimal(event, lateFee), decimal(event, processingFee));
+    }
+    
+    // Amounts come back from JSON as Integer or Double; go through the string form to keep the cents exact
+    private static BigDecimal decimal(DomainEvent event, String key) {
+        String value = event.getPayloadString(key);
+        return value != null ? new BigDecimal(value) : null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.proaim.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rate-limits repetitive log lines by key: the first `burst` occurrences of a key
+// in each window are logged, the rest are only counted. The first line of the next
+// window carries the number suppressed, so a storm of identical failures (expired
+// tokens, unauthenticated calls) costs one counter increment per event instead of
+// a formatted, encoded and written log line.
+public class ThrottledLogger {
+    
+    private final Logger logger;
+    private final long windowNanos;
+    private final int burst;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    
+    public ThrottledLogger(Logger logger, long window, TimeUnit unit, int burst) {
+        this.logger = logger;
+        this.windowNanos = unit.toNanos(window);
+        this.burst = burst;
+    }
+    
+    public void warn(String key, String format, Object... args) {
+        log(Level.WARN, key, format, args);
+    }
+    
+    public void error(String key, String format, Object... args) {
+        log(Level.ERROR, key, format, args);
+    }
+    
+    private void log(Level level, String key, String format, Object... args) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(key, k -> new Window(System.nanoTime()));
+        long suppressed = window.roll(System.nanoTime(), windowNanos, burst);
+        if (window.count.incrementAndGet() > burst) {
+            return;
+        }
+        if (suppressed > 0) {
+            logger.atLevel(level)
+                    .addKeyValue("throttle.key", key)
+                    .addKeyValue("throttle.suppressed", suppressed)
+                    .log(format + " ({} similar suppressed in the previous {}s)",
+                            append(args, suppressed, TimeUnit.NANOSECONDS.toSeconds(windowNanos)));
+        } else {
+            logger.atLevel(level).log(format, args);
+        }
+    }
+    
+    private static Object[] append(Object[] args, Object... extra) {
+        Object[] all = new Object[args.length + extra.length];
+        System.arraycopy(args, 0, all, 0, args.length);
+        System.arraycopy(extra, 0, all, args.length, extra.length);
+        return all;
+    }
+    
+    private static final class Window {
+        
+        private volatile long start;
+        private final AtomicLong count = new AtomicLong();
+        
+        private Window(long start) {
+            this.start = start;
+        }
+        
+        // Starts a new window once the current one has elapsed; returns how many were suppressed in it
+        private long roll(long now, long windowNanos, int burst) {
+            if (now - start < windowNanos) {
+                return 0;
+            }
+            synchronized (this) {
+                if (now - start < windowNanos) {
+                    return 0;
+                }
+                start = now;
+                return Math.max(0, count.getAndSet(0) - burst);
+            }
+        }
+    }
+}
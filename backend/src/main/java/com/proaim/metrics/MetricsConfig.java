@@ -0,0 +1,22 @@
+package com.proaim.metrics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Application-level meters on top of what actuator binds on its own:
+// http.server.requests, spring.data.repository.invocations, hikaricp.*, hibernate.*
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+public class MetricsConfig {
+    
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(StatementMonitor statementMonitor) {
+        FilterRegistrationBean<RequestStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatementMetricsFilter(statementMonitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.proaim.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Opens and closes the per-request statement window of StatementMonitor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+    
+    private final StatementMonitor statementMonitor;
+    
+    public RequestStatementMetricsFilter(StatementMonitor statementMonitor) {
+        this.statementMonitor = statementMonitor;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        statementMonitor.begin(request);
+        String budgetExceeded;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            budgetExceeded = statementMonitor.end();
+        }
+        if (budgetExceeded != null) {
+            throw new StatementBudgetExceededException(budgetExceeded);
+        }
+    }
+}
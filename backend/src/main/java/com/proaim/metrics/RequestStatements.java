@@ -0,0 +1,81 @@
+package com.proaim.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Statements issued by the request currently running on this thread. One instance
+// per thread is reused across requests; the map keeps SELECT texts for N+1 checks.
+final class RequestStatements {
+    
+    private static final int MAX_RETAINED_SHAPES = 256;
+    
+    private HttpServletRequest request;
+    private int count;
+    private long elapsedMs;
+    private Map<String, int[]> selects = new HashMap<>();
+    
+    void reset(HttpServletRequest request) {
+        this.request = request;
+        this.count = 0;
+        this.elapsedMs = 0;
+        if (selects.size() > MAX_RETAINED_SHAPES) {
+            selects = new HashMap<>();
+        } else {
+            selects.clear();
+        }
+    }
+    
+    void clear() {
+        request = null;
+    }
+    
+    void record(List<QueryInfo> queries, long elapsedMs) {
+        count += queries.size();
+        this.elapsedMs += elapsedMs;
+        for (QueryInfo query : queries) {
+            String sql = query.getQuery();
+            if (isSelect(sql)) {
+                selects.computeIfAbsent(sql, key -> new int[1])[0]++;
+            }
+        }
+    }
+    
+    private static boolean isSelect(String sql) {
+        int start = 0;
+        if (sql.startsWith("/*")) {
+            start = sql.indexOf("*/") + 2;
+            while (start < sql.length() && sql.charAt(start) == ' ') {
+                start++;
+            }
+        }
+        return sql.regionMatches(true, start, "select", 0, 6);
+    }
+    
+    // Matched handler pattern once the dispatcher has mapped the request; UNMAPPED before
+    // that and for requests that never reach a handler (rejected by security, 404s)
+    String route() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String ? (String) pattern : "UNMAPPED";
+    }
+    
+    String method() {
+        return request.getMethod();
+    }
+    
+    int getCount() {
+        return count;
+    }
+    
+    long getElapsedMs() {
+        return elapsedMs;
+    }
+    
+    Map<String, int[]> getSelects() {
+        return selects;
+    }
+}
@@ -0,0 +1,97 @@
+package com.proaim.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// sql.monitor.* settings; bound as a class because budgets are a map keyed by route
+@ConfigurationProperties(prefix = "sql.monitor")
+public class SqlMonitorProperties {
+    
+    // Share of statements written to the SQL log (0 = none, 1 = all)
+    private double sampleRate = 0.0;
+    
+    private long slowThresholdMs = 200;
+    
+    // The same SELECT this many times in one request is reported as N+1
+    private int repeatedSelectThreshold = 5;
+    
+    private int logQueueSize = 10000;
+    
+    private int maxSqlLength = 500;
+    
+    // Prefix statements with /* METHOD route */ so database-side logs show the caller
+    private boolean commentRoute = false;
+    
+    // Statement budget per route pattern, e.g. sql.monitor.budgets[/api/properties/{id}]=3
+    private Map<String, Integer> budgets = new LinkedHashMap<>();
+    
+    // Throw instead of only logging when a budget is exceeded (meant for tests)
+    private boolean failOnBudgetExceeded = false;
+    
+    // Getters and Setters
+    public double getSampleRate() {
+        return sampleRate;
+    }
+    
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+    
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+    
+    public int getRepeatedSelectThreshold() {
+        return repeatedSelectThreshold;
+    }
+    
+    public void setRepeatedSelectThreshold(int repeatedSelectThreshold) {
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+    
+    public int getLogQueueSize() {
+        return logQueueSize;
+    }
+    
+    public void setLogQueueSize(int logQueueSize) {
+        this.logQueueSize = logQueueSize;
+    }
+    
+    public int getMaxSqlLength() {
+        return maxSqlLength;
+    }
+    
+    public void setMaxSqlLength(int maxSqlLength) {
+        this.maxSqlLength = maxSqlLength;
+    }
+    
+    public boolean isCommentRoute() {
+        return commentRoute;
+    }
+    
+    public void setCommentRoute(boolean commentRoute) {
+        this.commentRoute = commentRoute;
+    }
+    
+    public Map<String, Integer> getBudgets() {
+        return budgets;
+    }
+    
+    public void setBudgets(Map<String, Integer> budgets) {
+        this.budgets = budgets;
+    }
+    
+    public boolean isFailOnBudgetExceeded() {
+        return failOnBudgetExceeded;
+    }
+    
+    public void setFailOnBudgetExceeded(boolean failOnBudgetExceeded) {
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+}
@@ -0,0 +1,10 @@
+package com.proaim.metrics;
+
+// Thrown when sql.monitor.fail-on-budget-exceeded is on and a request issues more
+// statements than its route's budget allows
+public class StatementBudgetExceededException extends IllegalStateException {
+    
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,195 @@
+package com.proaim.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.transform.QueryTransformer;
+import net.ttddyy.dsproxy.transform.TransformInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Listener on the JDBC proxy around the application DataSource. Counts statements
+// per request, flags slow statements and repeated SELECTs (N+1), and writes a
+// sampled SQL log from a background thread instead of show-sql's synchronous stdout.
+@Component
+public class StatementMonitor implements QueryExecutionListener, QueryTransformer {
+    
+    private static final Logger logger = LoggerFactory.getLogger("com.proaim.sql");
+    private static final String BACKGROUND = "background";
+    
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<RequestStatements> REUSABLE = ThreadLocal.withInitial(RequestStatements::new);
+    
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> statementsPerRequest = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowStatements = new ConcurrentHashMap<>();
+    private final Map<String, Counter> repeatedSelects = new ConcurrentHashMap<>();
+    private final Map<String, Counter> budgetsExceeded = new ConcurrentHashMap<>();
+    private final Counter droppedLogLines;
+    
+    private final BlockingQueue<LogLine> logQueue;
+    private final Thread logWriter;
+    
+    public StatementMonitor(SqlMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.droppedLogLines = Counter.builder("sql.monitor.log.dropped")
+                .description("SQL log lines dropped because the log queue was full")
+                .register(meterRegistry);
+        this.logQueue = new ArrayBlockingQueue<>(properties.getLogQueueSize());
+        this.logWriter = new Thread(this::writeLog, "sql-monitor-log");
+        this.logWriter.setDaemon(true);
+        this.logWriter.start();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        logWriter.interrupt();
+    }
+    
+    // Request lifecycle, driven by RequestStatementMetricsFilter
+    
+    void begin(HttpServletRequest request) {
+        RequestStatements statements = REUSABLE.get();
+        statements.reset(request);
+        CURRENT.set(statements);
+    }
+    
+    // Records the request's totals; returns a message when the budget was exceeded and should fail the request
+    String end() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        if (statements == null) {
+            return null;
+        }
+        try {
+            String route = statements.route();
+            statementsPerRequest.computeIfAbsent(route, this::statementsPerRequestSummary).record(statements.getCount());
+            
+            for (Map.Entry<String, int[]> select : statements.getSelects().entrySet()) {
+                int executions = select.getValue()[0];
+                if (executions >= properties.getRepeatedSelectThreshold()) {
+                    repeatedSelects.computeIfAbsent(route, uri -> counter("sql.repeated.selects", uri,
+                            "Requests that ran the same SELECT at least sql.monitor.repeated-select-threshold times")).increment();
+                    log(true, "Possible N+1 in " + statements.method() + " " + route + ": " + executions
+                            + " executions of " + truncate(select.getKey()));
+                }
+            }
+            
+            Integer budget = properties.getBudgets().get(route);
+            if (budget != null && statements.getCount() > budget) {
+                budgetsExceeded.computeIfAbsent(route, uri -> counter("sql.budget.exceeded", uri,
+                        "Requests that issued more statements than their route's budget")).increment();
+                String message = statements.method() + " " + route + " issued " + statements.getCount()
+                        + " statements, budget is " + budget;
+                log(true, message);
+                return properties.isFailOnBudgetExceeded() ? message : null;
+            }
+            return null;
+        } finally {
+            statements.clear();
+        }
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatements statements = CURRENT.get();
+        long elapsedMs = execInfo.getElapsedTime();
+        if (statements != null) {
+            statements.record(queryInfoList, elapsedMs);
+        }
+        
+        boolean slow = elapsedMs >= properties.getSlowThresholdMs();
+        if (slow) {
+            slowStatements.computeIfAbsent(route(statements), uri -> counter("sql.slow.statements", uri,
+                    "Statements slower than sql.monitor.slow-threshold-ms")).increment();
+        }
+        if (slow || (properties.getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate())) {
+            if (slow ? logger.isWarnEnabled() : logger.isInfoEnabled()) {
+                StringBuilder line = new StringBuilder(slow ? "Slow SQL " : "SQL ")
+                        .append(elapsedMs).append(" ms [")
+                        .append(statements != null ? statements.method() + " " + statements.route() : BACKGROUND).append("]");
+                if (execInfo.isBatch()) {
+                    line.append(" batch of ").append(execInfo.getBatchSize());
+                }
+                for (QueryInfo query : queryInfoList) {
+                    line.append(' ').append(truncate(query.getQuery()));
+                }
+                log(slow, line.toString());
+            }
+        }
+    }
+    
+    // Prefixes /* METHOD route */ when sql.monitor.comment-route is on
+    @Override
+    public String transformQuery(TransformInfo transformInfo) {
+        String query = transformInfo.getQuery();
+        RequestStatements statements = properties.isCommentRoute() ? CURRENT.get() : null;
+        if (statements == null) {
+            return query;
+        }
+        return "/* " + statements.method() + " " + statements.route().replace("*", "%") + " */ " + query;
+    }
+    
+    private String route(RequestStatements statements) {
+        return statements != null ? statements.route() : BACKGROUND;
+    }
+    
+    private DistributionSummary statementsPerRequestSummary(String uri) {
+        return DistributionSummary.builder("jdbc.statements.per.request")
+                .description("JDBC statements executed while serving one request")
+                .baseUnit("statements")
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+    
+    private Counter counter(String name, String uri, String description) {
+        return Counter.builder(name).description(description).tag("uri", uri).register(meterRegistry);
+    }
+    
+    private String truncate(String sql) {
+        return sql.length() <= properties.getMaxSqlLength() ? sql : sql.substring(0, properties.getMaxSqlLength()) + "...";
+    }
+    
+    // Never blocks the caller: a full queue drops the line and counts it
+    private void log(boolean warn, String message) {
+        if (!logQueue.offer(new LogLine(warn, message))) {
+            droppedLogLines.increment();
+        }
+    }
+    
+    private void writeLog() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                LogLine line = logQueue.take();
+                if (line.warn()) {
+                    logger.warn(line.message());
+                } else {
+                    logger.info(line.message());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private record LogLine(boolean warn, String message) {}
+}
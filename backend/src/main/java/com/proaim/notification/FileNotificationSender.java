@@ -0,0 +1,38 @@
+package com.proaim.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Local stand-in for an email gateway: appends each digest to a file
+@Component
+public class FileNotificationSender implements NotificationSender {
+    
+    @Value("${notifications.email.file:notifications-email.log}")
+    private String file;
+    
+    @Override
+    public NotificationChannel getChannel() {
+        return NotificationChannel.EMAIL;
+    }
+    
+    @Override
+    public synchronized void send(Long recipientId, List<Notification> digest) throws IOException {
+        StringBuilder out = new StringBuilder();
+        out.append("To user ").append(recipientId).append(" (").append(digest.size()).append(" updates)\n");
+        for (Notification notification : digest) {
+            out.append("  [").append(notification.getCreatedAt()).append("] ")
+                    .append(notification.getSubject()).append(" - ").append(notification.getBody()).append('\n');
+        }
+        Path path = Paths.get(file);
+        Files.writeString(path, out, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
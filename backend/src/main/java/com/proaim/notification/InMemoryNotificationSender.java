@@ -0,0 +1,49 @@
+package com.proaim.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-app notifications: keeps the most recent messages per recipient in memory
+@Component
+public class InMemoryNotificationSender implements NotificationSender {
+    
+    @Value("${notifications.in-app.max-per-recipient:50}")
+    private int maxPerRecipient;
+    
+    private final Map<Long, Deque<Notification>> inboxes = new ConcurrentHashMap<>();
+    
+    @Override
+    public NotificationChannel getChannel() {
+        return NotificationChannel.IN_APP;
+    }
+    
+    @Override
+    public void send(Long recipientId, List<Notification> digest) {
+        Deque<Notification> inbox = inboxes.computeIfAbsent(recipientId, id -> new ArrayDeque<>());
+        synchronized (inbox) {
+            for (Notification notification : digest) {
+                inbox.addFirst(notification);
+                if (inbox.size() > maxPerRecipient) {
+                    inbox.removeLast();
+                }
+            }
+        }
+    }
+    
+    public List<Notification> getRecent(Long recipientId) {
+        Deque<Notification> inbox = inboxes.get(recipientId);
+        if (inbox == null) {
+            return List.of();
+        }
+        synchronized (inbox) {
+            return new ArrayList<>(inbox);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.proaim.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the open server-sent event streams and fans status changes out to them.
+// Streams are async servlet requests, so an idle connection holds no thread, only
+// an emitter and an empty buffer. Each connection buffers a bounded number of
+// pending events. A client that falls a full buffer behind, or whose send stalls,
+// is disconnected. It can reconnect and re-read current state over REST, and it
+// no longer holds up the shared writer threads.
+// A user's connections are kept as an immutable list in connection order, replaced
+// inside a single compute() on every change so subscribe and remove cannot race.
+@Component
+public class LiveFeedHub {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeedHub.class);
+    
+    @Value("${live-feed.buffer-size:32}")
+    private int bufferSize;
+    
+    @Value("${live-feed.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+    
+    @Value("${live-feed.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${live-feed.writer-threads:2}")
+    private int writerThreads;
+    
+    @Value("${live-feed.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong droppedConnections = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private ExecutorService writers;
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-feed-writer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void stop() {
+        writers.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(c -> c.emitter.complete()));
+    }
+    
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        List<Connection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, current) -> {
+            List<Connection> next = current == null ? new ArrayList<>() : new ArrayList<>(current);
+            // Oldest tab loses its stream rather than refusing the new one
+            while (!next.isEmpty() && next.size() >= maxConnectionsPerUser) {
+                evicted.add(next.remove(0));
+                openConnections.decrementAndGet();
+            }
+            next.add(connection);
+            openConnections.incrementAndGet();
+            return List.copyOf(next);
+        });
+        evicted.forEach(Connection::close);
+        
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+        return emitter;
+    }
+    
+    public void publish(Long userId, String eventName, Object data) {
+        if (userId == null) {
+            return;
+        }
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .id(String.valueOf(eventIds.incrementAndGet()))
+                .name(eventName)
+                .data(data, MediaType.APPLICATION_JSON);
+        for (Connection connection : userConnections) {
+            connection.offer(event);
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("openConnections", openConnections.get());
+        stats.put("connectedUsers", connections.size());
+        stats.put("droppedEvents", droppedEvents.get());
+        stats.put("droppedConnections", droppedConnections.get());
+        return stats;
+    }
+    
+    // Keeps proxies from closing idle streams, finds connections that went away and
+    // drops those whose send has been blocked on a client that stopped reading
+    @Scheduled(fixedDelayString = "${live-feed.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+        long stalledBefore = System.currentTimeMillis() - sendTimeoutMs;
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                long sendStarted = connection.sendStartedAt;
+                if (sendStarted != 0 && sendStarted < stalledBefore) {
+                    connection.drop("send stalled for more than " + sendTimeoutMs + " ms");
+                } else {
+                    connection.offer(ping);
+                }
+            }
+        }
+    }
+    
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, current) -> {
+            if (!current.contains(connection)) {
+                return current;
+            }
+            openConnections.decrementAndGet();
+            List<Connection> next = new ArrayList<>(current);
+            next.remove(connection);
+            return next.isEmpty() ? null : List.copyOf(next);
+        });
+    }
+    
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Start of the send in progress, 0 when the writer is not blocked on this client
+        private volatile long sendStartedAt;
+        
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (buffer) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    drop("fell " + bufferSize + " events behind");
+                    return;
+                }
+                buffer.addLast(event);
+            }
+            scheduleDrain();
+        }
+        
+        // Slow consumer: stop buffering for it and let the writer close the stream
+        void drop(String reason) {
+            logger.debug("Dropping live feed for user {}: {}", userId, reason);
+            droppedConnections.incrementAndGet();
+            remove(this);
+            close();
+        }
+        
+        // The emitter is completed on the writer, never here: complete() waits for a
+        // send in progress to return, and that send may be blocked on the client
+        void close() {
+            synchronized (buffer) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                droppedEvents.addAndGet(buffer.size());
+                buffer.clear();
+            }
+            scheduleDrain();
+        }
+        
+        // At most one writer task per connection keeps events in order
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                while (true) {
+                    SseEmitter.SseEventBuilder next;
+                    synchronized (buffer) {
+                        next = buffer.pollFirst();
+                        if (next == null) {
+                            draining.set(false);
+                            if (closed) {
+                                emitter.complete();
+                            }
+                            return;
+                        }
+                    }
+                    sendStartedAt = System.currentTimeMillis();
+                    try {
+                        emitter.send(next);
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Closing live feed for user {}: {}", userId, e.getMessage());
+                synchronized (buffer) {
+                    closed = true;
+                    buffer.clear();
+                }
+                remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.proaim.notification;
+
+import com.proaim.event.DomainEvent;
+import com.proaim.event.NodeStateSubscriber;
+import com.proaim.event.EventTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Pushes application, agreement and payment changes to the tenant's and
+// landlord's live feeds open on this node; every node gets every event
+@Component
+public class LiveFeedSubscriber implements NodeStateSubscriber {
+    
+    @Autowired
+    private LiveFeedHub liveFeedHub;
+    
+    @Override
+    public boolean supports(DomainEvent event) {
+        return EventTypes.APPLICATION.equals(event.getAggregateType())
+                || EventTypes.AGREEMENT.equals(event.getAggregateType())
+                || EventTypes.PAYMENT.equals(event.getAggregateType());
+    }
+    
+    @Override
+    public void onEvent(DomainEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("eventType", event.getEventType());
+        data.put("aggregateType", event.getAggregateType());
+        data.put("aggregateId", event.getAggregateId());
+        data.put("status", event.getPayloadString("status"));
+        data.put("occurredAt", String.valueOf(event.getCreatedAt()));
+        
+        String eventName = event.getAggregateType().toLowerCase();
+        Long tenantId = event.getPayloadLong("tenantId");
+        Long landlordId = event.getPayloadLong("landlordId");
+        liveFeedHub.publish(tenantId, eventName, data);
+        if (!Objects.equals(tenantId, landlordId)) {
+            liveFeedHub.publish(landlordId, eventName, data);
+        }
+    }
+}
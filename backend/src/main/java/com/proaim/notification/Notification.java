@@ -0,0 +1,40 @@
+package com.proaim.notification;
+
+import java.time.LocalDateTime;
+
+// A single message for one recipient. Notifications with the same coalesce key
+// for the same recipient replace each other while waiting to be sent.
+public class Notification {
+    
+    // Row in queued_notifications; null until the notification was accepted
+    private final Long id;
+    private final Long recipientId;
+    private final NotificationChannel channel;
+    private final String coalesceKey;
+    private final String subject;
+    private final String body;
+    private final LocalDateTime createdAt;
+    
+    public Notification(Long recipientId, NotificationChannel channel, String coalesceKey, String subject, String body) {
+        this(null, recipientId, channel, coalesceKey, subject, body, LocalDateTime.now());
+    }
+    
+    Notification(Long id, Long recipientId, NotificationChannel channel, String coalesceKey, String subject, String body,
+                 LocalDateTime createdAt) {
+        this.id = id;
+        this.recipientId = recipientId;
+        this.channel = channel;
+        this.coalesceKey = coalesceKey;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() { return id; }
+    public Long getRecipientId() { return recipientId; }
+    public NotificationChannel getChannel() { return channel; }
+    public String getCoalesceKey() { return coalesceKey; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,5 @@
+package com.proaim.notification;
+
+public enum NotificationChannel {
+    EMAIL, IN_APP
+}
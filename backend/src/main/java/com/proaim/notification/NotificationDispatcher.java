@@ -0,0 +1,356 @@
+package com.proaim.notification;
+
+import com.proaim.entity.QueuedNotification;
+import com.proaim.repository.QueuedNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collects notifications per recipient and channel and sends them as digests.
+// accept() stores notifications in queued_notifications and returns once they are
+// committed; one already stored for the same event, recipient and channel is not
+// stored again, so a redelivered event queues nothing twice. Each flush leases a
+// batch of unsent rows to this node (SKIP LOCKED, so nodes share the queue), folds
+// them into in-memory digests, asks the channel's token bucket for permission and
+// hands the digest to a sender thread, which marks its rows sent. Recipients the
+// bucket can't serve this round wait for the next flush, which also gives them more
+// time to coalesce; their leases are renewed meanwhile. A digest that failed to send,
+// or was lost in a restart, is picked up again once its lease has run out.
+@Component
+public class NotificationDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    
+    @Autowired
+    private List<NotificationSender> senderBeans;
+    
+    @Autowired
+    private QueuedNotificationRepository queuedNotificationRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${notifications.max-digest-size:20}")
+    private int maxDigestSize;
+    
+    @Value("${notifications.sender-threads:2}")
+    private int senderThreads;
+    
+    @Value("${notifications.sender-queue-size:1000}")
+    private int senderQueueSize;
+    
+    @Value("${notifications.rate.email.capacity:20}")
+    private double emailCapacity;
+    
+    @Value("${notifications.rate.email.per-second:5}")
+    private double emailPerSecond;
+    
+    @Value("${notifications.rate.in-app.capacity:200}")
+    private double inAppCapacity;
+    
+    @Value("${notifications.rate.in-app.per-second:100}")
+    private double inAppPerSecond;
+    
+    // Recipients (per channel) with an unsent digest in memory before flushes stop claiming more
+    @Value("${notifications.max-pending-recipients:100000}")
+    private int maxPendingRecipients;
+    
+    @Value("${notifications.claim-batch-size:500}")
+    private int claimBatchSize;
+    
+    @Value("${notifications.lease-ms:300000}")
+    private long leaseMs;
+    
+    @Value("${notifications.retention-hours:24}")
+    private int retentionHours;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<RecipientKey, Digest> pending = new ConcurrentHashMap<>();
+    private final Map<NotificationChannel, NotificationSender> senders = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, TokenBucket> buckets = new EnumMap<>(NotificationChannel.class);
+    
+    // Queued rows held in this node's digests -> when their lease runs out
+    private final Map<Long, LocalDateTime> held = new ConcurrentHashMap<>();
+    
+    private ThreadPoolExecutor senderPool;
+    private Counter rejectedDigests;
+    
+    @PostConstruct
+    public void start() {
+        for (NotificationSender sender : senderBeans) {
+            senders.put(sender.getChannel(), sender);
+        }
+        buckets.put(NotificationChannel.EMAIL, new TokenBucket(emailCapacity, emailPerSecond));
+        buckets.put(NotificationChannel.IN_APP, new TokenBucket(inAppCapacity, inAppPerSecond));
+        
+        AtomicInteger threadIndex = new AtomicInteger();
+        // A full queue rejects the digest, which goes back to pending for a later flush;
+        // sending on the flushing (scheduler) thread instead would stall every other job
+        senderPool = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-sender-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("notifications.pending.recipients", pending, Map::size)
+                .description("Recipients with an unsent digest, per channel")
+                .register(meterRegistry);
+        Gauge.builder("notifications.held", held, Map::size)
+                .description("Queued notifications leased to this node and not sent yet")
+                .register(meterRegistry);
+        rejectedDigests = Counter.builder("notifications.digests.deferred")
+                .description("Digests put back for a later flush because the sender queue was full")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        senderPool.shutdown();
+    }
+    
+    // Stores the notifications an event raised; eventId is null for notifications sent directly
+    @Transactional
+    public void accept(Long eventId, List<Notification> notifications) {
+        Set<String> stored = new HashSet<>();
+        if (eventId != null) {
+            for (QueuedNotification row : queuedNotificationRepository.findByEventId(eventId)) {
+                stored.add(row.getRecipientId() + ":" + row.getChannel());
+            }
+        }
+        List<QueuedNotification> rows = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (notification.getRecipientId() == null || !senders.containsKey(notification.getChannel())) {
+                continue;
+            }
+            if (eventId == null || stored.add(notification.getRecipientId() + ":" + notification.getChannel())) {
+                rows.add(new QueuedNotification(eventId, notification.getRecipientId(), notification.getChannel(),
+                        notification.getCoalesceKey(), notification.getSubject(), notification.getBody()));
+            }
+        }
+        queuedNotificationRepository.saveAll(rows);
+    }
+    
+    public int getPendingRecipients() {
+        return pending.size();
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.digest-interval-ms:5000}")
+    public void flush() {
+        renewLeases();
+        claim();
+        for (RecipientKey key : pending.keySet()) {
+            if (!buckets.get(key.channel).tryAcquire()) {
+                continue;
+            }
+            Digest digest = pending.remove(key);
+            if (digest == null || digest.isEmpty()) {
+                continue;
+            }
+            try {
+                senderPool.execute(() -> send(key, digest));
+            } catch (RejectedExecutionException e) {
+                // Senders are saturated: keep the digest and stop this round
+                rejectedDigests.increment();
+                pending.merge(key, digest, (newer, older) -> older.mergeNewer(newer, maxDigestSize));
+                break;
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.cleanup-interval-ms:3600000}")
+    public void purgeSent() {
+        int deleted = queuedNotificationRepository.deleteSentBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.debug("Purged {} sent notifications", deleted);
+        }
+    }
+    
+    // Leases a batch of unsent notifications to this node and adds them to the digests
+    private void claim() {
+        if (pending.size() >= maxPendingRecipients) {
+            return;
+        }
+        LocalDateTime until = LocalDateTime.now().plus(Duration.ofMillis(leaseMs));
+        List<QueuedNotification> rows = transactionTemplate.execute(status -> {
+            List<QueuedNotification> claimable = queuedNotificationRepository.findClaimable(LocalDateTime.now(),
+                    PageRequest.of(0, claimBatchSize));
+            if (!claimable.isEmpty()) {
+                queuedNotificationRepository.lease(claimable.stream().map(QueuedNotification::getId).toList(), until);
+            }
+            return claimable;
+        });
+        if (rows == null) {
+            return;
+        }
+        for (QueuedNotification row : rows) {
+            // Already in a digest here; its lease ran out before it could be renewed
+            if (held.put(row.getId(), until) != null) {
+                continue;
+            }
+            add(new Notification(row.getId(), row.getRecipientId(), row.getChannel(), row.getCoalesceKey(),
+                    row.getSubject(), row.getBody(), row.getCreatedAt()));
+        }
+    }
+    
+    // Extends the leases of held notifications that are about to run out
+    private void renewLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime soon = now.plus(Duration.ofMillis(leaseMs / 2));
+        List<Long> expiring = new ArrayList<>();
+        held.forEach((id, until) -> {
+            if (until.isBefore(soon)) {
+                expiring.add(id);
+            }
+        });
+        LocalDateTime until = now.plus(Duration.ofMillis(leaseMs));
+        for (int i = 0; i < expiring.size(); i += claimBatchSize) {
+            List<Long> ids = expiring.subList(i, Math.min(i + claimBatchSize, expiring.size()));
+            queuedNotificationRepository.lease(ids, until);
+            ids.forEach(id -> held.replace(id, until));
+        }
+    }
+    
+    private void add(Notification notification) {
+        RecipientKey key = new RecipientKey(notification.getRecipientId(), notification.getChannel());
+        pending.compute(key, (k, digest) -> {
+            if (digest == null) {
+                digest = new Digest();
+            }
+            digest.add(notification, maxDigestSize);
+            return digest;
+        });
+    }
+    
+    private void send(RecipientKey key, Digest digest) {
+        List<Notification> notifications = digest.toList();
+        List<Long> ids = digest.ids();
+        try {
+            senders.get(key.channel).send(key.recipientId, notifications);
+            if (!ids.isEmpty()) {
+                queuedNotificationRepository.markSent(ids, LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to send {} notification(s) to user {} via {}, retrying after the lease: {}",
+                    notifications.size(), key.recipientId, key.channel, e.getMessage());
+        } finally {
+            ids.forEach(held::remove);
+        }
+    }
+    
+    // Latest notification per coalesce key, capped at the max digest size. Older entries
+    // pushed out by the cap are summarised as one "+N more" line; they and any replaced
+    // entries are marked sent together with the digest.
+    private static final class Digest {
+        private final LinkedHashMap<String, Notification> entries = new LinkedHashMap<>();
+        private final List<Notification> covered = new ArrayList<>();
+        private int overflow;
+        
+        void add(Notification notification, int maxSize) {
+            Notification replaced = entries.remove(notification.getCoalesceKey());
+            if (replaced != null) {
+                covered.add(replaced);
+            }
+            entries.put(notification.getCoalesceKey(), notification);
+            if (entries.size() > maxSize) {
+                Iterator<Notification> oldest = entries.values().iterator();
+                covered.add(oldest.next());
+                oldest.remove();
+                overflow++;
+            }
+        }
+        
+        // Folds a digest enqueued after this one into it
+        Digest mergeNewer(Digest newer, int maxSize) {
+            covered.addAll(newer.covered);
+            overflow += newer.overflow;
+            for (Notification notification : newer.entries.values()) {
+                add(notification, maxSize);
+            }
+            return this;
+        }
+        
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+        
+        List<Notification> toList() {
+            List<Notification> notifications = new ArrayList<>(entries.values());
+            if (overflow > 0) {
+                Notification last = notifications.get(notifications.size() - 1);
+                notifications.add(new Notification(last.getRecipientId(), last.getChannel(), "digest-overflow",
+                        "+" + overflow + " more",
+                        "+" + overflow + " more notification" + (overflow == 1 ? "" : "s") + " since your last update"));
+            }
+            return notifications;
+        }
+        
+        // Queued rows this digest settles, including replaced and overflowed ones
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            for (Notification notification : entries.values()) {
+                ids.add(notification.getId());
+            }
+            for (Notification notification : covered) {
+                ids.add(notification.getId());
+            }
+            ids.removeIf(Objects::isNull);
+            return ids;
+        }
+    }
+    
+    private static final class RecipientKey {
+        private final Long recipientId;
+        private final NotificationChannel channel;
+        
+        RecipientKey(Long recipientId, NotificationChannel channel) {
+            this.recipientId = recipientId;
+            this.channel = channel;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RecipientKey other)) return false;
+            return recipientId.equals(other.recipientId) && channel == other.channel;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(recipientId, channel);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.proaim.notification;
+
+import java.util.List;
+
+// Delivers a digest of notifications to one recipient over one channel.
+// Implementations may block; they are called off the request path.
+public interface NotificationSender {
+    
+    NotificationChannel getChannel();
+    
+    void send(Long recipientId, List<Notification> digest) throws Exception;
+}
@@ -0,0 +1,80 @@
+package com.proaim.notification;
+
+import com.proaim.event.DomainEvent;
+import com.proaim.event.DomainEventSubscriber;
+import com.proaim.event.EventTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Turns outbox events into notifications for the tenant and landlord involved.
+// Runs on the relay's lane threads, so requests never wait on notification work.
+// The event is done once its notifications are stored in the dispatcher's queue;
+// sending happens later, without holding up the event's aggregate.
+@Component
+public class NotificationSubscriber implements DomainEventSubscriber {
+    
+    private static final Set<String> NOTIFIED_EVENTS = Set.of(
+            EventTypes.APPLICATION_CREATED,
+            EventTypes.APPLICATION_STATUS_CHANGED,
+            EventTypes.PAYMENT_CREATED,
+            EventTypes.PAYMENT_UPDATED,
+            EventTypes.AGREEMENT_RENEWAL_REMINDER,
+            EventTypes.AGREEMENT_EXPIRED
+    );
+    
+    @Autowired
+    private NotificationDispatcher dispatcher;
+    
+    @Override
+    public boolean supports(DomainEvent event) {
+        return NOTIFIED_EVENTS.contains(event.getEventType());
+    }
+    
+    @Override
+    public void onEvent(DomainEvent event) {
+        // One entry per aggregate, so repeated updates collapse to the latest one
+        String coalesceKey = event.getAggregateType() + ":" + event.getAggregateId();
+        String status = event.getPayloadString("status");
+        List<Notification> notifications = new ArrayList<>();
+        
+        switch (event.getEventType()) {
+            case EventTypes.APPLICATION_CREATED -> notify(notifications, event.getPayloadLong("landlordId"), coalesceKey,
+                    "New application",
+                    "Application #" + event.getAggregateId() + " was submitted for property #" + event.getPayloadLong("propertyId"));
+            case EventTypes.APPLICATION_STATUS_CHANGED -> notify(notifications, event.getPayloadLong("tenantId"), coalesceKey,
+                    "Application " + status,
+                    "Your application #" + event.getAggregateId() + " is now " + status);
+            case EventTypes.PAYMENT_CREATED, EventTypes.PAYMENT_UPDATED -> {
+                String body = "Payment #" + event.getAggregateId() + " of " + event.getPayloadString("amount") + " is " + status;
+                notify(notifications, event.getPayloadLong("tenantId"), coalesceKey, "Payment " + status, body);
+                notify(notifications, event.getPayloadLong("landlordId"), coalesceKey, "Payment " + status, body);
+            }
+            case EventTypes.AGREEMENT_RENEWAL_REMINDER -> {
+                String body = "Agreement #" + event.getAggregateId() + " ends on " + event.getPayloadString("endDate");
+                notify(notifications, event.getPayloadLong("tenantId"), coalesceKey, "Agreement renewal", body);
+                notify(notifications, event.getPayloadLong("landlordId"), coalesceKey, "Agreement renewal", body);
+            }
+            case EventTypes.AGREEMENT_EXPIRED -> {
+                String body = "Agreement #" + event.getAggregateId() + " expired on " + event.getPayloadString("endDate");
+                notify(notifications, event.getPayloadLong("tenantId"), coalesceKey, "Agreement expired", body);
+                notify(notifications, event.getPayloadLong("landlordId"), coalesceKey, "Agreement expired", body);
+            }
+            default -> {
+            }
+        }
+        dispatcher.accept(event.getId(), notifications);
+    }
+    
+    private void notify(List<Notification> notifications, Long recipientId, String coalesceKey, String subject, String body) {
+        if (recipientId == null) {
+            return;
+        }
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            notifications.add(new Notification(recipientId, channel, coalesceKey, subject, body));
+        }
+    }
+}
@@ -3,14 +3,21 @@ package com.proaim.repository;
 import com.proaim.entity.Agreement;
 import com.proaim.entity.Property;
 import com.proaim.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -58,6 +65,50 @@ public interface AgreementRepository extends JpaRepository<Agreement, Long> {
             @Param("endDate") LocalDateTime endDate
     );
     
+    // Active agreements ending before a bound, for the lifecycle pipeline's time index
+    @Query("SELECT a.id AS id, a.endDate AS endDate FROM Agreement a " +
+           "WHERE a.status = 'ACTIVE' AND a.endDate >= :from AND a.endDate < :until")
+    List<LifecycleDeadline> findLifecycleDeadlines(
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
+    );
+    
+    // Locks those of the given agreements no other transaction holds, until the caller
+    // commits; rows locked elsewhere are skipped (SKIP LOCKED where the dialect supports it)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT a.id FROM Agreement a WHERE a.id IN :ids")
+    List<Long> lockAvailable(@Param("ids") Collection<Long> ids);
+    
+    // Agreements among ids that are due a renewal reminder and have not had one
+    @Query("SELECT a.id AS id, a.tenant.id AS tenantId, a.landlord.id AS landlordId, a.endDate AS endDate " +
+           "FROM Agreement a WHERE a.id IN :ids AND a.status = 'ACTIVE' " +
+           "AND a.renewalReminderSentAt IS NULL AND a.endDate <= :reminderCutoff")
+    List<LifecycleRecipient> findDueRenewalReminders(
+            @Param("ids") Collection<Long> ids,
+            @Param("reminderCutoff") LocalDateTime reminderCutoff
+    );
+    
+    // Agreements among ids that are still active past their end date
+    @Query("SELECT a.id AS id, a.tenant.id AS tenantId, a.landlord.id AS landlordId, a.endDate AS endDate " +
+           "FROM Agreement a WHERE a.id IN :ids AND a.status = 'ACTIVE' AND a.endDate <= :now")
+    List<LifecycleRecipient> findDueExpirations(
+            @Param("ids") Collection<Long> ids,
+            @Param("now") LocalDateTime now
+    );
+    
+    // Batch-mark renewal reminders as sent
+    @Modifying
+    @Query("UPDATE Agreement a SET a.renewalReminderSentAt = :sentAt, a.updatedAt = :sentAt " +
+           "WHERE a.id IN :ids AND a.renewalReminderSentAt IS NULL")
+    int markRenewalRemindersSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    // Batch-expire active agreements
+    @Modifying
+    @Query("UPDATE Agreement a SET a.status = 'EXPIRED', a.updatedAt = :expiredAt " +
+           "WHERE a.id IN :ids AND a.status = 'ACTIVE'")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("expiredAt") LocalDateTime expiredAt);
+    
     // Find agreements by lease term
     List<Agreement> findByLeaseTermMonths(Integer leaseTermMonths);
     
@@ -148,4 +199,18 @@ public interface AgreementRepository extends JpaRepository<Agreement, Long> {
     // Find agreements by smoking policy
     @Query("SELECT a FROM Agreement a WHERE a.smokingPolicy LIKE %:smokingPolicy%")
     List<Agreement> findBySmokingPolicyContaining(@Param("smokingPolicy") String smokingPolicy);
+    
+    // Projection for findLifecycleDeadlines
+    interface LifecycleDeadline {
+        Long getId();
+        LocalDateTime getEndDate();
+    }
+    
+    // Projection for findDueRenewalReminders and findDueExpirations
+    interface LifecycleRecipient {
+        Long getId();
+        Long getTenantId();
+        Long getLandlordId();
+        LocalDateTime getEndDate();
+    }
 }
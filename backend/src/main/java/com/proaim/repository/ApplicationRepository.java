@@ -3,8 +3,12 @@ package com.proaim.repository;
 import com.proaim.entity.Application;
 import com.proaim.entity.Property;
 import com.proaim.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,13 +29,20 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     // Find applications by status
     List<Application> findByStatus(Application.ApplicationStatus status);
     
-    // Find applications by landlord (through property)
-    @Query("SELECT a FROM Application a JOIN a.property p WHERE p.landlord = :landlord")
-    List<Application> findByLandlord(@Param("landlord") User landlord);
+    // Find applications by landlord (denormalized from property)
+    List<Application> findByLandlordId(Long landlordId);
     
-    // Find pending applications for a landlord
-    @Query("SELECT a FROM Application a JOIN a.property p WHERE p.landlord = :landlord AND a.status = 'PENDING'")
-    List<Application> findPendingApplicationsByLandlord(@Param("landlord") User landlord);
+    // Find applications for a landlord by status
+    List<Application> findByLandlordIdAndStatus(Long landlordId, Application.ApplicationStatus status);
+    
+    // Keyset-paginated landlord inbox
+    Window<Application> findByLandlordIdAndStatus(
+            Long landlordId,
+            Application.ApplicationStatus status,
+            ScrollPosition position,
+            Sort sort,
+            Limit limit
+    );
     
     // Find applications by tenant and status
     List<Application> findByTenantAndStatus(User tenant, Application.ApplicationStatus status);
@@ -65,6 +76,22 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     // Find applications with pets
     List<Application> findByPetsCountGreaterThan(Integer petsCount);
     
+    // Find applications by occupants count
+    List<Application> findByOccupantsCount(Integer occupantsCount);
+    
+    // Find applications by listing
+    List<Application> findByListingId(Long listingId);
+    
+    // Load only the columns the scoring model reads for a property's applications
+    @Query("SELECT a.id AS id, a.monthlyIncome AS monthlyIncome, a.creditScore AS creditScore, " +
+           "a.occupantsCount AS occupantsCount, a.petsCount AS petsCount, " +
+           "LENGTH(a.rentalHistory) AS rentalHistoryLength " +
+           "FROM Application a WHERE a.property.id = :propertyId AND a.status = :status")
+    List<ScoringInput> findScoringInputs(
+            @Param("propertyId") Long propertyId,
+            @Param("status") Application.ApplicationStatus status
+    );
+    
     // Find applications by employment status
     List<Application> findByEmploymentStatus(String employmentStatus);
     
@@ -97,9 +124,22 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     // Count applications by property
     Long countByProperty(Property property);
     
-    // Count pending applications for a landlord
-    @Query("SELECT COUNT(a) FROM Application a JOIN a.property p WHERE p.landlord = :landlord AND a.status = 'PENDING'")
-    Long countPendingApplicationsByLandlord(@Param("landlord") User landlord);
+    // Count applications by landlord
+    Long countByLandlordId(Long landlordId);
+    
+    // Count applications for a landlord by status
+    Long countByLandlordIdAndStatus(Long landlordId, Application.ApplicationStatus status);
+    
+    // Count total, pending, overdue and pet-owning applications in a single pass
+    @Query("SELECT COUNT(a) AS total, " +
+           "COALESCE(SUM(CASE WHEN a.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pending, " +
+           "COALESCE(SUM(CASE WHEN a.status = 'PENDING' AND a.createdAt < :cutoffDate THEN 1 ELSE 0 END), 0) AS overdue, " +
+           "COALESCE(SUM(CASE WHEN a.petsCount > :minPetsCount THEN 1 ELSE 0 END), 0) AS withPets " +
+           "FROM Application a")
+    ApplicationStatusCounts aggregateStatusCounts(
+            @Param("cutoffDate") LocalDateTime cutoffDate,
+            @Param("minPetsCount") Integer minPetsCount
+    );
     
     // Find applications with pagination
     Page<Application> findByStatus(Application.ApplicationStatus status, Pageable pageable);
@@ -108,8 +148,7 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     Page<Application> findByTenant(User tenant, Pageable pageable);
     
     // Find applications by landlord with pagination
-    @Query("SELECT a FROM Application a JOIN a.property p WHERE p.landlord = :landlord")
-    Page<Application> findByLandlord(@Param("landlord") User landlord, Pageable pageable);
+    Page<Application> findByLandlordId(Long landlordId, Pageable pageable);
     
     // Find applications by property with pagination
     Page<Application> findByProperty(Property property, Pageable pageable);
@@ -117,5 +156,22 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     // Find applications that are overdue for review
     @Query("SELECT a FROM Application a WHERE a.status = 'PENDING' AND a.createdAt < :cutoffDate")
     List<Application> findOverdueApplications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    
+    // Projection for aggregateStatusCounts
+    interface ApplicationStatusCounts {
+        Long getTotal();
+        Long getPending();
+        Long getOverdue();
+        Long getWithPets();
+    }
+    
+    // Projection for findScoringInputs
+    interface ScoringInput {
+        Long getId();
+        java.math.BigDecimal getMonthlyIncome();
+        Integer getCreditScore();
+        Integer getOccupantsCount();
+        Integer getPetsCount();
+        Integer getRentalHistoryLength();
+    }
 }
-
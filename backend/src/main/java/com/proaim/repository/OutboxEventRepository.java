@@ -0,0 +1,114 @@
+package com.proaim.repository;
+
+import com.proaim.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Find events of a given type for an aggregate
+    List<OutboxEvent> findByAggregateTypeAndAggregateId(String aggregateType, Long aggregateId);
+    
+    // Count events still waiting for delivery
+    Long countByPublishedAtIsNullAndDeadLetteredAtIsNull();
+    
+    // Count events that ran out of attempts
+    Long countByDeadLetteredAtIsNotNull();
+    
+    // Due events, oldest first, locked for the caller's transaction. Rows another relay has
+    // locked are skipped (SKIP LOCKED where the dialect supports it, lock timeout -2), and so
+    // is any event whose aggregate has an earlier event in backoff or leased, which keeps
+    // per-aggregate order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.deadLetteredAt IS NULL " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent p WHERE p.aggregateType = e.aggregateType " +
+           "AND p.aggregateId = e.aggregateId AND p.id < e.id AND p.publishedAt IS NULL " +
+           "AND p.deadLetteredAt IS NULL AND p.nextAttemptAt > :now) " +
+           "ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Those of the given events that have an earlier pending event outside the set, e.g. one
+    // another relay locked (and so SKIP LOCKED left out) but has not leased yet
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id IN :ids AND EXISTS (SELECT 1 FROM OutboxEvent p " +
+           "WHERE p.aggregateType = e.aggregateType AND p.aggregateId = e.aggregateId AND p.id < e.id " +
+           "AND p.publishedAt IS NULL AND p.deadLetteredAt IS NULL AND p.id NOT IN :ids)")
+    List<Long> findBehindUnclaimed(@Param("ids") Collection<Long> ids);
+    
+    // Events after a node's read position, oldest first, read without locking or claiming them
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+    
+    // Ids of the committed events after the given one
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id > :afterId")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId);
+    
+    // Ids of the committed events of one aggregate type after the given one
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.aggregateType = :aggregateType AND e.id > :afterId")
+    List<Long> findIdsAfter(@Param("aggregateType") String aggregateType, @Param("afterId") Long afterId);
+    
+    // Lease claimed events to one relay until the given time
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+    
+    // Hand back claimed events that were not attempted
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = NULL WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+    
+    // Mark a batch of events as delivered
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.nextAttemptAt = NULL WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    // Record a failed delivery and when to try again
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+    
+    // Record the last failed delivery and stop relaying the event
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = NULL, " +
+           "e.deadLetteredAt = :deadLetteredAt, e.lastError = :error WHERE e.id = :id")
+    int markDeadLettered(@Param("id") Long id, @Param("deadLetteredAt") LocalDateTime deadLetteredAt,
+                         @Param("error") String error);
+    
+    // Put dead-lettered events back in the queue with a fresh set of attempts
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = 0, e.nextAttemptAt = NULL, e.deadLetteredAt = NULL " +
+           "WHERE e.deadLetteredAt IS NOT NULL")
+    int requeueDeadLettered();
+    
+    // Purge delivered events past the retention window
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
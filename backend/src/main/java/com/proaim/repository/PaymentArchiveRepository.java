@@ -0,0 +1,42 @@
+package com.proaim.repository;
+
+import com.proaim.entity.Payment;
+import com.proaim.entity.PaymentArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PaymentArchiveRepository extends JpaRepository<PaymentArchive, Long> {
+    
+    // History reads
+    List<PaymentArchive> findByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    List<PaymentArchive> findByTenantIdAndPaymentDateBetween(Long tenantId, LocalDateTime startDate, LocalDateTime endDate);
+    List<PaymentArchive> findByLandlordIdAndPaymentDateBetween(Long landlordId, LocalDateTime startDate, LocalDateTime endDate);
+    
+    Long countByArchiveMonth(Integer archiveMonth);
+    
+    // Copies hot rows into the archive in one statement
+    @Modifying
+    @Query("INSERT INTO PaymentArchive (id, archiveMonth, tenantId, landlordId, propertyId, agreementId, type, status, " +
+           "paymentReference, amount, paymentDate, dueDate, processedAt, method, transactionId, paymentDescription, " +
+           "lateFee, processingFee, totalAmount, createdAt, archivedAt) " +
+           "SELECT p.id, YEAR(p.createdAt) * 100 + MONTH(p.createdAt), p.tenant.id, p.landlord.id, p.property.id, " +
+           "p.agreement.id, p.type, p.status, p.paymentReference, p.amount, p.paymentDate, p.dueDate, p.processedAt, " +
+           "p.method, p.transactionId, p.paymentDescription, p.lateFee, p.processingFee, p.totalAmount, p.createdAt, " +
+           ":archivedAt FROM Payment p WHERE p.id IN :ids")
+    int copyFromPayments(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+    
+    // Archived counterpart of PaymentRepository.streamRevenueRows
+    @Query("SELECT a.id AS id, a.propertyId AS propertyId, a.landlordId AS landlordId, a.paymentDate AS paymentDate, " +
+           "a.amount AS amount, a.lateFee AS lateFee, a.processingFee AS processingFee " +
+           "FROM PaymentArchive a WHERE a.status = :status")
+    Stream<PaymentRevenueRow> streamRevenueRows(@Param("status") Payment.PaymentStatus status);
+}
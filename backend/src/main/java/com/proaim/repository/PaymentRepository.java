@@ -6,13 +6,16 @@ import com.proaim.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -182,4 +185,23 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find application fee payments
     @Query("SELECT p FROM Payment p WHERE p.type = 'APPLICATION_FEE'")
     List<Payment> findApplicationFeePayments();
+    
+    // Date-range history for one tenant or landlord
+    List<Payment> findByTenantIdAndPaymentDateBetween(Long tenantId, LocalDateTime startDate, LocalDateTime endDate);
+    List<Payment> findByLandlordIdAndPaymentDateBetween(Long landlordId, LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Settled payments created before the cutoff, oldest first, for archival
+    @Query("SELECT p.id FROM Payment p WHERE p.status IN :statuses AND p.createdAt < :cutoff ORDER BY p.createdAt")
+    List<Long> findArchivableIds(@Param("statuses") Collection<Payment.PaymentStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    // Completed payments for rebuilding revenue rollups; must be consumed inside a transaction
+    @Query("SELECT p.id AS id, p.property.id AS propertyId, p.landlord.id AS landlordId, p.paymentDate AS paymentDate, " +
+           "p.amount AS amount, p.lateFee AS lateFee, p.processingFee AS processingFee " +
+           "FROM Payment p WHERE p.status = :status")
+    Stream<PaymentRevenueRow> streamRevenueRows(@Param("status") Payment.PaymentStatus status);
 }
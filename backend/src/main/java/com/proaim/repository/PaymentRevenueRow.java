@@ -0,0 +1,15 @@
+package com.proaim.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Just the columns revenue rollups need, read from both the hot and archive tables
+public interface PaymentRevenueRow {
+    Long getId();
+    Long getPropertyId();
+    Long getLandlordId();
+    LocalDateTime getPaymentDate();
+    BigDecimal getAmount();
+    BigDecimal getLateFee();
+    BigDecimal getProcessingFee();
+}
@@ -2,22 +2,29 @@ package com.proaim.repository;
 
 import com.proaim.entity.Property;
 import com.proaim.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertyRepositoryCustom {
     
     // Find properties by landlord
     List<Property> findByLandlord(User landlord);
     
+    // Find properties by landlord with pagination
+    Page<Property> findByLandlord(User landlord, Pageable pageable);
+    
     // Find properties by status
     List<Property> findByStatus(Property.PropertyStatus status);
     
@@ -92,11 +99,56 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
     // Count properties by landlord
     Long countByLandlord(User landlord);
     
+    // Ownership check for @PreAuthorize expressions, answered from the index without loading the property
+    boolean existsByIdAndLandlordId(Long id, Long landlordId);
+    
     // Count properties by status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Long countByStatus(Property.PropertyStatus status);
     
+    // Count total, available and rented properties in a single pass
+    @Query("SELECT COUNT(p) AS total, " +
+           "COALESCE(SUM(CASE WHEN p.status = 'AVAILABLE' THEN 1 ELSE 0 END), 0) AS available, " +
+           "COALESCE(SUM(CASE WHEN p.status = 'RENTED' THEN 1 ELSE 0 END), 0) AS rented " +
+           "FROM Property p")
+    PropertyStatusCounts aggregateStatusCounts();
+    
     // Find properties expiring soon
     @Query("SELECT p FROM Property p WHERE p.availableDate <= :date AND p.status = 'AVAILABLE'")
     List<Property> findPropertiesExpiringSoon(@Param("date") java.time.LocalDateTime date);
+    
+    // Id bounds, for splitting a full scan into ranges
+    @Query("SELECT MIN(p.id) FROM Property p")
+    Long findMinId();
+    
+    @Query("SELECT MAX(p.id) FROM Property p")
+    Long findMaxId();
+    
+    // Market columns for properties in [minId, maxId]; must be consumed inside a transaction
+    @Query("SELECT p.id AS id, p.city AS city, p.bedrooms AS bedrooms, p.propertyType AS propertyType, " +
+           "p.rentAmount AS rentAmount FROM Property p WHERE p.id BETWEEN :minId AND :maxId")
+    Stream<PropertyRentRow> streamRentRows(@Param("minId") Long minId, @Param("maxId") Long maxId);
+    
+    // Market columns for one segment, served by idx_properties_market
+    @Query("SELECT p.id AS id, p.city AS city, p.bedrooms AS bedrooms, p.propertyType AS propertyType, " +
+           "p.rentAmount AS rentAmount FROM Property p " +
+           "WHERE p.city = :city AND p.bedrooms = :bedrooms AND p.propertyType = :propertyType")
+    List<PropertyRentRow> findRentRowsByMarket(@Param("city") String city, @Param("bedrooms") Integer bedrooms,
+                                               @Param("propertyType") String propertyType);
+    
+    // Projection for aggregateStatusCounts
+    interface PropertyStatusCounts {
+        Long getTotal();
+        Long getAvailable();
+        Long getRented();
+    }
+    
+    // Projection for streamRentRows and findRentRowsByMarket
+    interface PropertyRentRow {
+        Long getId();
+        String getCity();
+        Integer getBedrooms();
+        String getPropertyType();
+        BigDecimal getRentAmount();
+    }
 }
-
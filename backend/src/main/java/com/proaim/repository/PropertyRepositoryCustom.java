@@ -0,0 +1,17 @@
+package com.proaim.repository;
+
+import com.proaim.entity.Property;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// List reads through a stateless session: no persistence context and no snapshots
+// for dirty checking. The returned entities are detached and must not be modified.
+public interface PropertyRepositoryCustom {
+    
+    List<Property> findAllDetached();
+    
+    // Same criteria as PropertyRepository.searchProperties, unpaged
+    List<Property> searchDetached(String city, String state, BigDecimal minRent, BigDecimal maxRent,
+                                  Integer bedrooms, Integer bathrooms, Boolean petsAllowed, Boolean smokingAllowed);
+}
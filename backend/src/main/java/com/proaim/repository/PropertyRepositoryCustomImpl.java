@@ -0,0 +1,85 @@
+package com.proaim.repository;
+
+import com.proaim.entity.Property;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
+    
+    private static final String SEARCH_FILTER = "(:city IS NULL OR p.city = :city) AND " +
+            "(:state IS NULL OR p.state = :state) AND " +
+            "(:minRent IS NULL OR p.rentAmount >= :minRent) AND " +
+            "(:maxRent IS NULL OR p.rentAmount <= :maxRent) AND " +
+            "(:bedrooms IS NULL OR p.bedrooms >= :bedrooms) AND " +
+            "(:bathrooms IS NULL OR p.bathrooms >= :bathrooms) AND " +
+            "(:petsAllowed IS NULL OR p.petsAllowed = :petsAllowed) AND " +
+            "(:smokingAllowed IS NULL OR p.smokingAllowed = :smokingAllowed) AND " +
+            "p.status = 'AVAILABLE'";
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Override
+    public List<Property> findAllDetached() {
+        return withStatelessSession(session -> fetchWithDetails(session, "", query -> { }));
+    }
+    
+    @Override
+    public List<Property> searchDetached(String city, String state, BigDecimal minRent, BigDecimal maxRent,
+                                         Integer bedrooms, Integer bathrooms, Boolean petsAllowed, Boolean smokingAllowed) {
+        return withStatelessSession(session -> fetchWithDetails(session, SEARCH_FILTER, query -> query
+                .setParameter("city", city)
+                .setParameter("state", state)
+                .setParameter("minRent", minRent)
+                .setParameter("maxRent", maxRent)
+                .setParameter("bedrooms", bedrooms)
+                .setParameter("bathrooms", bathrooms)
+                .setParameter("petsAllowed", petsAllowed)
+                .setParameter("smokingAllowed", smokingAllowed)));
+    }
+    
+    // A stateless session cannot load lazy collections afterwards, so both are join
+    // fetched. One query per collection: fetching both bags in one would multiply
+    // every property's amenities by its images.
+    private List<Property> fetchWithDetails(StatelessSession session, String filter,
+                                            Consumer<SelectionQuery<Property>> parameters) {
+        String where = filter.isEmpty() ? "" : " WHERE " + filter;
+        SelectionQuery<Property> withAmenities = session.createSelectionQuery(
+                "SELECT DISTINCT p FROM Property p LEFT JOIN FETCH p.amenities" + where + " ORDER BY p.id",
+                Property.class);
+        parameters.accept(withAmenities);
+        List<Property> properties = withAmenities.getResultList();
+        if (properties.isEmpty()) {
+            return properties;
+        }
+        
+        SelectionQuery<Property> withImages = session.createSelectionQuery(
+                "SELECT DISTINCT p FROM Property p LEFT JOIN FETCH p.imageUrls" + where, Property.class);
+        parameters.accept(withImages);
+        Map<Long, List<String>> imageUrls = new HashMap<>();
+        for (Property property : withImages.getResultList()) {
+            imageUrls.put(property.getId(), property.getImageUrls());
+        }
+        for (Property property : properties) {
+            property.setImageUrls(imageUrls.getOrDefault(property.getId(), new ArrayList<>()));
+        }
+        return properties;
+    }
+    
+    private <T> T withStatelessSession(Function<StatelessSession, T> work) {
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            return work.apply(session);
+        }
+    }
+}
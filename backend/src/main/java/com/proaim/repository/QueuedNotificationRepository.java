@@ -0,0 +1,54 @@
+package com.proaim.repository;
+
+import com.proaim.entity.QueuedNotification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QueuedNotificationRepository extends JpaRepository<QueuedNotification, Long> {
+    
+    // Notifications already accepted for an event, sent or not
+    List<QueuedNotification> findByEventId(Long eventId);
+    
+    // Unsent notifications no dispatcher holds, oldest first, locked for the caller's transaction;
+    // rows another dispatcher is claiming are skipped (SKIP LOCKED where the dialect supports it)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT n FROM QueuedNotification n WHERE n.sentAt IS NULL " +
+           "AND (n.claimedUntil IS NULL OR n.claimedUntil <= :now) ORDER BY n.id")
+    List<QueuedNotification> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Lease notifications to one dispatcher until the given time
+    @Transactional
+    @Modifying
+    @Query("UPDATE QueuedNotification n SET n.claimedUntil = :until WHERE n.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE QueuedNotification n SET n.sentAt = :sentAt, n.claimedUntil = NULL WHERE n.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    // Count notifications waiting to be sent
+    Long countBySentAtIsNull();
+    
+    // Purge sent notifications past the retention window
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM QueuedNotification n WHERE n.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,9 @@
 package com.proaim.security;
 
+import com.proaim.logging.ThrottledLogger;
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +21,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -26,33 +31,53 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    // Stays NOOP when the filter is built outside the context
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final ThrottledLogger failures = new ThrottledLogger(logger, 1, TimeUnit.MINUTES, 5);
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
-        try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                String role = jwtUtils.getRoleFromJwtToken(jwt);
+        String jwt = parseJwt(request);
+        Observation observation = jwt == null ? Observation.NOOP
+                : Observation.start("security.jwt.authentication", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            Claims claims = jwt != null ? jwtUtils.parseAccessToken(jwt) : null;
+            if (claims != null && !tokenDenylist.isRevoked(claims.getId())
+                    && !tokenDenylist.isRevoked(claims.get("fid", String.class))) {
+                List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(claims.get("role", String.class)));
+                Long userId = claims.get("uid", Long.class);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // The signed claims are the principal; tokens issued before they carried
+                // the user id still need the lookup until they expire
+                UserDetails userDetails = userId != null
+                        ? new UserDetailsImpl(userId, claims.getSubject(), null, null, null, null, authorities)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
                                 null,
-                                List.of(new SimpleGrantedAuthority(role)) // 👈 set authorities
+                                authorities // 👈 set authorities
                         );
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e.getMessage());
+            observation.error(e);
+            failures.error(e.getClass().getSimpleName(), "Cannot set user authentication: {}", e.getMessage());
+        } finally {
+            observation.stop();
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,105 @@
+package com.proaim.security;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Conversion between public keys and JSON Web Keys (RFC 7517/7518) for RSA and P-256
+final class Jwks {
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private Jwks() {}
+    
+    static Map<String, Object> toJwk(String kid, String algorithm, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>(members(key));
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        return jwk;
+    }
+    
+    // RFC 7638 thumbprint: SHA-256 over the required members in lexicographic order
+    static String thumbprint(PublicKey key) {
+        StringBuilder json = new StringBuilder("{");
+        members(key).forEach((name, value) -> json.append(json.length() > 1 ? "," : "")
+                .append('"').append(name).append("\":\"").append(value).append('"'));
+        json.append('}');
+        try {
+            return ENCODER.encodeToString(MessageDigest.getInstance("SHA-256").digest(json.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    static PublicKey fromJwk(Map<?, ?> jwk) throws GeneralSecurityException {
+        Object kty = jwk.get("kty");
+        if ("RSA".equals(kty)) {
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    unsigned(jwk.get("n")), unsigned(jwk.get("e"))));
+        }
+        if ("EC".equals(kty) && "P-256".equals(jwk.get("crv"))) {
+            return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                    new ECPoint(unsigned(jwk.get("x")), unsigned(jwk.get("y"))), p256()));
+        }
+        throw new GeneralSecurityException("Unsupported JWK type " + kty);
+    }
+    
+    // Required members only, already in lexicographic order
+    private static Map<String, String> members(PublicKey key) {
+        Map<String, String> members = new LinkedHashMap<>();
+        if (key instanceof RSAPublicKey rsa) {
+            members.put("e", encode(rsa.getPublicExponent(), 0));
+            members.put("kty", "RSA");
+            members.put("n", encode(rsa.getModulus(), 0));
+        } else if (key instanceof ECPublicKey ec) {
+            members.put("crv", "P-256");
+            members.put("kty", "EC");
+            members.put("x", encode(ec.getW().getAffineX(), 32));
+            members.put("y", encode(ec.getW().getAffineY(), 32));
+        } else {
+            throw new IllegalArgumentException("Unsupported key type " + key.getAlgorithm());
+        }
+        return members;
+    }
+    
+    // Big-endian without the sign byte; EC coordinates are left-padded to the field size
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+    
+    private static BigInteger unsigned(Object value) {
+        return new BigInteger(1, DECODER.decode(String.valueOf(value)));
+    }
+    
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+}
@@ -1,67 +1,133 @@
 package com.proaim.security;
 
+import com.proaim.logging.ThrottledLogger;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Every request with a stale or forged token lands here; a client retry loop must not flood the log
+    private static final ThrottledLogger failures = new ThrottledLogger(logger, 1, TimeUnit.MINUTES, 5);
+
+    // Registered on the global registry, which actuator feeds into Prometheus; hand-built
+    // instances (benchmarks) record into an empty composite, i.e. nowhere
+    private static final Timer VALID = validationTimer("valid");
+    private static final Timer EXPIRED = validationTimer("expired");
+    private static final Timer MALFORMED = validationTimer("malformed");
+    private static final Timer UNSUPPORTED = validationTimer("unsupported");
+    private static final Timer EMPTY = validationTimer("empty");
+    private static final Timer INVALID = validationTimer("invalid");
+
+    @Autowired
+    private SigningKeyRegistry signingKeys;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    // Built on first use; resolves the verification key from each token's kid header
+    private volatile JwtParser parser;
+
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateAccessToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
-        return Jwts.builder()
+    public String generateAccessToken(UserDetailsImpl userPrincipal) {
+        return generateAccessToken(userPrincipal, null);
+    }
+
+    // Carries everything AuthTokenFilter needs to build the principal, so requests never look the user up,
+    // and the refresh token family it was issued with, so revoking the family also denies the token
+    public String generateAccessToken(UserDetailsImpl userPrincipal, String familyId) {
+        SigningKeyRegistry.SigningKey signingKey = signingKeys.getActiveKey();
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder();
+        if (signingKey.kid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.kid());
+        }
+        return builder
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
+                .claim("uid", userPrincipal.getId())
                 .claim("role", userPrincipal.getAuthorities().iterator().next().getAuthority()) // 👈 Save role
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .claim("fid", familyId)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public int getJwtExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    private JwtParser parser() {
+        JwtParser result = parser;
+        if (result == null) {
+            result = Jwts.parserBuilder().setSigningKeyResolver(signingKeys).build();
+            parser = result;
+        }
+        return result;
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser().parseClaimsJws(token).getBody().getSubject();
     }
 
     public String getRoleFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody()
+        return parser().parseClaimsJws(token).getBody()
                 .get("role", String.class);
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseAccessToken(authToken) != null;
+    }
+
+    // Verifies signature and expiry once and returns the claims, or null when the token is not acceptable
+    public Claims parseAccessToken(String authToken) {
+        long start = System.nanoTime();
+        Timer outcome = INVALID;
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = parser().parseClaimsJws(authToken).getBody();
+            outcome = VALID;
+            return claims;
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            outcome = MALFORMED;
+            failures.error("malformed", "Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            outcome = EXPIRED;
+            failures.warn("expired", "JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            outcome = UNSUPPORTED;
+            failures.error("unsupported", "JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            outcome = EMPTY;
+            failures.error("empty", "JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            failures.error("invalid", "JWT token is invalid: {}", e.getMessage());
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        return false;
+        return null;
+    }
+
+    private static Timer validationTimer(String outcome) {
+        return Timer.builder("jwt.validation")
+                .description("Signature and expiry check of a bearer token")
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
     }
 }
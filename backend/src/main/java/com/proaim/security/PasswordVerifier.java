@@ -0,0 +1,75 @@
+package com.proaim.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs credential checks (user lookup plus the deliberately slow BCrypt compare) on a
+// small fixed pool instead of on Tomcat's request threads. The pool caps how many cores
+// a login storm can take; the bounded queue caps how long a login can wait. Work that
+// doesn't fit is refused immediately so the caller can answer 429 rather than queue.
+@Component
+public class PasswordVerifier {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // 0 means half the available cores, at least one, so logins leave the rest to requests
+    @Value("${security.password.verify-threads:0}")
+    private int verifyThreads;
+    
+    @Value("${security.password.verify-queue-size:64}")
+    private int verifyQueueSize;
+    
+    private ThreadPoolExecutor pool;
+    private Counter rejected;
+    
+    @PostConstruct
+    public void start() {
+        int threads = verifyThreads > 0 ? verifyThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(verifyQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("security.password.verify.queued", pool, executor -> executor.getQueue().size())
+                .description("Credential checks waiting for a verifier thread")
+                .register(meterRegistry);
+        rejected = Counter.builder("security.password.verify.rejected")
+                .description("Credential checks refused because the verifier queue was full")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        pool.shutdown();
+    }
+    
+    // Throws RejectedExecutionException when the queue is full
+    public <T> CompletableFuture<T> submit(Supplier<T> verification) {
+        try {
+            return CompletableFuture.supplyAsync(verification, pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.proaim.security;
+
+import com.proaim.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Ownership checks for @PreAuthorize, e.g. "@propertySecurity.ownsProperty(#propertyId, authentication)".
+// Landlords are USER accounts, so a property is theirs when its landlord_id is the caller's id.
+@Component("propertySecurity")
+public class PropertySecurity {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    public boolean ownsProperty(Long propertyId, Authentication authentication) {
+        if (propertyId == null || authentication == null
+                || !(authentication.getPrincipal() instanceof UserDetailsImpl user)) {
+            return false;
+        }
+        return propertyRepository.existsByIdAndLandlordId(propertyId, user.getId());
+    }
+}
@@ -0,0 +1,290 @@
+package com.proaim.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Signing and verification keys for access tokens, indexed by key id (kid).
+// With RS256 or ES256 the key pairs come from the keystore in jwt.keys.keystore, which
+// the nodes can share and which is re-read on the rotation schedule so a key added there
+// takes over without a restart. Without a keystore each node generates its own key pair,
+// rotated on a schedule, and its tokens stop verifying when it restarts. Either way the
+// public halves are published at /.well-known/jwks.json, and a retired key stays
+// published and trusted until the last token it signed has expired. Keys from the
+// JWKS endpoints in jwt.jwks.uris (other nodes, or a separate issuer) are cached by
+// kid and refreshed periodically, and immediately when a token names an unknown kid,
+// so any node can verify any other node's tokens without sharing a secret.
+// HS256 keeps the previous behaviour: one shared jwt.secret, no kid, no JWKS.
+@Component
+public class SigningKeyRegistry extends SigningKeyResolverAdapter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRegistry.class);
+    
+    // Tolerates clock drift between nodes when deciding a retired key is no longer needed
+    private static final long RETIRE_GRACE_MS = 60_000;
+    
+    private final SignatureAlgorithm algorithm;
+    private final long tokenLifetimeMs;
+    private final List<URI> jwksUris = new ArrayList<>();
+    private final String keystore;
+    private final char[] keystorePassword;
+    private final String activeAlias;
+    private final long minRefetchIntervalMs;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final Map<String, SigningKey> localKeys = new ConcurrentHashMap<>();
+    private volatile Map<String, PublicKey> remoteKeys = Map.of();
+    private final AtomicLong lastRemoteFetch = new AtomicLong();
+    private volatile SigningKey active;
+    
+    public SigningKeyRegistry(@Value("${jwt.algorithm:RS256}") String algorithm,
+                              @Value("${jwt.secret}") String secret,
+                              @Value("${jwt.expiration}") long tokenLifetimeMs,
+                              @Value("${jwt.keys.keystore:}") String keystore,
+                              @Value("${jwt.keys.keystore-password:}") String keystorePassword,
+                              @Value("${jwt.keys.active-alias:}") String activeAlias,
+                              @Value("${jwt.jwks.uris:}") List<String> jwksUris,
+                              @Value("${jwt.jwks.min-refetch-interval-ms:10000}") long minRefetchIntervalMs) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.keystore = keystore == null ? "" : keystore.trim();
+        this.keystorePassword = keystorePassword == null ? new char[0] : keystorePassword.toCharArray();
+        this.activeAlias = activeAlias == null ? "" : activeAlias.trim();
+        this.minRefetchIntervalMs = minRefetchIntervalMs;
+        for (String uri : jwksUris) {
+            if (!uri.isBlank()) {
+                this.jwksUris.add(URI.create(uri.trim()));
+            }
+        }
+        if (this.algorithm == SignatureAlgorithm.HS256) {
+            active = new SigningKey(null, this.algorithm, Keys.hmacShaKeyFor(secret.getBytes()), null);
+        } else if (this.algorithm != SignatureAlgorithm.RS256 && this.algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("jwt.algorithm must be HS256, RS256 or ES256, not " + algorithm);
+        } else if (!this.keystore.isEmpty()) {
+            // A configured keystore that cannot be used stops startup rather than falling back to a throwaway key
+            install(loadKeyStore());
+        } else {
+            rotate();
+            if (this.jwksUris.isEmpty()) {
+                logger.warn("No jwt.keys.keystore or jwt.jwks.uris configured: access tokens are signed with a generated key "
+                        + "and verify only on this node until it restarts");
+            }
+        }
+    }
+    
+    public SigningKey getActiveKey() {
+        return active;
+    }
+    
+    // Starts signing with a fresh key pair, or with the keystore's current key when one is
+    // configured; the previous one keeps verifying until its tokens expire
+    @Scheduled(fixedDelayString = "${jwt.keys.rotation-interval-ms:86400000}",
+            initialDelayString = "${jwt.keys.rotation-interval-ms:86400000}")
+    public void rotate() {
+        if (algorithm == SignatureAlgorithm.HS256) {
+            return;
+        }
+        if (!keystore.isEmpty()) {
+            try {
+                install(loadKeyStore());
+            } catch (IllegalStateException e) {
+                // Keep signing with the keys we have, e.g. while the file is being replaced
+                logger.warn("Could not reload JWT keystore {}: {}", keystore, e.getMessage());
+            }
+            return;
+        }
+        KeyPair keyPair = generateKeyPair();
+        SigningKey next = new SigningKey(Jwks.thumbprint(keyPair.getPublic()), algorithm, keyPair.getPrivate(), keyPair.getPublic());
+        localKeys.put(next.kid(), next);
+        SigningKey previous = active;
+        active = next;
+        if (previous != null) {
+            localKeys.put(previous.kid(), previous.retireAt(System.currentTimeMillis() + tokenLifetimeMs + RETIRE_GRACE_MS));
+        }
+        long now = System.currentTimeMillis();
+        localKeys.values().removeIf(key -> key.retireAt() > 0 && key.retireAt() < now);
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.jwks.refresh-interval-ms:300000}")
+    public void refreshRemoteKeys() {
+        if (jwksUris.isEmpty()) {
+            return;
+        }
+        lastRemoteFetch.set(System.currentTimeMillis());
+        Map<String, PublicKey> fetched = new HashMap<>();
+        for (URI uri : jwksUris) {
+            try {
+                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).build(),
+                        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("HTTP " + response.statusCode());
+                }
+                for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+                    fetched.put(jwk.path("kid").asText(), Jwks.fromJwk(objectMapper.convertValue(jwk, Map.class)));
+                }
+            } catch (Exception e) {
+                // Keep what we had from this endpoint rather than dropping its keys on a blip
+                logger.warn("Could not refresh JWKS from {}: {}", uri, e.getMessage());
+                remoteKeys.forEach(fetched::putIfAbsent);
+            }
+        }
+        remoteKeys = Map.copyOf(fetched);
+    }
+    
+    // Public JWKS document of this node's keys
+    public Map<String, Object> getJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (SigningKey key : localKeys.values()) {
+            keys.add(Jwks.toJwk(key.kid(), key.algorithm().getValue(), key.publicKey()));
+        }
+        return Map.of("keys", keys);
+    }
+    
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (algorithm == SignatureAlgorithm.HS256) {
+                return active.signingKey();
+            }
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        Key key = lookup(kid);
+        if (key == null && !jwksUris.isEmpty()) {
+            long last = lastRemoteFetch.get();
+            if (System.currentTimeMillis() - last >= minRefetchIntervalMs && lastRemoteFetch.compareAndSet(last, System.currentTimeMillis())) {
+                refreshRemoteKeys();
+                key = lookup(kid);
+            }
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key id " + kid);
+        }
+        return key;
+    }
+    
+    // Makes the keystore's keys current; keys that were removed from it are retired like rotated ones
+    private synchronized void install(LoadedKeys loaded) {
+        long now = System.currentTimeMillis();
+        long retireAt = now + tokenLifetimeMs + RETIRE_GRACE_MS;
+        for (SigningKey key : List.copyOf(localKeys.values())) {
+            if (key.retireAt() == 0 && !loaded.keys().containsKey(key.kid())) {
+                localKeys.put(key.kid(), key.retireAt(retireAt));
+            }
+        }
+        localKeys.putAll(loaded.keys());
+        active = loaded.active();
+        localKeys.values().removeIf(key -> key.retireAt() > 0 && key.retireAt() < now);
+    }
+    
+    // Every private key entry of the configured algorithm; the active one is jwt.keys.active-alias,
+    // or the most recently created entry when no alias is set
+    private LoadedKeys loadKeyStore() {
+        String keyAlgorithm = algorithm == SignatureAlgorithm.ES256 ? "EC" : "RSA";
+        Map<String, SigningKey> keys = new HashMap<>();
+        SigningKey activeKey = null;
+        Date newest = null;
+        try (InputStream in = ResourceUtils.getURL(keystore).openStream()) {
+            // The default PKCS12 keystore also reads JKS files
+            KeyStore store = KeyStore.getInstance(KeyStore.getDefaultType());
+            store.load(in, keystorePassword);
+            for (String alias : Collections.list(store.aliases())) {
+                Certificate certificate = store.getCertificate(alias);
+                if (!store.isKeyEntry(alias) || certificate == null
+                        || !(store.getKey(alias, keystorePassword) instanceof PrivateKey privateKey)
+                        || !keyAlgorithm.equals(privateKey.getAlgorithm())) {
+                    continue;
+                }
+                PublicKey publicKey = certificate.getPublicKey();
+                SigningKey key = new SigningKey(Jwks.thumbprint(publicKey), algorithm, privateKey, publicKey);
+                keys.put(key.kid(), key);
+                Date created = store.getCreationDate(alias);
+                if (activeAlias.isEmpty() ? activeKey == null || (created != null && created.after(newest))
+                        : activeAlias.equals(alias)) {
+                    activeKey = key;
+                    newest = created != null ? created : new Date(0);
+                }
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot read JWT keystore " + keystore + ": " + e.getMessage(), e);
+        }
+        if (activeKey == null) {
+            throw new IllegalStateException("JWT keystore " + keystore + " has no " + keyAlgorithm + " key"
+                    + (activeAlias.isEmpty() ? "" : " with alias " + activeAlias));
+        }
+        return new LoadedKeys(Map.copyOf(keys), activeKey);
+    }
+    
+    private Key lookup(String kid) {
+        SigningKey local = localKeys.get(kid);
+        return local != null ? local.publicKey() : remoteKeys.get(kid);
+    }
+    
+    private KeyPair generateKeyPair() {
+        try {
+            if (algorithm == SignatureAlgorithm.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+        }
+    }
+    
+    private record LoadedKeys(Map<String, SigningKey> keys, SigningKey active) {}
+    
+    // retireAt is 0 while the key is active or still held in the keystore
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, PublicKey publicKey, long retireAt) {
+        
+        SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, PublicKey publicKey) {
+            this(kid, algorithm, signingKey, publicKey, 0);
+        }
+        
+        SigningKey retireAt(long time) {
+            return new SigningKey(kid, algorithm, signingKey, publicKey, time);
+        }
+    }
+}
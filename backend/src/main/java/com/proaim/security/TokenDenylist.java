@@ -0,0 +1,115 @@
+package com.proaim.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Access tokens revoked before they expire, by jti (logout) or by the refresh token
+// family they were issued with (logout, refresh-token reuse); both are random ids.
+// Every authenticated request asks; almost every answer is "no", and a Bloom filter
+// gives that answer from a few bit reads without hashing into a map or allocating.
+// Only filter hits go to the exact map. Entries are needed for at most one access
+// token lifetime, so the filter is kept in two generations that rotate once per
+// lifetime: an entry always survives at least one full lifetime before it is dropped.
+// The list is per node; tokens are short-lived, so a revocation missed by another
+// node lasts at most one access token lifetime.
+@Component
+public class TokenDenylist {
+    
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    
+    public TokenDenylist(@Value("${jwt.denylist.expected-entries:100000}") int expectedEntries,
+                         @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.previous = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+    
+    public void revoke(String jti, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(jti, expiresAtMillis);
+        current.add(jti);
+    }
+    
+    public boolean isRevoked(String jti) {
+        if (jti == null || !current.mightContain(jti) && !previous.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.expiration}", initialDelayString = "${jwt.expiration}")
+    public void rotate() {
+        previous = current;
+        current = new BloomFilter(expectedEntries, falsePositiveRate);
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+    
+    public int size() {
+        return revoked.size();
+    }
+    
+    // Standard sizing: m = -n ln p / (ln 2)^2 bits, k = m/n ln 2 probes by double hashing
+    static final class BloomFilter {
+        
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int probes;
+        
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+            this.probes = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+        
+        void add(String key) {
+            int h1 = key.hashCode();
+            int h2 = secondHash(key);
+            for (int i = 0; i < probes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long value;
+                while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    // retry until the bit is set by us or someone else
+                }
+            }
+        }
+        
+        boolean mightContain(String key) {
+            int h1 = key.hashCode();
+            int h2 = secondHash(key);
+            for (int i = 0; i < probes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // FNV-1a over the chars, forced odd so successive probes never repeat early
+        private static int secondHash(String key) {
+            int hash = 0x811c9dc5;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x01000193;
+            }
+            return hash | 1;
+        }
+    }
+}
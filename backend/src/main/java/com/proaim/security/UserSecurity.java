@@ -0,0 +1,24 @@
+package com.proaim.security;
+
+import com.proaim.entity.User;
+import com.proaim.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Account checks for @PreAuthorize, e.g. "@userSecurity.isLandlord(authentication)".
+// The principal is built from the token's uid and role claims and has no user type,
+// so landlord accounts (role USER, userType LANDLORD) are looked up by id.
+@Component("userSecurity")
+public class UserSecurity {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public boolean isLandlord(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl user)) {
+            return false;
+        }
+        return userRepository.existsByIdAndUserType(user.getId(), User.UserType.LANDLORD);
+    }
+}
@@ -1,6 +1,7 @@
 package com.proaim.security.jwt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.logging.ThrottledLogger;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -14,16 +15,19 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class AuthEntryPointJwt implements AuthenticationEntryPoint {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthEntryPointJwt.class);
     
+    private static final ThrottledLogger unauthorized = new ThrottledLogger(logger, 1, TimeUnit.MINUTES, 5);
+    
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
             throws IOException, ServletException {
-        logger.error("Unauthorized error: {}", authException.getMessage());
+        unauthorized.warn(authException.getClass().getSimpleName(), "Unauthorized error: {}", authException.getMessage());
         
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -0,0 +1,21 @@
+package com.proaim.service;
+
+import com.proaim.entity.Agreement;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Feeds saved agreements into the lifecycle pipeline so it never has to rescan the table
+public class AgreementLifecycleListener {
+    
+    @Autowired
+    private ObjectProvider<AgreementLifecycleService> agreementLifecycleService;
+    
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Agreement agreement) {
+        agreementLifecycleService.ifAvailable(service ->
+                service.track(agreement.getId(), agreement.getEndDate(), agreement.getStatus()));
+    }
+}
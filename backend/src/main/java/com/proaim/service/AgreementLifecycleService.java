@@ -0,0 +1,17 @@
+package com.proaim.service;
+
+import com.proaim.entity.Agreement;
+
+import java.time.LocalDateTime;
+
+public interface AgreementLifecycleService {
+    
+    // Register (or re-register) an agreement's renewal and expiry deadlines
+    void track(Long agreementId, LocalDateTime endDate, Agreement.AgreementStatus status);
+    
+    // Fire every deadline that has come due
+    void processDueDeadlines();
+    
+    // Number of deadlines currently held in memory
+    int getPendingDeadlineCount();
+}
@@ -0,0 +1,223 @@
+package com.proaim.service;
+
+import com.proaim.entity.Agreement;
+import com.proaim.event.DomainEventPublisher;
+import com.proaim.event.EventTypes;
+import com.proaim.repository.AgreementRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Keeps renewal-reminder and expiry deadlines for agreements ending within a
+// rolling horizon in a time-ordered set. Each poll pops only the deadlines that
+// are due, so the agreements table is only ever read by indexed end-date ranges.
+@Service
+@Observed(name = "service.invocations")
+public class AgreementLifecycleServiceImpl implements AgreementLifecycleService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AgreementLifecycleServiceImpl.class);
+    
+    // Lower bound for the first index load, so overdue agreements are caught up
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Autowired
+    private AgreementRepository agreementRepository;
+    
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${agreements.lifecycle.reminder-days:30}")
+    private int reminderDays;
+    
+    @Value("${agreements.lifecycle.horizon-hours:24}")
+    private int horizonHours;
+    
+    @Value("${agreements.lifecycle.batch-size:500}")
+    private int batchSize;
+    
+    private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>(
+            Comparator.comparing((Deadline d) -> d.fireAt)
+                    .thenComparing(d -> d.agreementId)
+                    .thenComparing(d -> d.kind));
+    
+    // Every active agreement with an end date before this has been indexed
+    private volatile LocalDateTime indexedUntil;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        extendIndex(LocalDateTime.now());
+        logger.info("Agreement lifecycle index loaded with {} deadlines", deadlines.size());
+    }
+    
+    @Override
+    public void track(Long agreementId, LocalDateTime endDate, Agreement.AgreementStatus status) {
+        LocalDateTime bound = indexedUntil;
+        if (agreementId == null || endDate == null || status != Agreement.AgreementStatus.ACTIVE || bound == null) {
+            return;
+        }
+        // Later end dates are picked up when the horizon reaches them
+        if (endDate.isBefore(bound)) {
+            addDeadlines(agreementId, endDate);
+        }
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${agreements.lifecycle.poll-interval-ms:60000}",
+               initialDelayString = "${agreements.lifecycle.poll-interval-ms:60000}")
+    public void processDueDeadlines() {
+        if (indexedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> reminders = new ArrayList<>();
+        List<Long> expirations = new ArrayList<>();
+        Iterator<Deadline> iterator = deadlines.iterator();
+        while (iterator.hasNext()) {
+            Deadline next = iterator.next();
+            if (next.fireAt.isAfter(now)) {
+                break;
+            }
+            iterator.remove();
+            (next.kind == DeadlineKind.EXPIRY ? expirations : reminders).add(next.agreementId);
+        }
+        
+        // Expire first so agreements already past their end do not also get a reminder
+        for (List<Long> batch : partition(expirations)) {
+            runBatch(batch, DeadlineKind.EXPIRY, now);
+        }
+        for (List<Long> batch : partition(reminders)) {
+            runBatch(batch, DeadlineKind.RENEWAL_REMINDER, now);
+        }
+        
+        if (indexedUntil.isBefore(now.plusDays(reminderDays).plusHours(horizonHours / 2))) {
+            extendIndex(now);
+        }
+    }
+    
+    @Override
+    public int getPendingDeadlineCount() {
+        return deadlines.size();
+    }
+    
+    private void extendIndex(LocalDateTime now) {
+        LocalDateTime from = indexedUntil != null ? indexedUntil : EPOCH;
+        LocalDateTime until = now.plusDays(reminderDays).plusHours(horizonHours);
+        if (!until.isAfter(from)) {
+            return;
+        }
+        for (AgreementRepository.LifecycleDeadline deadline : agreementRepository.findLifecycleDeadlines(from, until)) {
+            addDeadlines(deadline.getId(), deadline.getEndDate());
+        }
+        indexedUntil = until;
+    }
+    
+    private void addDeadlines(Long agreementId, LocalDateTime endDate) {
+        deadlines.add(new Deadline(endDate.minusDays(reminderDays), agreementId, DeadlineKind.RENEWAL_REMINDER));
+        deadlines.add(new Deadline(endDate, agreementId, DeadlineKind.EXPIRY));
+    }
+    
+    // Each transition fires at most once, even with a stale or duplicate deadline, another
+    // node sweeping the same agreements or a terminate racing the sweep: the rows are locked
+    // before the due check, so the check, the conditional update and the event all see the
+    // same state. Rows locked elsewhere are retried on the next poll.
+    private void runBatch(List<Long> ids, DeadlineKind kind, LocalDateTime now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> locked = agreementRepository.lockAvailable(ids);
+                if (locked.size() < ids.size()) {
+                    Set<Long> available = new HashSet<>(locked);
+                    for (Long id : ids) {
+                        if (!available.contains(id)) {
+                            deadlines.add(new Deadline(now, id, kind));
+                        }
+                    }
+                }
+                if (locked.isEmpty()) {
+                    return;
+                }
+                List<AgreementRepository.LifecycleRecipient> due = kind == DeadlineKind.EXPIRY
+                        ? agreementRepository.findDueExpirations(locked, now)
+                        : agreementRepository.findDueRenewalReminders(locked, now.plusDays(reminderDays));
+                if (due.isEmpty()) {
+                    return;
+                }
+                List<Long> dueIds = due.stream().map(AgreementRepository.LifecycleRecipient::getId).toList();
+                int updated = kind == DeadlineKind.EXPIRY
+                        ? agreementRepository.markExpired(dueIds, now)
+                        : agreementRepository.markRenewalRemindersSent(dueIds, now);
+                if (updated != dueIds.size()) {
+                    // Cannot happen while the rows are locked; roll back rather than publish twice
+                    throw new IllegalStateException("Updated " + updated + " of " + dueIds.size() + " due agreements");
+                }
+                String eventType = kind == DeadlineKind.EXPIRY
+                        ? EventTypes.AGREEMENT_EXPIRED
+                        : EventTypes.AGREEMENT_RENEWAL_REMINDER;
+                Map<Long, Map<String, Object>> payloads = new LinkedHashMap<>();
+                for (AgreementRepository.LifecycleRecipient recipient : due) {
+                    payloads.put(recipient.getId(), toPayload(recipient));
+                }
+                domainEventPublisher.publishAll(EventTypes.AGREEMENT, eventType, payloads);
+            });
+        } catch (RuntimeException e) {
+            // Put the batch back so the next poll retries it
+            logger.error("Agreement {} batch failed, will retry: {}", kind, e.getMessage());
+            for (Long id : ids) {
+                deadlines.add(new Deadline(now, id, kind));
+            }
+        }
+    }
+    
+    private Map<String, Object> toPayload(AgreementRepository.LifecycleRecipient recipient) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("agreementId", recipient.getId());
+        payload.put("tenantId", recipient.getTenantId());
+        payload.put("landlordId", recipient.getLandlordId());
+        payload.put("endDate", String.valueOf(recipient.getEndDate()));
+        return payload;
+    }
+    
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            batches.add(ids.subList(i, Math.min(i + batchSize, ids.size())));
+        }
+        return batches;
+    }
+    
+    private enum DeadlineKind {
+        RENEWAL_REMINDER, EXPIRY
+    }
+    
+    private static final class Deadline {
+        private final LocalDateTime fireAt;
+        private final Long agreementId;
+        private final DeadlineKind kind;
+        
+        private Deadline(LocalDateTime fireAt, Long agreementId, DeadlineKind kind) {
+            this.fireAt = fireAt;
+            this.agreementId = agreementId;
+            this.kind = kind;
+        }
+    }
+}
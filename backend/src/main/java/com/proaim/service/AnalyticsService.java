@@ -0,0 +1,14 @@
+package com.proaim.service;
+
+import com.proaim.repository.ApplicationRepository;
+import com.proaim.repository.PropertyRepository;
+
+public interface AnalyticsService {
+    
+    // Aggregated counts, one query per entity
+    PropertyRepository.PropertyStatusCounts getPropertyStatusCounts();
+    ApplicationRepository.ApplicationStatusCounts getApplicationStatusCounts();
+    
+    // Cache management
+    void evictCachedCounts();
+}
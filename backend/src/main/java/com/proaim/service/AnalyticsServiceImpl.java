@@ -0,0 +1,80 @@
+package com.proaim.service;
+
+import com.proaim.repository.ApplicationRepository;
+import com.proaim.repository.PropertyRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+@Service
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+    
+    // Same cutoff and threshold the /overdue and /with-pets endpoints use
+    private static final int OVERDUE_AFTER_DAYS = 7;
+    private static final int MIN_PETS_COUNT = 1;
+    
+    @Autowired
+    private PropertyRepository propertyRepository;
+    
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    
+    @Value("${analytics.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+    
+    private volatile CachedValue<PropertyRepository.PropertyStatusCounts> propertyCounts;
+    private volatile CachedValue<ApplicationRepository.ApplicationStatusCounts> applicationCounts;
+    
+    @Override
+    public PropertyRepository.PropertyStatusCounts getPropertyStatusCounts() {
+        CachedValue<PropertyRepository.PropertyStatusCounts> cached = propertyCounts;
+        if (cached == null || cached.isExpired()) {
+            cached = load(propertyRepository::aggregateStatusCounts);
+            propertyCounts = cached;
+        }
+        return cached.value;
+    }
+    
+    @Override
+    public ApplicationRepository.ApplicationStatusCounts getApplicationStatusCounts() {
+        CachedValue<ApplicationRepository.ApplicationStatusCounts> cached = applicationCounts;
+        if (cached == null || cached.isExpired()) {
+            cached = load(() -> applicationRepository.aggregateStatusCounts(
+                    LocalDateTime.now().minusDays(OVERDUE_AFTER_DAYS), MIN_PETS_COUNT));
+            applicationCounts = cached;
+        }
+        return cached.value;
+    }
+    
+    @Override
+    public void evictCachedCounts() {
+        propertyCounts = null;
+        applicationCounts = null;
+    }
+    
+    private <T> CachedValue<T> load(Supplier<T> query) {
+        return new CachedValue<>(query.get(), System.currentTimeMillis() + cacheTtlMs);
+    }
+    
+    // Snapshot of an aggregate result with its expiry time
+    private static final class CachedValue<T> {
+        private final T value;
+        private final long expiresAt;
+        
+        private CachedValue(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
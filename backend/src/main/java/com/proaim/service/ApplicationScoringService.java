@@ -0,0 +1,14 @@
+package com.proaim.service;
+
+import com.proaim.dto.ApplicationScore;
+
+import java.util.List;
+
+public interface ApplicationScoringService {
+    
+    // Score and rank pending applications for a property, best first
+    List<ApplicationScore> rankPendingApplications(Long propertyId);
+    
+    // Cache management
+    void evictProperty(Long propertyId);
+}
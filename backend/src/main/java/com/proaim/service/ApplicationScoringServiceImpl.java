@@ -0,0 +1,160 @@
+package com.proaim.service;
+
+import com.proaim.dto.ApplicationScore;
+import com.proaim.entity.Application;
+import com.proaim.entity.Property;
+import com.proaim.repository.ApplicationRepository;
+import com.proaim.repository.PropertyRepository;
+import com.proaim.service.scoring.ApplicantFeatures;
+import com.proaim.service.scoring.PropertyTerms;
+import com.proaim.service.scoring.ScoringModel;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
+public class ApplicationScoringServiceImpl implements ApplicationScoringService {
+    
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    
+    @Autowired
+    private PropertyRepository propertyRepository;
+    
+    @Autowired
+    private ScoringModel scoringModel;
+    
+    // Backstop for changes that never call evictProperty (bulk SQL, other nodes)
+    @Value("${scoring.cache-ttl-ms:60000}")
+    private long cacheTtlMs;
+    
+    @Value("${scoring.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+    
+    // Rankings per property, dropped once a change to one of its applications commits
+    private final Map<Long, CachedRanking> rankings = new ConcurrentHashMap<>();
+    
+    // Bumped on every eviction; a ranking computed across an eviction is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+    
+    @Override
+    public List<ApplicationScore> rankPendingApplications(Long propertyId) {
+        CachedRanking cached = rankings.get(propertyId);
+        if (cached != null && !cached.isExpired()) {
+            return cached.ranking;
+        }
+        long evictionsBefore = evictions.get();
+        List<ApplicationScore> ranking = computeRanking(propertyId);
+        if (hasRoom()) {
+            CachedRanking entry = new CachedRanking(ranking, System.currentTimeMillis() + cacheTtlMs);
+            rankings.put(propertyId, entry);
+            if (evictions.get() != evictionsBefore) {
+                rankings.remove(propertyId, entry);
+            }
+        }
+        return ranking;
+    }
+    
+    // Inside a transaction the ranking is dropped after commit: evicting earlier would let a
+    // concurrent read re-cache the ranking from data the transaction has not committed yet
+    @Override
+    public void evictProperty(Long propertyId) {
+        if (propertyId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(propertyId);
+                }
+            });
+        } else {
+            evictNow(propertyId);
+        }
+    }
+    
+    private void evictNow(Long propertyId) {
+        evictions.incrementAndGet();
+        rankings.remove(propertyId);
+    }
+    
+    // Drops expired rankings once the cache is full; stops caching if that frees nothing
+    private boolean hasRoom() {
+        if (rankings.size() < cacheMaxEntries) {
+            return true;
+        }
+        rankings.values().removeIf(CachedRanking::isExpired);
+        return rankings.size() < cacheMaxEntries;
+    }
+    
+    private List<ApplicationScore> computeRanking(Long propertyId) {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new IllegalArgumentException("Property not found with id: " + propertyId));
+        PropertyTerms terms = new PropertyTerms(
+                property.getRentAmount() != null ? property.getRentAmount().doubleValue() : 0,
+                property.getBedrooms() != null ? property.getBedrooms() : 1,
+                Boolean.TRUE.equals(property.getPetsAllowed()));
+        
+        List<ApplicationRepository.ScoringInput> inputs =
+                applicationRepository.findScoringInputs(propertyId, Application.ApplicationStatus.PENDING);
+        ApplicantFeatures features = new ApplicantFeatures(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            ApplicationRepository.ScoringInput input = inputs.get(i);
+            features.set(i,
+                    input.getId(),
+                    input.getMonthlyIncome() != null ? input.getMonthlyIncome().doubleValue() : 0,
+                    valueOrZero(input.getCreditScore()),
+                    valueOrZero(input.getOccupantsCount()),
+                    valueOrZero(input.getPetsCount()),
+                    valueOrZero(input.getRentalHistoryLength()));
+        }
+        
+        double[] scores = new double[features.size()];
+        scoringModel.score(features, terms, scores);
+        
+        long[] ids = features.applicationIds();
+        List<ApplicationScore> ranking = new ArrayList<>(scores.length);
+        for (int i = 0; i < scores.length; i++) {
+            ranking.add(new ApplicationScore(ids[i], scores[i], 0));
+        }
+        ranking.sort(Comparator.comparingDouble(ApplicationScore::getScore).reversed()
+                .thenComparing(ApplicationScore::getApplicationId));
+        for (int i = 0; i < ranking.size(); i++) {
+            ranking.get(i).setRank(i + 1);
+        }
+        return List.copyOf(ranking);
+    }
+    
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    // Ranking with its expiry time
+    private static final class CachedRanking {
+        private final List<ApplicationScore> ranking;
+        private final long expiresAt;
+        
+        private CachedRanking(List<ApplicationScore> ranking, long expiresAt) {
+            this.ranking = ranking;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
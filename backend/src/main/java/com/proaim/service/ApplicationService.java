@@ -1,8 +1,10 @@
 package com.proaim.service;
 
+import com.proaim.dto.ApplicationInboxResponse;
 import com.proaim.entity.Application;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,6 +30,8 @@ public interface ApplicationService {
     List<Application> getApplicationsByLandlord(Long landlordId);
     Page<Application> getApplicationsByLandlord(Long landlordId, Pageable pageable);
     Long countApplicationsByLandlord(Long landlordId);
+    ApplicationInboxResponse getLandlordInbox(Long landlordId, Application.ApplicationStatus status,
+                                              String sortBy, Sort.Direction direction, String cursor, int size);
     
     // Application management by property
     List<Application> getApplicationsByProperty(Long propertyId);
@@ -1,44 +1,94 @@
 package com.proaim.service;
 
+import com.proaim.dto.ApplicationInboxResponse;
 import com.proaim.entity.Application;
+import com.proaim.event.DomainEventPublisher;
+import com.proaim.event.EventTypes;
+import com.proaim.notification.Notification;
+import com.proaim.notification.NotificationChannel;
+import com.proaim.notification.NotificationDispatcher;
 import com.proaim.repository.ApplicationRepository;
+import com.proaim.repository.PropertyRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
 public class ApplicationServiceImpl implements ApplicationService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ApplicationScoringService applicationScoringService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     // Basic CRUD operations
     @Override
+    @Transactional
     public Application createApplication(Application application) {
         application.setCreatedAt(LocalDateTime.now());
-        return applicationRepository.save(application);
+        application.setLandlordId(resolveLandlordId(application));
+        Application saved = applicationRepository.save(application);
+        evictScores(saved);
+        publishEvent(saved, EventTypes.APPLICATION_CREATED);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Application updateApplication(Long id, Application application) {
         Optional<Application> existingApp = applicationRepository.findById(id);
         if (existingApp.isPresent()) {
             Application existing = existingApp.get();
             existing.setUpdatedAt(LocalDateTime.now());
             // Update fields as needed
+            evictScores(existing);
+            publishEvent(existing, EventTypes.APPLICATION_UPDATED);
             return applicationRepository.save(existing);
         }
         throw new RuntimeException("Application not found with id: " + id);
     }
 
     @Override
+    @Transactional
     public void deleteApplication(Long id) {
+        applicationRepository.findById(id).ifPresent(existing -> {
+            evictScores(existing);
+            publishEvent(existing, EventTypes.APPLICATION_DELETED);
+        });
         applicationRepository.deleteById(id);
     }
 
@@ -82,23 +132,17 @@ public class ApplicationServiceImpl implements ApplicationService {
     // Application management by landlord
     @Override
     public List<Application> getApplicationsByLandlord(Long landlordId) {
-        // This would need a User object, so we'll need to create a custom query
-        // For now, return empty list - this should be implemented with proper User lookup
-        return List.of();
+        return applicationRepository.findByLandlordId(landlordId);
     }
 
     @Override
     public Page<Application> getApplicationsByLandlord(Long landlordId, Pageable pageable) {
-        // This would need a User object, so we'll need to create a custom query
-        // For now, return empty page - this should be implemented with proper User lookup
-        return Page.empty(pageable);
+        return applicationRepository.findByLandlordId(landlordId, pageable);
     }
 
     @Override
     public Long countApplicationsByLandlord(Long landlordId) {
-        // This would need a User object, so we'll need to create a custom query
-        // For now, return 0 - this should be implemented with proper User lookup
-        return 0L;
+        return applicationRepository.countByLandlordId(landlordId);
     }
 
     // Application management by property
@@ -123,6 +167,30 @@ public class ApplicationServiceImpl implements ApplicationService {
         return 0L;
     }
 
+    // Landlord inbox with keyset pagination
+    @Override
+    public ApplicationInboxResponse getLandlordInbox(Long landlordId, Application.ApplicationStatus status,
+                                                     String sortBy, Sort.Direction direction,
+                                                     String cursor, int size) {
+        if (size < 1 || size > MAX_INBOX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_INBOX_PAGE_SIZE);
+        }
+        InboxSort inboxSort = InboxSort.fromProperty(sortBy);
+        Sort sort = Sort.by(direction, inboxSort.property).and(Sort.by(direction, "id"));
+        ScrollPosition position = (cursor == null || cursor.isBlank())
+                ? ScrollPosition.keyset()
+                : decodeCursor(inboxSort, cursor);
+
+        Window<Application> window = applicationRepository.findByLandlordIdAndStatus(
+                landlordId, status, position, sort, Limit.of(size));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encodeCursor(inboxSort, (KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new ApplicationInboxResponse(window.getContent(), nextCursor, window.hasNext());
+    }
+
     // Application status management
     @Override
     public List<Application> getApplicationsByStatus(Application.ApplicationStatus status) {
@@ -130,18 +198,22 @@ public class ApplicationServiceImpl implements ApplicationService {
     }
 
     @Override
+    @Transactional
     public Application updateApplicationStatus(Long id, Application.ApplicationStatus status) {
         Optional<Application> existingApp = applicationRepository.findById(id);
         if (existingApp.isPresent()) {
             Application existing = existingApp.get();
             existing.setStatus(status);
             existing.setUpdatedAt(LocalDateTime.now());
+            evictScores(existing);
+            publishEvent(existing, EventTypes.APPLICATION_STATUS_CHANGED);
             return applicationRepository.save(existing);
         }
         throw new RuntimeException("Application not found with id: " + id);
     }
 
     @Override
+    @Transactional
     public Application reviewApplication(Long id, Application.ApplicationStatus status, String rejectionReason, Long reviewedBy) {
         Optional<Application> existingApp = applicationRepository.findById(id);
         if (existingApp.isPresent()) {
@@ -151,6 +223,8 @@ public class ApplicationServiceImpl implements ApplicationService {
             existing.setReviewedBy(reviewedBy);
             existing.setReviewedAt(LocalDateTime.now());
             existing.setUpdatedAt(LocalDateTime.now());
+            evictScores(existing);
+            publishEvent(existing, EventTypes.APPLICATION_STATUS_CHANGED);
             return applicationRepository.save(existing);
         }
         throw new RuntimeException("Application not found with id: " + id);
@@ -164,16 +238,12 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     @Override
     public List<Application> getPendingApplicationsByLandlord(Long landlordId) {
-        // This would need a User object, so we'll need to create a custom query
-        // For now, return empty list - this should be implemented with proper User lookup
-        return List.of();
+        return applicationRepository.findByLandlordIdAndStatus(landlordId, Application.ApplicationStatus.PENDING);
     }
 
     @Override
     public Long countPendingApplicationsByLandlord(Long landlordId) {
-        // This would need a User object, so we'll need to create a custom query
-        // For now, return 0 - this should be implemented with proper User lookup
-        return 0L;
+        return applicationRepository.countByLandlordIdAndStatus(landlordId, Application.ApplicationStatus.PENDING);
     }
 
     // Applications needing review
@@ -217,10 +287,7 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     @Override
     public List<Application> getApplicationsByOccupantsCount(Integer occupantsCount) {
-        // This method doesn't exist in the repository, so we'll filter manually
-        return applicationRepository.findAll().stream()
-            .filter(app -> app.getOccupantsCount().equals(occupantsCount))
-            .toList();
+        return applicationRepository.findByOccupantsCount(occupantsCount);
     }
 
     // Employment search
@@ -241,12 +308,14 @@ public class ApplicationServiceImpl implements ApplicationService {
     }
 
     @Override
+    @Transactional
     public Application updateFeeStatus(Long id, Boolean feePaid) {
         Optional<Application> existingApp = applicationRepository.findById(id);
         if (existingApp.isPresent()) {
             Application existing = existingApp.get();
             existing.setFeePaid(feePaid);
             existing.setUpdatedAt(LocalDateTime.now());
+            publishEvent(existing, EventTypes.APPLICATION_FEE_STATUS_CHANGED);
             return applicationRepository.save(existing);
         }
         throw new RuntimeException("Application not found with id: " + id);
@@ -294,10 +363,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     // Application by listing
     @Override
     public List<Application> getApplicationsByListing(Long listingId) {
-        // This method doesn't exist in the repository, so we'll filter manually
-        return applicationRepository.findAll().stream()
-            .filter(app -> app.getListing() != null && app.getListing().getId().equals(listingId))
-            .toList();
+        return applicationRepository.findByListingId(listingId);
     }
 
     // Application validation
@@ -315,6 +381,7 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     // Application processing
     @Override
+    @Transactional
     public void processApplication(Long id) {
         // Process application logic
         Optional<Application> app = applicationRepository.findById(id);
@@ -322,6 +389,7 @@ public class ApplicationServiceImpl implements ApplicationService {
             Application application = app.get();
             // Add processing logic here
             application.setUpdatedAt(LocalDateTime.now());
+            evictScores(application);
             applicationRepository.save(application);
         }
     }
@@ -331,8 +399,90 @@ public class ApplicationServiceImpl implements ApplicationService {
         // Send notification logic
         Optional<Application> app = applicationRepository.findById(id);
         if (app.isPresent()) {
-            // Add notification logic here
-            // This could send emails, SMS, etc.
+            Application application = app.get();
+            if (application.getTenant() == null) {
+                return;
+            }
+            String status = application.getStatus() != null ? application.getStatus().name() : "PENDING";
+            List<Notification> notifications = new ArrayList<>();
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                notifications.add(new Notification(application.getTenant().getId(), channel,
+                        EventTypes.APPLICATION + ":" + id, "Application " + status,
+                        "Your application #" + id + " is " + status));
+            }
+            // Queued in the database, so a notification backlog never fails the request
+            notificationDispatcher.accept(null, notifications);
+        }
+    }
+
+    private void publishEvent(Application application, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("applicationId", application.getId());
+        payload.put("propertyId", application.getProperty() != null ? application.getProperty().getId() : null);
+        payload.put("tenantId", application.getTenant() != null ? application.getTenant().getId() : null);
+        payload.put("landlordId", application.getLandlordId());
+        payload.put("status", application.getStatus() != null ? application.getStatus().name() : null);
+        domainEventPublisher.publish(EventTypes.APPLICATION, application.getId(), eventType, payload);
+    }
+
+    private void evictScores(Application application) {
+        if (application.getProperty() != null) {
+            applicationScoringService.evictProperty(application.getProperty().getId());
+        }
+    }
+
+    private Long resolveLandlordId(Application application) {
+        if (application.getProperty() == null || application.getProperty().getId() == null) {
+            return null;
+        }
+        return propertyRepository.findById(application.getProperty().getId())
+                .map(property -> property.getLandlord() != null ? property.getLandlord().getId() : null)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Property not found with id: " + application.getProperty().getId()));
+    }
+
+    // Cursor is "<sort value>|<id>" of the last row, Base64 URL encoded
+    private String encodeCursor(InboxSort inboxSort, KeysetScrollPosition position) {
+        Map<String, Object> keys = position.getKeys();
+        String raw = keys.get(inboxSort.property) + CURSOR_SEPARATOR + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private KeysetScrollPosition decodeCursor(InboxSort inboxSort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(inboxSort.property, inboxSort.parser.apply(raw.substring(0, separator)));
+            keys.put("id", Long.valueOf(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid inbox cursor: " + cursor);
+        }
+    }
+
+    // Sort keys supported by the landlord inbox, each backed by a composite index
+    private enum InboxSort {
+        CREATED_AT("createdAt", LocalDateTime::parse),
+        MOVE_IN_DATE("moveInDate", LocalDateTime::parse),
+        CREDIT_SCORE("creditScore", Integer::valueOf),
+        MONTHLY_INCOME("monthlyIncome", BigDecimal::new);
+
+        private final String property;
+        private final Function<String, Object> parser;
+
+        InboxSort(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        private static InboxSort fromProperty(String property) {
+            for (InboxSort sort : values()) {
+                if (sort.property.equals(property)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported inbox sort: " + property);
         }
     }
 }
@@ -0,0 +1,9 @@
+package com.proaim.service;
+
+import java.util.Map;
+
+public interface CacheStatisticsService {
+    
+    // Hit/miss/put counts per second-level cache region, plus query cache totals
+    Map<String, Object> getSecondLevelCacheStatistics();
+}
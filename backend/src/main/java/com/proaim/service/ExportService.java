@@ -0,0 +1,20 @@
+package com.proaim.service;
+
+import com.proaim.dto.ExportJobStatus;
+import com.proaim.dto.ExportRequest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExportService {
+    
+    // Queues a background export and returns its initial status
+    ExportJobStatus startExport(ExportRequest request);
+    
+    Optional<ExportJobStatus> getExportStatus(String id);
+    List<ExportJobStatus> getExports();
+    
+    // File of a completed export
+    Optional<Path> getExportFile(String id);
+}
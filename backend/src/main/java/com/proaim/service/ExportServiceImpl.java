@@ -0,0 +1,304 @@
+package com.proaim.service;
+
+import com.proaim.dto.ExportJobStatus;
+import com.proaim.dto.ExportRequest;
+import com.proaim.service.export.ExportDataset;
+import com.proaim.service.export.ExportSource;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// Streams payments and agreements to gzip-compressed CSV files on local disk.
+// Rows come from a forward-only cursor on a stateless session and are written as
+// they arrive, so memory use does not depend on the size of the export. Only the
+// requested columns are selected, and the date range is applied in the query.
+// The count and every source are read in one repeatable-read transaction, so the
+// total and the rows written describe the same snapshot.
+// Jobs and their files are kept by the node that ran them: status and downloads
+// are only found on that node, and a restart forgets them. Behind a load balancer,
+// export requests need sticky routing to the node that accepted them.
+@Service
+@Observed(name = "service.invocations")
+public class ExportServiceImpl implements ExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${exports.directory:exports}")
+    private String directory;
+    
+    @Value("${exports.fetch-size:1000}")
+    private int fetchSize;
+    
+    @Value("${exports.threads:1}")
+    private int threads;
+    
+    @Value("${exports.retention-hours:24}")
+    private int retentionHours;
+    
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "export-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Read-only so the export is routed to the replica when there is one
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+    
+    @Override
+    public ExportJobStatus startExport(ExportRequest request) {
+        ExportDataset dataset;
+        try {
+            dataset = ExportDataset.valueOf(request.getDataset().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown dataset: " + request.getDataset());
+        }
+        List<String> columns = request.getColumns() == null || request.getColumns().isEmpty()
+                ? dataset.getColumns() : List.copyOf(request.getColumns());
+        for (String column : columns) {
+            if (!dataset.getColumns().contains(column)) {
+                throw new IllegalArgumentException("Unknown column for " + dataset + ": " + column);
+            }
+        }
+        
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), dataset, columns, request.getFrom(), request.getTo());
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+        return job.toStatus();
+    }
+    
+    @Override
+    public Optional<ExportJobStatus> getExportStatus(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ExportJob::toStatus);
+    }
+    
+    @Override
+    public List<ExportJobStatus> getExports() {
+        List<ExportJobStatus> statuses = new ArrayList<>();
+        for (ExportJob job : jobs.values()) {
+            statuses.add(job.toStatus());
+        }
+        statuses.sort(Comparator.comparing(ExportJobStatus::getCreatedAt).reversed());
+        return statuses;
+    }
+    
+    @Override
+    public Optional<Path> getExportFile(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null || !"COMPLETED".equals(job.status)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.file);
+    }
+    
+    // Deletes finished exports past the retention window
+    @Scheduled(fixedDelayString = "${exports.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException e) {
+                logger.warn("Could not delete export {}: {}", job.file, e.getMessage());
+            }
+            return true;
+        });
+    }
+    
+    private void run(ExportJob job) {
+        job.status = "RUNNING";
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            job.file = dir.resolve(job.dataset.name().toLowerCase() + "-" + job.id + ".csv.gz");
+            
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // On the transaction's connection; a session of its own would read outside the snapshot
+                try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class)
+                        .openStatelessSession(DataSourceUtils.getConnection(dataSource));
+                     Writer out = new BufferedWriter(new OutputStreamWriter(
+                             new GZIPOutputStream(Files.newOutputStream(job.file), 1 << 16), StandardCharsets.UTF_8))) {
+                    for (ExportSource source : job.dataset.getSources()) {
+                        job.totalRows += count(session, job, source);
+                    }
+                    writeRow(out, job.columns.toArray());
+                    for (ExportSource source : job.dataset.getSources()) {
+                        export(session, job, source, out);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+            
+            job.bytesWritten = Files.size(job.file);
+            job.status = "COMPLETED";
+            logger.info("Export {} wrote {} {} rows ({} bytes)", job.id, job.rowsWritten.get(), job.dataset, job.bytesWritten);
+        } catch (Exception e) {
+            logger.error("Export {} failed: {}", job.id, e.getMessage());
+            job.error = e.getMessage();
+            job.status = "FAILED";
+        } finally {
+            job.completedAt = LocalDateTime.now();
+        }
+    }
+    
+    private long count(StatelessSession session, ExportJob job, ExportSource source) {
+        SelectionQuery<Long> query = session.createSelectionQuery(
+                "SELECT COUNT(*) FROM " + source.getEntityName() + " e" + where(job, source), Long.class);
+        bindRange(query, job);
+        return query.getSingleResult();
+    }
+    
+    private void export(StatelessSession session, ExportJob job, ExportSource source, Writer out) throws IOException {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < job.columns.size(); i++) {
+            if (i > 0) {
+                select.append(", ");
+            }
+            select.append("e.").append(source.getColumnPaths().get(job.columns.get(i)));
+        }
+        select.append(" FROM ").append(source.getEntityName()).append(" e")
+                .append(where(job, source)).append(" ORDER BY e.id");
+        
+        SelectionQuery<Object[]> query = session.createSelectionQuery(select.toString(), Object[].class)
+                .setFetchSize(fetchSize);
+        bindRange(query, job);
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                writeRow(out, rows.get());
+                job.rowsWritten.incrementAndGet();
+            }
+        }
+    }
+    
+    private String where(ExportJob job, ExportSource source) {
+        String dateColumn = "e." + source.getColumnPaths().get(job.dataset.getDateColumn());
+        List<String> predicates = new ArrayList<>();
+        if (job.from != null) {
+            predicates.add(dateColumn + " >= :from");
+        }
+        if (job.to != null) {
+            predicates.add(dateColumn + " < :to");
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+    
+    private void bindRange(SelectionQuery<?> query, ExportJob job) {
+        if (job.from != null) {
+            query.setParameter("from", job.from);
+        }
+        if (job.to != null) {
+            query.setParameter("to", job.to);
+        }
+    }
+    
+    private void writeRow(Writer out, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(escape(values[i].toString()));
+            }
+        }
+        out.write('\n');
+    }
+    
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    private static final class ExportJob {
+        private final String id;
+        private final ExportDataset dataset;
+        private final List<String> columns;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile String status = "QUEUED";
+        private volatile long totalRows;
+        private volatile long bytesWritten;
+        private volatile Path file;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+        
+        ExportJob(String id, ExportDataset dataset, List<String> columns, LocalDateTime from, LocalDateTime to) {
+            this.id = id;
+            this.dataset = dataset;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+        
+        ExportJobStatus toStatus() {
+            return new ExportJobStatus(id, dataset.name(), columns, status, totalRows, rowsWritten.get(), bytesWritten,
+                    file != null ? file.getFileName().toString() : null, error, createdAt, completedAt);
+        }
+    }
+}
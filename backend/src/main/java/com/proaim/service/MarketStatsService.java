@@ -0,0 +1,22 @@
+package com.proaim.service;
+
+import com.proaim.dto.RentStats;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface MarketStatsService {
+    
+    // Rent quantiles for a city, optionally narrowed to a bedroom count and property type
+    RentStats getRentStats(String city, Integer bedrooms, String propertyType);
+    
+    // Records a property's current market segment and rent
+    void recordProperty(Long propertyId, String city, Integer bedrooms, String propertyType, BigDecimal rentAmount);
+    
+    void removeProperty(Long propertyId);
+    
+    // Rebuilds every sketch from the properties table, scanning id ranges in parallel
+    void rebuild();
+    
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,334 @@
+package com.proaim.service;
+
+import com.proaim.dto.RentStats;
+import com.proaim.repository.PropertyRepository;
+import com.proaim.repository.PropertyRepository.PropertyRentRow;
+import com.proaim.service.market.KllSketch;
+import com.proaim.service.market.MarketKey;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Rent quantiles per (city, bedrooms, property type) from KLL sketches, so a
+// pricing query reads a few kilobytes of memory instead of sorting rents.
+//
+// Sketches cannot forget a value, so the service remembers which segment and
+// rent each property is counted under. A new property is added to its sketch;
+// a changed or deleted one makes its old segment reload from the table through
+// idx_properties_market. A full rebuild scans id ranges in parallel and merges
+// the partial sketches.
+@Service
+@Observed(name = "service.invocations")
+public class MarketStatsServiceImpl implements MarketStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MarketStatsServiceImpl.class);
+    
+    @Autowired
+    private PropertyRepository propertyRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${market.stats.sketch-k:200}")
+    private int sketchK;
+    
+    @Value("${market.stats.rebuild-threads:4}")
+    private int rebuildThreads;
+    
+    // Id ranges per rebuild thread, so uneven ranges still spread across the pool
+    @Value("${market.stats.ranges-per-thread:4}")
+    private int rangesPerThread;
+    
+    // Normalized city -> segment -> sketch; replaced wholesale by a rebuild
+    private volatile Map<String, Map<MarketKey, KllSketch>> sketches = new ConcurrentHashMap<>();
+    
+    // Property id -> the segment and rent it is counted under
+    private volatile Map<Long, Placement> placements = new ConcurrentHashMap<>();
+    
+    // Serializes changes; changes arriving during a rebuild are replayed after it
+    private final Object lock = new Object();
+    private boolean rebuilding;
+    private final List<Runnable> deferred = new ArrayList<>();
+    
+    private final AtomicInteger segmentReloads = new AtomicInteger();
+    private volatile long lastRebuildMillis;
+    
+    private ExecutorService rebuildPool;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        rebuildPool = Executors.newFixedThreadPool(rebuildThreads, runnable -> {
+            Thread thread = new Thread(runnable, "market-rebuild-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        rebuildPool.shutdownNow();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSketches() {
+        rebuild();
+    }
+    
+    @Override
+    public RentStats getRentStats(String city, Integer bedrooms, String propertyType) {
+        Map<MarketKey, KllSketch> segments = sketches.get(MarketKey.normalizeCity(city));
+        List<KllSketch> matching = new ArrayList<>();
+        if (segments != null) {
+            segments.forEach((key, sketch) -> {
+                if ((bedrooms == null || key.getBedrooms() == bedrooms)
+                        && (propertyType == null || key.getPropertyType().equalsIgnoreCase(propertyType.trim()))) {
+                    matching.add(sketch);
+                }
+            });
+        }
+        KllSketch sketch;
+        if (matching.size() == 1) {
+            sketch = matching.get(0);
+        } else {
+            sketch = new KllSketch(sketchK);
+            matching.forEach(sketch::merge);
+        }
+        
+        RentStats stats = new RentStats(city.trim(), bedrooms, propertyType, sketch.getCount());
+        if (sketch.getCount() > 0) {
+            stats.setMin(toRent(sketch.getMin()));
+            stats.setP25(toRent(sketch.quantile(0.25)));
+            stats.setMedian(toRent(sketch.quantile(0.5)));
+            stats.setP75(toRent(sketch.quantile(0.75)));
+            stats.setP90(toRent(sketch.quantile(0.9)));
+            stats.setMax(toRent(sketch.getMax()));
+        }
+        return stats;
+    }
+    
+    @Override
+    public void recordProperty(Long propertyId, String city, Integer bedrooms, String propertyType,
+                               BigDecimal rentAmount) {
+        if (propertyId == null || city == null || bedrooms == null || propertyType == null || rentAmount == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (rebuilding) {
+                deferred.add(() -> recordProperty(propertyId, city, bedrooms, propertyType, rentAmount));
+                return;
+            }
+            MarketKey key = new MarketKey(city.trim(), bedrooms, propertyType.trim());
+            double rent = rentAmount.doubleValue();
+            Placement previous = placements.put(propertyId, new Placement(key, rent));
+            if (previous == null) {
+                sketchFor(sketches, key).update(rent);
+            } else if (!previous.key.equals(key) || previous.rent != rent) {
+                // The old rent can't be taken out of the sketch, so reload its segment;
+                // when the property moved, the new segment just gains the new rent
+                if (previous.key.equals(key)) {
+                    reloadSegments(key);
+                } else {
+                    sketchFor(sketches, key).update(rent);
+                    reloadSegments(previous.key);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void removeProperty(Long propertyId) {
+        synchronized (lock) {
+            if (rebuilding) {
+                deferred.add(() -> removeProperty(propertyId));
+                return;
+            }
+            Placement previous = placements.remove(propertyId);
+            if (previous != null) {
+                reloadSegments(previous.key);
+            }
+        }
+    }
+    
+    // Replaces each segment's sketch with one built from the table. Properties found
+    // there that were counted elsewhere have moved, so their old segment is reloaded too.
+    private void reloadSegments(MarketKey first) {
+        Deque<MarketKey> pending = new ArrayDeque<>();
+        pending.add(first);
+        while (!pending.isEmpty()) {
+            MarketKey key = pending.poll();
+            List<PropertyRentRow> rows = readOnlyTransaction.execute(status ->
+                    propertyRepository.findRentRowsByMarket(key.getCity(), key.getBedrooms(), key.getPropertyType()));
+            KllSketch sketch = new KllSketch(sketchK);
+            for (PropertyRentRow row : rows) {
+                double rent = row.getRentAmount().doubleValue();
+                sketch.update(rent);
+                Placement previous = placements.put(row.getId(), new Placement(key, rent));
+                if (previous != null && !previous.key.equals(key) && !pending.contains(previous.key)) {
+                    pending.add(previous.key);
+                }
+            }
+            Map<MarketKey, KllSketch> segments = sketches.computeIfAbsent(
+                    MarketKey.normalizeCity(key.getCity()), c -> new ConcurrentHashMap<>());
+            if (sketch.getCount() > 0) {
+                segments.put(key, sketch);
+            } else {
+                segments.remove(key);
+            }
+            segmentReloads.incrementAndGet();
+        }
+    }
+    
+    @Override
+    public void rebuild() {
+        synchronized (lock) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+        }
+        long started = System.currentTimeMillis();
+        Map<String, Map<MarketKey, KllSketch>> rebuiltSketches = new ConcurrentHashMap<>();
+        Map<Long, Placement> rebuiltPlacements = new ConcurrentHashMap<>();
+        try {
+            Long minId = propertyRepository.findMinId();
+            Long maxId = propertyRepository.findMaxId();
+            if (minId != null) {
+                List<Future<Partial>> futures = new ArrayList<>();
+                int ranges = Math.max(1, rebuildThreads * rangesPerThread);
+                long step = Math.max(1, (maxId - minId + ranges) / ranges);
+                for (long lo = minId; lo <= maxId; lo += step) {
+                    long rangeMin = lo;
+                    long rangeMax = Math.min(maxId, lo + step - 1);
+                    futures.add(rebuildPool.submit(() -> scanRange(rangeMin, rangeMax)));
+                }
+                // Partial sketches of the same segment from different ranges are merged
+                for (Future<Partial> future : futures) {
+                    Partial partial = future.get();
+                    partial.sketches.forEach((key, sketch) -> sketchFor(rebuiltSketches, key).merge(sketch));
+                    rebuiltPlacements.putAll(partial.placements);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finishRebuild(null, null);
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            logger.error("Rent sketch rebuild failed; keeping the previous sketches", e);
+            finishRebuild(null, null);
+            return;
+        }
+        finishRebuild(rebuiltSketches, rebuiltPlacements);
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        logger.info("Rent sketches rebuilt for {} properties in {} segments in {} ms",
+                rebuiltPlacements.size(), rebuiltSketches.values().stream().mapToInt(Map::size).sum(), lastRebuildMillis);
+    }
+    
+    private Partial scanRange(long minId, long maxId) {
+        Partial partial = new Partial();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PropertyRentRow> rows = propertyRepository.streamRentRows(minId, maxId)) {
+                rows.forEach(row -> {
+                    if (row.getCity() == null || row.getBedrooms() == null
+                            || row.getPropertyType() == null || row.getRentAmount() == null) {
+                        return;
+                    }
+                    MarketKey key = new MarketKey(row.getCity().trim(), row.getBedrooms(), row.getPropertyType().trim());
+                    double rent = row.getRentAmount().doubleValue();
+                    partial.sketches.computeIfAbsent(key, k -> new KllSketch(sketchK)).update(rent);
+                    partial.placements.put(row.getId(), new Placement(key, rent));
+                });
+            }
+        });
+        return partial;
+    }
+    
+    private void finishRebuild(Map<String, Map<MarketKey, KllSketch>> rebuiltSketches,
+                               Map<Long, Placement> rebuiltPlacements) {
+        synchronized (lock) {
+            if (rebuiltSketches != null) {
+                sketches = rebuiltSketches;
+                placements = rebuiltPlacements;
+            }
+            rebuilding = false;
+            List<Runnable> replay = new ArrayList<>(deferred);
+            deferred.clear();
+            replay.forEach(Runnable::run);
+        }
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Map<MarketKey, KllSketch>> current = sketches;
+        int segments = 0;
+        long retainedValues = 0;
+        for (Map<MarketKey, KllSketch> citySegments : current.values()) {
+            segments += citySegments.size();
+            for (KllSketch sketch : citySegments.values()) {
+                retainedValues += sketch.getRetained();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cities", current.size());
+        stats.put("segments", segments);
+        stats.put("properties", placements.size());
+        stats.put("retainedValues", retainedValues);
+        stats.put("sketchK", sketchK);
+        stats.put("segmentReloads", segmentReloads.get());
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        return stats;
+    }
+    
+    private KllSketch sketchFor(Map<String, Map<MarketKey, KllSketch>> target, MarketKey key) {
+        return target.computeIfAbsent(MarketKey.normalizeCity(key.getCity()), c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new KllSketch(sketchK));
+    }
+    
+    private static BigDecimal toRent(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static final class Placement {
+        private final MarketKey key;
+        private final double rent;
+        
+        private Placement(MarketKey key, double rent) {
+            this.key = key;
+            this.rent = rent;
+        }
+    }
+    
+    private static final class Partial {
+        private final Map<MarketKey, KllSketch> sketches = new HashMap<>();
+        private final Map<Long, Placement> placements = new HashMap<>();
+    }
+}
@@ -0,0 +1,13 @@
+package com.proaim.service;
+
+import java.time.LocalDateTime;
+
+public interface PaymentArchivalService {
+    
+    // Moves settled payments created before the retention cutoff to the archive;
+    // returns the number of payments moved
+    int archiveSettledPayments();
+    
+    // Payments created before this are eligible for archival
+    LocalDateTime getArchiveCutoff();
+}
@@ -0,0 +1,94 @@
+package com.proaim.service;
+
+import com.proaim.entity.Payment;
+import com.proaim.repository.PaymentArchiveRepository;
+import com.proaim.repository.PaymentRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Keeps the hot payments table bounded to the last N months. Settled payments
+// older than that are copied to payments_archive and deleted from payments in
+// small batches, each in its own transaction, so the job never holds long locks.
+// A run stops after max-batches-per-run so a large backlog cannot hold the shared
+// scheduler thread for hours; the next run continues where it stopped.
+@Service
+@Observed(name = "service.invocations")
+public class PaymentArchivalServiceImpl implements PaymentArchivalService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentArchivalServiceImpl.class);
+    
+    // Statuses that can no longer change
+    private static final Set<Payment.PaymentStatus> SETTLED = EnumSet.of(
+            Payment.PaymentStatus.COMPLETED,
+            Payment.PaymentStatus.CANCELLED,
+            Payment.PaymentStatus.REFUNDED);
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private PaymentArchiveRepository paymentArchiveRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${payments.archive.retention-months:12}")
+    private int retentionMonths;
+    
+    @Value("${payments.archive.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${payments.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+    
+    @Override
+    @Scheduled(cron = "${payments.archive.cron:0 30 3 * * *}")
+    public int archiveSettledPayments() {
+        LocalDateTime cutoff = getArchiveCutoff();
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = paymentRepository.findArchivableIds(SETTLED, cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                paymentArchiveRepository.copyFromPayments(ids, LocalDateTime.now());
+                return paymentRepository.deleteByIds(ids);
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            if (batch == maxBatchesPerRun - 1) {
+                logger.info("Stopping after {} batches; the remaining backlog is archived on the next run",
+                        maxBatchesPerRun);
+            }
+        }
+        if (archived > 0) {
+            logger.info("Archived {} settled payments created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+    
+    // Whole months only, so each month is archived in one go
+    @Override
+    public LocalDateTime getArchiveCutoff() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths).atStartOfDay();
+    }
+}
@@ -0,0 +1,22 @@
+package com.proaim.service;
+
+import com.proaim.entity.Payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentService {
+    
+    // Basic CRUD operations
+    List<Payment> getAllPayments();
+    Optional<Payment> getPaymentById(Long id);
+    Payment createPayment(Payment payment);
+    Optional<Payment> updatePayment(Long id, Payment payment);
+    boolean deletePayment(Long id);
+    
+    // History across the hot table and the archive, ordered by payment date
+    List<Payment> getPaymentHistory(LocalDateTime startDate, LocalDateTime endDate);
+    List<Payment> getTenantPaymentHistory(Long tenantId, LocalDateTime startDate, LocalDateTime endDate);
+    List<Payment> getLandlordPaymentHistory(Long landlordId, LocalDateTime startDate, LocalDateTime endDate);
+}
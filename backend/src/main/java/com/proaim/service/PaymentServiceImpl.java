@@ -0,0 +1,194 @@
+package com.proaim.service;
+
+import com.proaim.entity.Agreement;
+import com.proaim.entity.Payment;
+import com.proaim.entity.PaymentArchive;
+import com.proaim.entity.Property;
+import com.proaim.entity.User;
+import com.proaim.event.DomainEventPublisher;
+import com.proaim.event.EventTypes;
+import com.proaim.repository.PaymentArchiveRepository;
+import com.proaim.repository.PaymentRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
+public class PaymentServiceImpl implements PaymentService {
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private PaymentArchiveRepository paymentArchiveRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+    
+    @Override
+    public List<Payment> getAllPayments() {
+        return paymentRepository.findAll();
+    }
+    
+    @Override
+    public Optional<Payment> getPaymentById(Long id) {
+        Optional<Payment> payment = paymentRepository.findById(id);
+        if (payment.isPresent()) {
+            return payment;
+        }
+        return paymentArchiveRepository.findById(id).map(this::toPayment);
+    }
+    
+    @Override
+    @Transactional
+    public Payment createPayment(Payment payment) {
+        payment.setCreatedAt(LocalDateTime.now());
+        payment.setUpdatedAt(LocalDateTime.now());
+        payment.setVersion(0L); // 👈 ensure version starts at 0
+        Payment saved = paymentRepository.save(payment);
+        publishEvent(saved, EventTypes.PAYMENT_CREATED, Map.of());
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public Optional<Payment> updatePayment(Long id, Payment updatedPayment) {
+        return paymentRepository.findById(id)
+                .map(payment -> {
+                    Map<String, Object> previous = previousRevenueFields(payment);
+                    // update fields
+                    payment.setStatus(updatedPayment.getStatus());
+                    payment.setAmount(updatedPayment.getAmount());
+                    payment.setPaymentDate(updatedPayment.getPaymentDate());
+                    payment.setDueDate(updatedPayment.getDueDate());
+                    payment.setPaymentDescription(updatedPayment.getPaymentDescription());
+                    payment.setMethod(updatedPayment.getMethod());
+                    payment.setTransactionId(updatedPayment.getTransactionId());
+                    payment.setLateFee(updatedPayment.getLateFee());
+                    payment.setProcessingFee(updatedPayment.getProcessingFee());
+                    payment.setTotalAmount(updatedPayment.getTotalAmount());
+                    payment.setUpdatedAt(LocalDateTime.now());
+                    
+                    // 👇 version is automatically handled by JPA
+                    Payment saved = paymentRepository.save(payment);
+                    publishEvent(saved, EventTypes.PAYMENT_UPDATED, previous);
+                    return saved;
+                });
+    }
+    
+    @Override
+    @Transactional
+    public boolean deletePayment(Long id) {
+        return paymentRepository.findById(id)
+                .map(payment -> {
+                    publishEvent(payment, EventTypes.PAYMENT_DELETED, Map.of());
+                    paymentRepository.delete(payment);
+                    return true;
+                })
+                .orElse(false);
+    }
+    
+    @Override
+    public List<Payment> getPaymentHistory(LocalDateTime startDate, LocalDateTime endDate) {
+        return mergeHistory(paymentRepository.findByPaymentDateBetween(startDate, endDate),
+                paymentArchiveRepository.findByPaymentDateBetween(startDate, endDate));
+    }
+    
+    @Override
+    public List<Payment> getTenantPaymentHistory(Long tenantId, LocalDateTime startDate, LocalDateTime endDate) {
+        return mergeHistory(paymentRepository.findByTenantIdAndPaymentDateBetween(tenantId, startDate, endDate),
+                paymentArchiveRepository.findByTenantIdAndPaymentDateBetween(tenantId, startDate, endDate));
+    }
+    
+    @Override
+    public List<Payment> getLandlordPaymentHistory(Long landlordId, LocalDateTime startDate, LocalDateTime endDate) {
+        return mergeHistory(paymentRepository.findByLandlordIdAndPaymentDateBetween(landlordId, startDate, endDate),
+                paymentArchiveRepository.findByLandlordIdAndPaymentDateBetween(landlordId, startDate, endDate));
+    }
+    
+    // Archived rows only cover months the hot table no longer has, so there are no duplicates
+    private List<Payment> mergeHistory(List<Payment> hot, List<PaymentArchive> archived) {
+        List<Payment> history = new ArrayList<>(hot.size() + archived.size());
+        for (PaymentArchive row : archived) {
+            history.add(toPayment(row));
+        }
+        history.addAll(hot);
+        history.sort(Comparator.comparing(Payment::getPaymentDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Payment::getId));
+        return history;
+    }
+    
+    // Rebuilds a detached Payment so archived rows come back in the same shape as
+    // live ones; related entities are unloaded references, serialized as their id
+    private Payment toPayment(PaymentArchive row) {
+        Payment payment = new Payment();
+        payment.setId(row.getId());
+        payment.setTenant(reference(User.class, row.getTenantId()));
+        payment.setLandlord(reference(User.class, row.getLandlordId()));
+        payment.setProperty(reference(Property.class, row.getPropertyId()));
+        payment.setAgreement(reference(Agreement.class, row.getAgreementId()));
+        payment.setType(row.getType());
+        payment.setStatus(row.getStatus());
+        payment.setPaymentReference(row.getPaymentReference());
+        payment.setAmount(row.getAmount());
+        payment.setPaymentDate(row.getPaymentDate());
+        payment.setDueDate(row.getDueDate());
+        payment.setProcessedAt(row.getProcessedAt());
+        payment.setMethod(row.getMethod());
+        payment.setTransactionId(row.getTransactionId());
+        payment.setPaymentDescription(row.getPaymentDescription());
+        payment.setLateFee(row.getLateFee());
+        payment.setProcessingFee(row.getProcessingFee());
+        payment.setTotalAmount(row.getTotalAmount());
+        payment.setCreatedAt(row.getCreatedAt());
+        payment.setUpdatedAt(row.getArchivedAt());
+        return payment;
+    }
+    
+    private <T> T reference(Class<T> type, Long id) {
+        return id != null ? entityManager.getReference(type, id) : null;
+    }
+    
+    // The fields revenue rollups need, as they were before an update
+    private Map<String, Object> previousRevenueFields(Payment payment) {
+        Map<String, Object> previous = new LinkedHashMap<>();
+        previous.put("previousStatus", payment.getStatus() != null ? payment.getStatus().name() : null);
+        previous.put("previousAmount", payment.getAmount());
+        previous.put("previousLateFee", payment.getLateFee());
+        previous.put("previousProcessingFee", payment.getProcessingFee());
+        previous.put("previousPaymentDate", payment.getPaymentDate() != null ? payment.getPaymentDate().toString() : null);
+        return previous;
+    }
+    
+    private void publishEvent(Payment payment, String eventType, Map<String, Object> previous) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("paymentId", payment.getId());
+        payload.put("tenantId", payment.getTenant() != null ? payment.getTenant().getId() : null);
+        payload.put("landlordId", payment.getLandlord() != null ? payment.getLandlord().getId() : null);
+        payload.put("propertyId", payment.getProperty() != null ? payment.getProperty().getId() : null);
+        payload.put("status", payment.getStatus() != null ? payment.getStatus().name() : null);
+        payload.put("type", payment.getType() != null ? payment.getType().name() : null);
+        payload.put("amount", payment.getAmount());
+        payload.put("lateFee", payment.getLateFee());
+        payload.put("processingFee", payment.getProcessingFee());
+        payload.put("paymentDate", payment.getPaymentDate() != null ? payment.getPaymentDate().toString() : null);
+        payload.putAll(previous);
+        domainEventPublisher.publish(EventTypes.PAYMENT, payment.getId(), eventType, payload);
+    }
+}
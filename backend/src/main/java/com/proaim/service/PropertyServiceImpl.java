@@ -2,8 +2,12 @@ package com.proaim.service;
 
 import com.proaim.entity.Property;
 import com.proaim.entity.User;
+import com.proaim.event.DomainEventPublisher;
+import com.proaim.event.EventTypes;
 import com.proaim.repository.PropertyRepository;
 import com.proaim.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,11 +16,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
-@Transactional
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
 public class PropertyServiceImpl implements PropertyService {
     
     @Autowired
@@ -25,7 +32,14 @@ public class PropertyServiceImpl implements PropertyService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ApplicationScoringService applicationScoringService;
+    
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+    
     @Override
+    @Transactional
     public Property createProperty(Property property) {
         // Validate landlord exists
         if (property.getLandlord() == null || property.getLandlord().getId() == null) {
@@ -42,10 +56,13 @@ public class PropertyServiceImpl implements PropertyService {
         property.setCreatedAt(LocalDateTime.now());
         property.setUpdatedAt(LocalDateTime.now());
         
-        return propertyRepository.save(property);
+        Property saved = propertyRepository.save(property);
+        publishEvent(saved, EventTypes.PROPERTY_CREATED);
+        return saved;
     }
     
     @Override
+    @Transactional
     public Property updateProperty(Long id, Property propertyDetails) {
         Optional<Property> existingProperty = propertyRepository.findById(id);
         if (existingProperty.isEmpty()) {
@@ -120,11 +137,14 @@ public class PropertyServiceImpl implements PropertyService {
         }
         
         property.setUpdatedAt(LocalDateTime.now());
+        applicationScoringService.evictProperty(id);
+        publishEvent(property, EventTypes.PROPERTY_UPDATED);
         
-        return propertyRepository.save(property);
+        return withDetails(propertyRepository.save(property));
     }
     
     @Override
+    @Transactional
     public void deleteProperty(Long id) {
         Optional<Property> property = propertyRepository.findById(id);
         if (property.isEmpty()) {
@@ -133,35 +153,39 @@ public class PropertyServiceImpl implements PropertyService {
         
         // Check if property can be deleted (no active agreements)
         // This is a simplified check - in production you'd want more comprehensive validation
+        publishEvent(property.get(), EventTypes.PROPERTY_DELETED);
         propertyRepository.deleteById(id);
+        applicationScoringService.evictProperty(id);
     }
     
     @Override
     public Optional<Property> getPropertyById(Long id) {
-        return propertyRepository.findById(id);
+        Optional<Property> property = propertyRepository.findById(id);
+        property.ifPresent(this::withDetails);
+        return property;
     }
     
     @Override
     public List<Property> getAllProperties() {
-        return propertyRepository.findAll();
+        return propertyRepository.findAllDetached();
     }
     
     @Override
     public Page<Property> getAllProperties(Pageable pageable) {
-        return propertyRepository.findAll(pageable);
+        return withDetails(propertyRepository.findAll(pageable));
     }
     
     @Override
     public List<Property> searchProperties(String city, String state, BigDecimal minRent, BigDecimal maxRent,
                                          Integer bedrooms, Integer bathrooms, Boolean petsAllowed, Boolean smokingAllowed) {
-        return propertyRepository.searchProperties(city, state, minRent, maxRent, bedrooms, bathrooms, petsAllowed, smokingAllowed, Pageable.unpaged()).getContent();
+        return propertyRepository.searchDetached(city, state, minRent, maxRent, bedrooms, bathrooms, petsAllowed, smokingAllowed);
     }
     
     @Override
     public Page<Property> searchProperties(String city, String state, BigDecimal minRent, BigDecimal maxRent,
                                          Integer bedrooms, Integer bathrooms, Boolean petsAllowed, Boolean smokingAllowed,
                                          Pageable pageable) {
-        return propertyRepository.searchProperties(city, state, minRent, maxRent, bedrooms, bathrooms, petsAllowed, smokingAllowed, pageable);
+        return withDetails(propertyRepository.searchProperties(city, state, minRent, maxRent, bedrooms, bathrooms, petsAllowed, smokingAllowed, pageable));
     }
     
     @Override
@@ -170,7 +194,7 @@ public class PropertyServiceImpl implements PropertyService {
         if (landlord.isEmpty()) {
             throw new IllegalArgumentException("Landlord not found");
         }
-        return propertyRepository.findByLandlord(landlord.get());
+        return withDetails(propertyRepository.findByLandlord(landlord.get()));
     }
     
     @Override
@@ -179,10 +203,7 @@ public class PropertyServiceImpl implements PropertyService {
         if (landlord.isEmpty()) {
             throw new IllegalArgumentException("Landlord not found");
         }
-        // Note: This would need a custom repository method for pagination
-        List<Property> properties = propertyRepository.findByLandlord(landlord.get());
-        // For now, return unpaged results
-        return Page.empty(pageable);
+        return withDetails(propertyRepository.findByLandlord(landlord.get(), pageable));
     }
     
     @Override
@@ -196,10 +217,11 @@ public class PropertyServiceImpl implements PropertyService {
     
     @Override
     public List<Property> getPropertiesByStatus(Property.PropertyStatus status) {
-        return propertyRepository.findByStatus(status);
+        return withDetails(propertyRepository.findByStatus(status));
     }
     
     @Override
+    @Transactional
     public Property updatePropertyStatus(Long id, Property.PropertyStatus status) {
         Optional<Property> property = propertyRepository.findById(id);
         if (property.isEmpty()) {
@@ -209,18 +231,19 @@ public class PropertyServiceImpl implements PropertyService {
         Property existingProperty = property.get();
         existingProperty.setStatus(status);
         existingProperty.setUpdatedAt(LocalDateTime.now());
+        publishEvent(existingProperty, EventTypes.PROPERTY_STATUS_CHANGED);
         
-        return propertyRepository.save(existingProperty);
+        return withDetails(propertyRepository.save(existingProperty));
     }
     
     @Override
     public List<Property> getPropertiesNearLocation(Double latitude, Double longitude, Double radius) {
-        return propertyRepository.findPropertiesNearLocation(latitude, longitude, radius);
+        return withDetails(propertyRepository.findPropertiesNearLocation(latitude, longitude, radius));
     }
     
     @Override
     public Page<Property> getFeaturedProperties(Pageable pageable) {
-        return propertyRepository.findFeaturedProperties(pageable);
+        return withDetails(propertyRepository.findFeaturedProperties(pageable));
     }
     
     @Override
@@ -240,17 +263,17 @@ public class PropertyServiceImpl implements PropertyService {
     
     @Override
     public List<Property> getPropertiesExpiringSoon() {
-        return propertyRepository.findPropertiesExpiringSoon(LocalDateTime.now().plusDays(30));
+        return withDetails(propertyRepository.findPropertiesExpiringSoon(LocalDateTime.now().plusDays(30)));
     }
     
     @Override
     public List<Property> getPropertiesByType(String propertyType) {
-        return propertyRepository.findByPropertyType(propertyType);
+        return withDetails(propertyRepository.findByPropertyType(propertyType));
     }
     
     @Override
     public List<Property> getPropertiesByFurnishingStatus(String furnishingStatus) {
-        return propertyRepository.findByFurnishingStatus(furnishingStatus);
+        return withDetails(propertyRepository.findByFurnishingStatus(furnishingStatus));
     }
     
     @Override
@@ -262,31 +285,60 @@ public class PropertyServiceImpl implements PropertyService {
     
     @Override
     public List<Property> getPropertiesByRentRange(BigDecimal minRent, BigDecimal maxRent) {
-        return propertyRepository.findByRentAmountBetween(minRent, maxRent);
+        return withDetails(propertyRepository.findByRentAmountBetween(minRent, maxRent));
     }
     
     @Override
     public List<Property> getPropertiesByBedrooms(Integer bedrooms) {
-        return propertyRepository.findByBedrooms(bedrooms);
+        return withDetails(propertyRepository.findByBedrooms(bedrooms));
     }
     
     @Override
     public List<Property> getPropertiesByBathrooms(Integer bathrooms) {
-        return propertyRepository.findByBathrooms(bathrooms);
+        return withDetails(propertyRepository.findByBathrooms(bathrooms));
     }
     
     @Override
     public List<Property> getPropertiesByPetPolicy(Boolean petsAllowed) {
-        return propertyRepository.findByPetsAllowed(petsAllowed);
+        return withDetails(propertyRepository.findByPetsAllowed(petsAllowed));
     }
     
     @Override
     public List<Property> getPropertiesBySmokingPolicy(Boolean smokingAllowed) {
-        return propertyRepository.findBySmokingAllowed(smokingAllowed);
+        return withDetails(propertyRepository.findBySmokingAllowed(smokingAllowed));
     }
     
     @Override
     public List<Property> getPropertiesByLeaseTerm(Integer leaseTermMonths) {
-        return propertyRepository.findByLeaseTermMonths(leaseTermMonths);
+        return withDetails(propertyRepository.findByLeaseTermMonths(leaseTermMonths));
+    }
+    
+    // Amenities and images are lazy and the response is written after the transaction
+    // ends. The first collection missing from the second-level cache is loaded by a
+    // subselect together with those of every other property of the query, so a list
+    // costs at most two extra statements, not two per row.
+    private <T extends Iterable<Property>> T withDetails(T properties) {
+        for (Property property : properties) {
+            withDetails(property);
+        }
+        return properties;
+    }
+    
+    private Property withDetails(Property property) {
+        Hibernate.initialize(property.getAmenities());
+        Hibernate.initialize(property.getImageUrls());
+        return property;
+    }
+    
+    private void publishEvent(Property property, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("propertyId", property.getId());
+        payload.put("landlordId", property.getLandlord() != null ? property.getLandlord().getId() : null);
+        payload.put("status", property.getStatus() != null ? property.getStatus().name() : null);
+        payload.put("city", property.getCity());
+        payload.put("propertyType", property.getPropertyType());
+        payload.put("bedrooms", property.getBedrooms());
+        payload.put("rentAmount", property.getRentAmount());
+        domainEventPublisher.publish(EventTypes.PROPERTY, property.getId(), eventType, payload);
     }
 }
@@ -0,0 +1,22 @@
+package com.proaim.service;
+
+public interface RefreshTokenService {
+    
+    // Starts a new token family at login; the raw token is returned once and never stored
+    IssuedToken issue(Long userId);
+    
+    // Exchanges a refresh token for the next one in its family. The presented token
+    // can't be used again; presenting it a second time revokes the whole family,
+    // including the access tokens issued with it.
+    // Throws BadCredentialsException when the token is unknown, expired, revoked or reused
+    IssuedToken rotate(String refreshToken);
+    
+    // Revokes the token's family and its access tokens (logout); unknown tokens are ignored
+    void revoke(String refreshToken);
+    
+    // Deletes expired tokens; returns the number removed
+    int purgeExpired();
+    
+    // Access tokens issued with the refresh token carry its family id
+    record IssuedToken(Long userId, String refreshToken, String familyId) {}
+}
@@ -0,0 +1,109 @@
+package com.proaim.service;
+
+import com.proaim.entity.RefreshToken;
+import com.proaim.repository.RefreshTokenRepository;
+import com.proaim.security.TokenDenylist;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Refresh tokens are 256 random bits handed to the client once; the table keeps only
+// their SHA-256, so a leaked table can't be replayed. A plain hash is enough (no BCrypt)
+// because the input is random rather than a guessable password.
+@Service
+@Observed(name = "service.invocations")
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+    
+    @Value("${jwt.expiration}")
+    private long accessExpirationMs;
+    
+    private final SecureRandom random = new SecureRandom();
+    
+    @Override
+    public IssuedToken issue(Long userId) {
+        return issue(userId, randomString(16));
+    }
+    
+    private IssuedToken issue(Long userId, String familyId) {
+        String token = randomString(32);
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L);
+        refreshTokenRepository.save(new RefreshToken(hash(token), userId, familyId, expiresAt));
+        return new IssuedToken(userId, token, familyId);
+    }
+    
+    // Reuse must still revoke the family even though the call fails
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public IssuedToken rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        if (current.isRevoked() || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadCredentialsException("Refresh token is expired or revoked");
+        }
+        // The conditional update makes two concurrent rotations of one token count as reuse
+        if (current.getRotatedAt() != null || refreshTokenRepository.markRotated(current.getId(), LocalDateTime.now()) == 0) {
+            revokeFamily(current.getFamilyId());
+            logger.warn("Refresh token reuse for user {}; revoked its token family", current.getUserId());
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        return issue(current.getUserId(), current.getFamilyId());
+    }
+    
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    }
+    
+    // Access tokens of the family live at most one access token lifetime from now
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        tokenDenylist.revoke(familyId, System.currentTimeMillis() + accessExpirationMs);
+    }
+    
+    private String randomString(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return ENCODER.encodeToString(value);
+    }
+    
+    private static String hash(String token) {
+        try {
+            return ENCODER.encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.proaim.service;
+
+import com.proaim.dto.RevenueBucket;
+import com.proaim.dto.RevenueSummary;
+import com.proaim.service.revenue.Granularity;
+import com.proaim.service.revenue.PaymentRevenue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface RevenueRollupService {
+    
+    // Applies one payment event: takes back what the payment counted for before the
+    // change and adds what it counts for after. before is null for a new payment,
+    // after is null for a deleted one. Fails while the rollups are still loading.
+    void applyPaymentChange(Long eventId, Long propertyId, Long landlordId, PaymentRevenue before, PaymentRevenue after);
+    
+    // Whether the startup load has finished and payment events can be applied
+    boolean isLoaded();
+    
+    // Totals over [from, to] inclusive
+    RevenueSummary getPropertyRevenue(Long propertyId, LocalDate from, LocalDate to);
+    RevenueSummary getLandlordRevenue(Long landlordId, LocalDate from, LocalDate to);
+    
+    // Non-empty buckets of the given size in [from, to]
+    List<RevenueBucket> getPropertyRevenueSeries(Long propertyId, LocalDate from, LocalDate to, Granularity granularity);
+    List<RevenueBucket> getLandlordRevenueSeries(Long landlordId, LocalDate from, LocalDate to, Granularity granularity);
+    
+    // Drops day and week buckets that fell out of their retention windows
+    void compact();
+    
+    Map<String, Object> getStats();
+}
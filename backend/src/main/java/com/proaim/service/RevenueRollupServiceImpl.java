@@ -0,0 +1,276 @@
+package com.proaim.service;
+
+import com.proaim.dto.RevenueBucket;
+import com.proaim.dto.RevenueSummary;
+import com.proaim.entity.Payment;
+import com.proaim.event.EventTypes;
+import com.proaim.event.OutboxFeed;
+import com.proaim.repository.OutboxEventRepository;
+import com.proaim.repository.PaymentArchiveRepository;
+import com.proaim.repository.PaymentRepository;
+import com.proaim.repository.PaymentRevenueRow;
+import com.proaim.service.revenue.Granularity;
+import com.proaim.service.revenue.PaymentRevenue;
+import com.proaim.service.revenue.RevenueSeries;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Keeps per-property and per-landlord revenue in memory as day, week and month
+// buckets (see RevenueSeries), so dashboard range totals never scan payments.
+// Built once from both payment tables at startup, then kept current from payment
+// events, which carry the payment's state before and after the change; nothing is
+// kept per payment. This node's OutboxFeed holds events back until the load has
+// finished. The load notes which payment events in its snapshot the feed has yet to
+// deliver and skips them when they arrive, because their changes were already read
+// from the tables. Recently applied event ids are remembered so a redelivered event
+// is not counted twice.
+// Payment dates are clamped to [today - max-history-months, today + max-future-days]
+// so a mistyped year cannot grow the bucket arrays without bound.
+@Service
+@Observed(name = "service.invocations")
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupServiceImpl.class);
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private PaymentArchiveRepository paymentArchiveRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private OutboxFeed outboxFeed;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${revenue.rollup.day-retention-days:400}")
+    private int dayRetentionDays;
+    
+    @Value("${revenue.rollup.week-retention-weeks:260}")
+    private int weekRetentionWeeks;
+    
+    @Value("${revenue.rollup.max-history-months:240}")
+    private int maxHistoryMonths;
+    
+    @Value("${revenue.rollup.max-future-days:366}")
+    private int maxFutureDays;
+    
+    @Value("${revenue.rollup.applied-event-window:10000}")
+    private int appliedEventWindow;
+    
+    private final Map<Long, RevenueSeries> propertySeries = new ConcurrentHashMap<>();
+    private final Map<Long, RevenueSeries> landlordSeries = new ConcurrentHashMap<>();
+    
+    // Payment events in the load's snapshot that the feed had not delivered yet
+    private final Set<Long> eventsInSnapshot = new HashSet<>();
+    
+    // Ids of the most recently applied events, oldest first
+    private final Set<Long> appliedEvents = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > appliedEventWindow;
+        }
+    });
+    
+    private final AtomicLong skippedEvents = new AtomicLong();
+    private final AtomicLong clampedDates = new AtomicLong();
+    
+    private volatile boolean loaded;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadRollups() {
+        long started = System.currentTimeMillis();
+        // Set the day and week floors first so old payments never widen those tiers
+        compact();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // One snapshot for the outbox and both payment tables
+        readOnly.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        int rows = readOnly.execute(status -> {
+            // The feed does not move while the rollups are not loaded
+            for (Long id : outboxEventRepository.findIdsAfter(EventTypes.PAYMENT, outboxFeed.getFloor())) {
+                if (outboxFeed.isPending(id)) {
+                    eventsInSnapshot.add(id);
+                }
+            }
+            int count = 0;
+            try (Stream<PaymentRevenueRow> archived = paymentArchiveRepository.streamRevenueRows(Payment.PaymentStatus.COMPLETED)) {
+                count += archived.mapToInt(this::recordRow).sum();
+            }
+            try (Stream<PaymentRevenueRow> hot = paymentRepository.streamRevenueRows(Payment.PaymentStatus.COMPLETED)) {
+                count += hot.mapToInt(this::recordRow).sum();
+            }
+            return count;
+        });
+        compact();
+        loaded = true;
+        logger.info("Revenue rollups built from {} completed payments for {} properties and {} landlords in {} ms",
+                rows, propertySeries.size(), landlordSeries.size(), System.currentTimeMillis() - started);
+    }
+    
+    private int recordRow(PaymentRevenueRow row) {
+        apply(row.getPropertyId(), row.getLandlordId(), new PaymentRevenue(Payment.PaymentStatus.COMPLETED.name(),
+                row.getPaymentDate() != null ? row.getPaymentDate().toLocalDate() : null,
+                row.getAmount(), row.getLateFee(), row.getProcessingFee()), 1);
+        return 1;
+    }
+    
+    @Override
+    public synchronized void applyPaymentChange(Long eventId, Long propertyId, Long landlordId,
+                                                PaymentRevenue before, PaymentRevenue after) {
+        if (!loaded) {
+            throw new IllegalStateException("Revenue rollups are still loading");
+        }
+        if (eventId != null) {
+            boolean inSnapshot = eventsInSnapshot.remove(eventId);
+            if (!appliedEvents.add(eventId) || inSnapshot) {
+                skippedEvents.incrementAndGet();
+                return;
+            }
+        }
+        if (before != null) {
+            apply(propertyId, landlordId, before, -1);
+        }
+        if (after != null) {
+            apply(propertyId, landlordId, after, 1);
+        }
+    }
+    
+    @Override
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    private void apply(Long propertyId, Long landlordId, PaymentRevenue payment, int sign) {
+        if (!payment.counts()) {
+            return;
+        }
+        LocalDate day = clamp(payment.getDay());
+        long amount = sign * toCents(payment.getAmount());
+        long lateFee = sign * toCents(payment.getLateFee());
+        long processingFee = sign * toCents(payment.getProcessingFee());
+        if (propertyId != null) {
+            propertySeries.computeIfAbsent(propertyId, id -> new RevenueSeries())
+                    .add(day, amount, lateFee, processingFee);
+        }
+        if (landlordId != null) {
+            landlordSeries.computeIfAbsent(landlordId, id -> new RevenueSeries())
+                    .add(day, amount, lateFee, processingFee);
+        }
+    }
+    
+    private LocalDate clamp(LocalDate day) {
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = today.minusMonths(maxHistoryMonths);
+        LocalDate latest = today.plusDays(maxFutureDays);
+        if (day.isBefore(earliest)) {
+            clampedDates.incrementAndGet();
+            return earliest;
+        }
+        if (day.isAfter(latest)) {
+            clampedDates.incrementAndGet();
+            return latest;
+        }
+        return day;
+    }
+    
+    @Override
+    public RevenueSummary getPropertyRevenue(Long propertyId, LocalDate from, LocalDate to) {
+        return summarize("PROPERTY", propertyId, propertySeries.get(propertyId), from, to);
+    }
+    
+    @Override
+    public RevenueSummary getLandlordRevenue(Long landlordId, LocalDate from, LocalDate to) {
+        return summarize("LANDLORD", landlordId, landlordSeries.get(landlordId), from, to);
+    }
+    
+    private RevenueSummary summarize(String scope, Long scopeId, RevenueSeries series, LocalDate from, LocalDate to) {
+        RevenueSeries.RangeSum sum = (series != null ? series : new RevenueSeries()).sum(from, to);
+        return new RevenueSummary(scope, scopeId, sum.getFrom(), sum.getTo(), sum.getResolution().name(),
+                fromCents(sum.getAmount()), fromCents(sum.getLateFee()), fromCents(sum.getProcessingFee()));
+    }
+    
+    @Override
+    public List<RevenueBucket> getPropertyRevenueSeries(Long propertyId, LocalDate from, LocalDate to,
+                                                        Granularity granularity) {
+        return toBuckets(propertySeries.get(propertyId), from, to, granularity);
+    }
+    
+    @Override
+    public List<RevenueBucket> getLandlordRevenueSeries(Long landlordId, LocalDate from, LocalDate to,
+                                                        Granularity granularity) {
+        return toBuckets(landlordSeries.get(landlordId), from, to, granularity);
+    }
+    
+    private List<RevenueBucket> toBuckets(RevenueSeries series, LocalDate from, LocalDate to, Granularity granularity) {
+        List<RevenueBucket> buckets = new ArrayList<>();
+        if (series == null) {
+            return buckets;
+        }
+        for (long[] bucket : series.buckets(granularity, from, to)) {
+            buckets.add(new RevenueBucket(granularity.startOf(bucket[0]), granularity.endOf(bucket[0]),
+                    fromCents(bucket[1]), fromCents(bucket[2]), fromCents(bucket[3])));
+        }
+        return buckets;
+    }
+    
+    @Override
+    @Scheduled(cron = "${revenue.rollup.compaction-cron:0 15 2 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        LocalDate dayFloor = today.minusDays(dayRetentionDays);
+        LocalDate weekFloor = today.minusWeeks(weekRetentionWeeks);
+        propertySeries.values().forEach(series -> series.compact(dayFloor, weekFloor));
+        landlordSeries.values().forEach(series -> series.compact(dayFloor, weekFloor));
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("properties", propertySeries.size());
+        stats.put("landlords", landlordSeries.size());
+        stats.put("eventsAwaitingReplay", eventsInSnapshot.size());
+        stats.put("skippedEvents", skippedEvents.get());
+        stats.put("clampedDates", clampedDates.get());
+        stats.put("dayRetentionDays", dayRetentionDays);
+        stats.put("weekRetentionWeeks", weekRetentionWeeks);
+        return stats;
+    }
+    
+    private static long toCents(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+    
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -4,13 +4,17 @@ import com.proaim.dto.RegisterRequest;
 import com.proaim.entity.Role;
 import com.proaim.entity.User;
 import com.proaim.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Observed(name = "service.invocations")
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     
     @Autowired
@@ -20,6 +24,7 @@ public class UserServiceImpl implements UserService {
     private PasswordEncoder passwordEncoder;
     
     @Override
+    @Transactional
     public User createUser(RegisterRequest registerRequest) {
         User user = new User();
         user.setUsername(registerRequest.getUsername());
@@ -44,6 +49,7 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional
     public User updateUser(Long id, User user) {
         User existingUser = getUserById(id);
         existingUser.setFirstName(user.getFirstName());
@@ -54,6 +60,7 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
@@ -0,0 +1,92 @@
+package com.proaim.service.export;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Exportable data sets. Every source of a data set exposes the same column names;
+// payments read the hot table first and then the archive.
+public enum ExportDataset {
+
+    PAYMENTS("paymentDate", List.of(
+            new ExportSource("Payment", columns(
+                    "id", "id",
+                    "tenantId", "tenant.id",
+                    "landlordId", "landlord.id",
+                    "propertyId", "property.id",
+                    "agreementId", "agreement.id",
+                    "type", "type",
+                    "status", "status",
+                    "paymentReference", "paymentReference",
+                    "amount", "amount",
+                    "lateFee", "lateFee",
+                    "processingFee", "processingFee",
+                    "totalAmount", "totalAmount",
+                    "paymentDate", "paymentDate",
+                    "dueDate", "dueDate",
+                    "processedAt", "processedAt",
+                    "method", "method",
+                    "createdAt", "createdAt")),
+            new ExportSource("PaymentArchive", columns(
+                    "id", "id",
+                    "tenantId", "tenantId",
+                    "landlordId", "landlordId",
+                    "propertyId", "propertyId",
+                    "agreementId", "agreementId",
+                    "type", "type",
+                    "status", "status",
+                    "paymentReference", "paymentReference",
+                    "amount", "amount",
+                    "lateFee", "lateFee",
+                    "processingFee", "processingFee",
+                    "totalAmount", "totalAmount",
+                    "paymentDate", "paymentDate",
+                    "dueDate", "dueDate",
+                    "processedAt", "processedAt",
+                    "method", "method",
+                    "createdAt", "createdAt")))),
+
+    AGREEMENTS("startDate", List.of(
+            new ExportSource("Agreement", columns(
+                    "id", "id",
+                    "agreementNumber", "agreementNumber",
+                    "tenantId", "tenant.id",
+                    "landlordId", "landlord.id",
+                    "propertyId", "property.id",
+                    "status", "status",
+                    "startDate", "startDate",
+                    "endDate", "endDate",
+                    "rentAmount", "rentAmount",
+                    "securityDeposit", "securityDeposit",
+                    "leaseTermMonths", "leaseTermMonths",
+                    "paymentDueDay", "paymentDueDay",
+                    "lateFee", "lateFee",
+                    "signedAt", "signedAt",
+                    "terminationDate", "terminationDate",
+                    "createdAt", "createdAt"))));
+
+    // Column the from/to range applies to
+    private final String dateColumn;
+    private final List<ExportSource> sources;
+
+    ExportDataset(String dateColumn, List<ExportSource> sources) {
+        this.dateColumn = dateColumn;
+        this.sources = sources;
+    }
+
+    public String getDateColumn() { return dateColumn; }
+    public List<ExportSource> getSources() { return sources; }
+
+    public List<String> getColumns() {
+        return new ArrayList<>(sources.get(0).getColumnPaths().keySet());
+    }
+
+    private static Map<String, String> columns(String... namesAndPaths) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            columns.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return columns;
+    }
+}
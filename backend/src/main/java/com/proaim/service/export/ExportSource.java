@@ -0,0 +1,18 @@
+package com.proaim.service.export;
+
+import java.util.Map;
+
+// One entity an export reads from, with the HQL path of each exported column
+public class ExportSource {
+
+    private final String entityName;
+    private final Map<String, String> columnPaths;
+
+    public ExportSource(String entityName, Map<String, String> columnPaths) {
+        this.entityName = entityName;
+        this.columnPaths = columnPaths;
+    }
+
+    public String getEntityName() { return entityName; }
+    public Map<String, String> getColumnPaths() { return columnPaths; }
+}
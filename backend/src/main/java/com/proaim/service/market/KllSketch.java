@@ -0,0 +1,199 @@
+package com.proaim.service.market;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// KLL quantile sketch (Karnin, Lang, Liberty). Level h holds values that each
+// stand for 2^h inputs; when a level fills up it is sorted and every other value
+// is promoted to the next level. Higher levels get geometrically larger
+// capacities, so the sketch retains O(k) values however many it has seen, and
+// rank error is about 1.7/k. Sketches built separately can be merged.
+public class KllSketch {
+
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = {new double[8]};
+    private int[] sizes = {0};
+    private int retained;
+    private int maxRetained;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // Sorted values with cumulative weights, rebuilt on the first query after a change
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    public KllSketch(int k) {
+        this.k = k;
+        this.maxRetained = capacity(0);
+    }
+
+    public synchronized void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        retained++;
+        if (retained >= maxRetained) {
+            compress();
+        }
+        sortedValues = null;
+    }
+
+    public void merge(KllSketch other) {
+        double[][] otherLevels;
+        int[] otherSizes;
+        long otherCount;
+        double otherMin;
+        double otherMax;
+        synchronized (other) {
+            otherLevels = new double[other.levels.length][];
+            for (int h = 0; h < otherLevels.length; h++) {
+                otherLevels[h] = Arrays.copyOf(other.levels[h], other.sizes[h]);
+            }
+            otherSizes = other.sizes.clone();
+            otherCount = other.count;
+            otherMin = other.min;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            while (levels.length < otherLevels.length) {
+                grow();
+            }
+            for (int h = 0; h < otherLevels.length; h++) {
+                for (int i = 0; i < otherSizes[h]; i++) {
+                    append(h, otherLevels[h][i]);
+                }
+                retained += otherSizes[h];
+            }
+            count += otherCount;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+            while (retained >= maxRetained) {
+                compress();
+            }
+            sortedValues = null;
+        }
+    }
+
+    // Value at the given rank fraction in [0, 1]; NaN when empty
+    public synchronized double quantile(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        }
+        if (fraction >= 1) {
+            return max;
+        }
+        if (sortedValues == null) {
+            buildSortedView();
+        }
+        long totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+        long target = (long) Math.ceil(fraction * totalWeight);
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return sortedValues[Math.min(index, sortedValues.length - 1)];
+    }
+
+    public synchronized long getCount() { return count; }
+    public synchronized double getMin() { return count > 0 ? min : Double.NaN; }
+    public synchronized double getMax() { return count > 0 ? max : Double.NaN; }
+    public synchronized int getRetained() { return retained; }
+
+    private int capacity(int level) {
+        int height = levels.length - level - 1;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(DECAY, height)) + 1);
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    private void grow() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new double[8];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        maxRetained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    // Compacts full levels bottom-up until the sketch is back under its budget
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacity(h)) {
+                if (h + 1 >= levels.length) {
+                    grow();
+                }
+                compact(h);
+                if (retained < maxRetained) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // Sorts the level and promotes one value from each adjacent pair, picking the
+    // lower or upper one at random so the error is unbiased. With an odd size the
+    // smallest value stays behind.
+    private void compact(int level) {
+        int size = sizes[level];
+        double[] values = levels[level];
+        Arrays.sort(values, 0, size);
+        int start = size & 1;
+        int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, values[i]);
+        }
+        sizes[level] = start;
+        retained -= (size - start) / 2;
+    }
+
+    private void buildSortedView() {
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int filled = 0;
+        // Each level sorted on its own, then merged into the accumulated run
+        for (int h = 0; h < levels.length; h++) {
+            int size = sizes[h];
+            if (size == 0) {
+                continue;
+            }
+            double[] level = Arrays.copyOf(levels[h], size);
+            Arrays.sort(level);
+            double[] mergedValues = new double[filled + size];
+            long[] mergedWeights = new long[filled + size];
+            int i = 0, j = 0, m = 0;
+            while (i < filled || j < size) {
+                if (j >= size || (i < filled && values[i] <= level[j])) {
+                    mergedValues[m] = values[i];
+                    mergedWeights[m++] = weights[i++];
+                } else {
+                    mergedValues[m] = level[j++];
+                    mergedWeights[m++] = 1L << h;
+                }
+            }
+            filled += size;
+            System.arraycopy(mergedValues, 0, values, 0, filled);
+            System.arraycopy(mergedWeights, 0, weights, 0, filled);
+        }
+        for (int i = 1; i < filled; i++) {
+            weights[i] += weights[i - 1];
+        }
+        sortedValues = values;
+        cumulativeWeights = weights;
+    }
+}
@@ -0,0 +1,40 @@
+package com.proaim.service.market;
+
+import java.util.Locale;
+import java.util.Objects;
+
+// One market segment for rent statistics. The city is kept as stored so a
+// segment can be reloaded with an indexed equality match.
+public final class MarketKey {
+
+    private final String city;
+    private final int bedrooms;
+    private final String propertyType;
+
+    public MarketKey(String city, int bedrooms, String propertyType) {
+        this.city = city;
+        this.bedrooms = bedrooms;
+        this.propertyType = propertyType;
+    }
+
+    public String getCity() { return city; }
+    public int getBedrooms() { return bedrooms; }
+    public String getPropertyType() { return propertyType; }
+
+    // Lookup form of a city name, so queries are case- and whitespace-insensitive
+    public static String normalizeCity(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MarketKey other)) return false;
+        return bedrooms == other.bedrooms && city.equals(other.city) && propertyType.equals(other.propertyType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(city, bedrooms, propertyType);
+    }
+}
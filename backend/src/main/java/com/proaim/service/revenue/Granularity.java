@@ -0,0 +1,54 @@
+package com.proaim.service.revenue;
+
+import java.time.LocalDate;
+
+// Bucket sizes for revenue rollups. Buckets are numbered so consecutive buckets
+// have consecutive indexes; weeks start on Monday.
+public enum Granularity {
+
+    DAY {
+        @Override
+        public long bucketOf(LocalDate date) {
+            return date.toEpochDay();
+        }
+
+        @Override
+        public LocalDate startOf(long bucket) {
+            return LocalDate.ofEpochDay(bucket);
+        }
+    },
+
+    WEEK {
+        // Epoch day 0 (1970-01-01) is a Thursday, so shift by 3 to start weeks on Monday
+        @Override
+        public long bucketOf(LocalDate date) {
+            return Math.floorDiv(date.toEpochDay() + 3, 7);
+        }
+
+        @Override
+        public LocalDate startOf(long bucket) {
+            return LocalDate.ofEpochDay(bucket * 7 - 3);
+        }
+    },
+
+    MONTH {
+        @Override
+        public long bucketOf(LocalDate date) {
+            return date.getYear() * 12L + date.getMonthValue() - 1;
+        }
+
+        @Override
+        public LocalDate startOf(long bucket) {
+            return LocalDate.of((int) Math.floorDiv(bucket, 12), (int) Math.floorMod(bucket, 12) + 1, 1);
+        }
+    };
+
+    public abstract long bucketOf(LocalDate date);
+
+    public abstract LocalDate startOf(long bucket);
+
+    // Last day of the bucket
+    public LocalDate endOf(long bucket) {
+        return startOf(bucket + 1).minusDays(1);
+    }
+}
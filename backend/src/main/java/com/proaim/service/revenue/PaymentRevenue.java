@@ -0,0 +1,35 @@
+package com.proaim.service.revenue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// What one payment counts for in the rollups at a point in time, as read from a
+// payment event. Only completed payments with a payment date count as revenue.
+public class PaymentRevenue {
+
+    private static final String COMPLETED = "COMPLETED";
+
+    private final String status;
+    private final LocalDate day;
+    private final BigDecimal amount;
+    private final BigDecimal lateFee;
+    private final BigDecimal processingFee;
+
+    public PaymentRevenue(String status, LocalDate day, BigDecimal amount, BigDecimal lateFee, BigDecimal processingFee) {
+        this.status = status;
+        this.day = day;
+        this.amount = amount;
+        this.lateFee = lateFee;
+        this.processingFee = processingFee;
+    }
+
+    public boolean counts() {
+        return COMPLETED.equals(status) && day != null;
+    }
+
+    public String getStatus() { return status; }
+    public LocalDate getDay() { return day; }
+    public BigDecimal getAmount() { return amount; }
+    public BigDecimal getLateFee() { return lateFee; }
+    public BigDecimal getProcessingFee() { return processingFee; }
+}
@@ -0,0 +1,75 @@
+package com.proaim.service.revenue;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Revenue of one property or landlord, kept at day, week and month granularity.
+// Every payment is added to all three tiers. Compaction drops old day buckets and
+// then old week buckets, so history stays available at a coarser resolution.
+public class RevenueSeries {
+
+    private final Map<Granularity, RevenueTier> tiers = new EnumMap<>(Granularity.class);
+
+    public RevenueSeries() {
+        for (Granularity granularity : Granularity.values()) {
+            tiers.put(granularity, new RevenueTier(granularity));
+        }
+    }
+
+    public synchronized void add(LocalDate day, long amount, long lateFee, long processingFee) {
+        long[] deltas = {amount, lateFee, processingFee};
+        for (RevenueTier tier : tiers.values()) {
+            tier.add(tier.getGranularity().bucketOf(day), deltas);
+        }
+    }
+
+    // Totals over [from, to]. Answered by the finest tier that still covers `from`;
+    // with a coarser tier the range is widened to whole weeks or months, and the
+    // returned range says what was actually summed.
+    public synchronized RangeSum sum(LocalDate from, LocalDate to) {
+        for (Granularity granularity : Granularity.values()) {
+            RevenueTier tier = tiers.get(granularity);
+            long fromBucket = granularity.bucketOf(from);
+            if (fromBucket >= tier.getFloor() || granularity == Granularity.MONTH) {
+                long toBucket = granularity.bucketOf(to);
+                return new RangeSum(granularity, granularity.startOf(fromBucket), granularity.endOf(toBucket),
+                        tier.sum(fromBucket, toBucket));
+            }
+        }
+        throw new IllegalStateException("No revenue tier available");
+    }
+
+    // Non-empty buckets of the given granularity in [from, to], as
+    // {bucket, amount, lateFee, processingFee}; compacted buckets are left out
+    public synchronized List<long[]> buckets(Granularity granularity, LocalDate from, LocalDate to) {
+        return tiers.get(granularity).buckets(granularity.bucketOf(from), granularity.bucketOf(to));
+    }
+
+    public synchronized void compact(LocalDate dayFloor, LocalDate weekFloor) {
+        tiers.get(Granularity.DAY).compact(Granularity.DAY.bucketOf(dayFloor));
+        tiers.get(Granularity.WEEK).compact(Granularity.WEEK.bucketOf(weekFloor));
+    }
+
+    public static class RangeSum {
+        private final Granularity resolution;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final long[] sums;
+
+        RangeSum(Granularity resolution, LocalDate from, LocalDate to, long[] sums) {
+            this.resolution = resolution;
+            this.from = from;
+            this.to = to;
+            this.sums = sums;
+        }
+
+        public Granularity getResolution() { return resolution; }
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+        public long getAmount() { return sums[0]; }
+        public long getLateFee() { return sums[1]; }
+        public long getProcessingFee() { return sums[2]; }
+    }
+}
@@ -0,0 +1,145 @@
+package com.proaim.service.revenue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Revenue buckets of one granularity over a growable window. Keeps each metric's
+// bucket values in a primitive array alongside a Fenwick tree over them, so a
+// point update and an arbitrary range sum are both O(log n).
+// Not thread-safe; RevenueSeries synchronizes access.
+class RevenueTier {
+
+    static final int METRICS = 3; // amount, late fee, processing fee (in cents)
+
+    private final Granularity granularity;
+    private long origin;                 // bucket index at position 0
+    private long floor = Long.MIN_VALUE; // buckets below this were compacted away
+    private int capacity;
+    private long[][] values = new long[METRICS][0];
+    private long[][] tree = new long[METRICS][1];
+
+    RevenueTier(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    Granularity getGranularity() {
+        return granularity;
+    }
+
+    // First bucket this tier still holds exactly
+    long getFloor() {
+        return floor;
+    }
+
+    boolean isEmpty() {
+        return capacity == 0;
+    }
+
+    void add(long bucket, long[] deltas) {
+        if (bucket < floor) {
+            return;
+        }
+        ensureCovers(bucket);
+        int position = (int) (bucket - origin);
+        for (int m = 0; m < METRICS; m++) {
+            if (deltas[m] == 0) {
+                continue;
+            }
+            values[m][position] += deltas[m];
+            for (int i = position + 1; i <= capacity; i += i & -i) {
+                tree[m][i] += deltas[m];
+            }
+        }
+    }
+
+    // Sums of each metric over [fromBucket, toBucket]
+    long[] sum(long fromBucket, long toBucket) {
+        long[] sums = new long[METRICS];
+        if (capacity == 0) {
+            return sums;
+        }
+        long from = Math.max(fromBucket, origin);
+        long to = Math.min(toBucket, origin + capacity - 1);
+        if (from > to) {
+            return sums;
+        }
+        for (int m = 0; m < METRICS; m++) {
+            sums[m] = prefix(m, (int) (to - origin)) - prefix(m, (int) (from - origin) - 1);
+        }
+        return sums;
+    }
+
+    // Non-empty buckets in [fromBucket, toBucket], as {bucket, amount, lateFee, processingFee}
+    List<long[]> buckets(long fromBucket, long toBucket) {
+        List<long[]> buckets = new ArrayList<>();
+        long from = Math.max(fromBucket, origin);
+        long to = Math.min(toBucket, origin + capacity - 1);
+        for (long bucket = from; bucket <= to; bucket++) {
+            int position = (int) (bucket - origin);
+            if (values[0][position] != 0 || values[1][position] != 0 || values[2][position] != 0) {
+                buckets.add(new long[]{bucket, values[0][position], values[1][position], values[2][position]});
+            }
+        }
+        return buckets;
+    }
+
+    // Drops buckets before newFloor; coarser tiers still hold their totals
+    void compact(long newFloor) {
+        if (newFloor <= floor) {
+            return;
+        }
+        floor = newFloor;
+        if (capacity > 0 && newFloor > origin) {
+            long end = origin + capacity;
+            rebuild(newFloor, newFloor >= end ? 0 : nextPowerOfTwo((int) (end - newFloor)));
+        }
+    }
+
+    private long prefix(int metric, int position) {
+        long sum = 0;
+        for (int i = position + 1; i > 0; i -= i & -i) {
+            sum += tree[metric][i];
+        }
+        return sum;
+    }
+
+    private void ensureCovers(long bucket) {
+        if (capacity == 0) {
+            rebuild(bucket, 16);
+        } else if (bucket < origin) {
+            long end = origin + capacity;
+            rebuild(bucket, nextPowerOfTwo((int) (end - bucket)));
+        } else if (bucket >= origin + capacity) {
+            rebuild(origin, nextPowerOfTwo((int) (bucket - origin + 1)));
+        }
+    }
+
+    // Moves the window to [newOrigin, newOrigin + newCapacity) and rebuilds the trees in O(n)
+    private void rebuild(long newOrigin, int newCapacity) {
+        long[][] newValues = new long[METRICS][newCapacity];
+        long[][] newTree = new long[METRICS][newCapacity + 1];
+        for (int m = 0; m < METRICS; m++) {
+            for (int position = 0; position < capacity; position++) {
+                long target = origin + position - newOrigin;
+                if (target >= 0 && target < newCapacity) {
+                    newValues[m][(int) target] = values[m][position];
+                }
+            }
+            for (int i = 1; i <= newCapacity; i++) {
+                newTree[m][i] += newValues[m][i - 1];
+                int parent = i + (i & -i);
+                if (parent <= newCapacity) {
+                    newTree[m][parent] += newTree[m][i];
+                }
+            }
+        }
+        origin = newOrigin;
+        capacity = newCapacity;
+        values = newValues;
+        tree = newTree;
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
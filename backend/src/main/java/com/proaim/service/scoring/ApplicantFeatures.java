@@ -0,0 +1,42 @@
+package com.proaim.service.scoring;
+
+// Column-oriented view of the applicants being scored for one property,
+// so a model can score the whole batch in one pass over primitive arrays
+public class ApplicantFeatures {
+
+    private final int size;
+    private final long[] applicationIds;
+    private final double[] monthlyIncomes;
+    private final int[] creditScores;
+    private final int[] occupantsCounts;
+    private final int[] petsCounts;
+    private final int[] rentalHistoryLengths;
+
+    public ApplicantFeatures(int size) {
+        this.size = size;
+        this.applicationIds = new long[size];
+        this.monthlyIncomes = new double[size];
+        this.creditScores = new int[size];
+        this.occupantsCounts = new int[size];
+        this.petsCounts = new int[size];
+        this.rentalHistoryLengths = new int[size];
+    }
+
+    public void set(int index, long applicationId, double monthlyIncome, int creditScore,
+                    int occupantsCount, int petsCount, int rentalHistoryLength) {
+        applicationIds[index] = applicationId;
+        monthlyIncomes[index] = monthlyIncome;
+        creditScores[index] = creditScore;
+        occupantsCounts[index] = occupantsCount;
+        petsCounts[index] = petsCount;
+        rentalHistoryLengths[index] = rentalHistoryLength;
+    }
+
+    public int size() { return size; }
+    public long[] applicationIds() { return applicationIds; }
+    public double[] monthlyIncomes() { return monthlyIncomes; }
+    public int[] creditScores() { return creditScores; }
+    public int[] occupantsCounts() { return occupantsCounts; }
+    public int[] petsCounts() { return petsCounts; }
+    public int[] rentalHistoryLengths() { return rentalHistoryLengths; }
+}
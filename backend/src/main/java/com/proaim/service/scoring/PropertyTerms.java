@@ -0,0 +1,19 @@
+package com.proaim.service.scoring;
+
+// Property attributes applicants are scored against
+public class PropertyTerms {
+
+    private final double rentAmount;
+    private final int bedrooms;
+    private final boolean petsAllowed;
+
+    public PropertyTerms(double rentAmount, int bedrooms, boolean petsAllowed) {
+        this.rentAmount = rentAmount;
+        this.bedrooms = bedrooms;
+        this.petsAllowed = petsAllowed;
+    }
+
+    public double getRentAmount() { return rentAmount; }
+    public int getBedrooms() { return bedrooms; }
+    public boolean isPetsAllowed() { return petsAllowed; }
+}
@@ -0,0 +1,8 @@
+package com.proaim.service.scoring;
+
+// Scores a batch of applicants against a property's terms, writing one
+// score per applicant into scores (higher is a stronger applicant)
+public interface ScoringModel {
+
+    void score(ApplicantFeatures features, PropertyTerms terms, double[] scores);
+}
@@ -0,0 +1,87 @@
+package com.proaim.service.scoring;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Weighted sum of normalized signals, scaled to 0-100:
+// income relative to rent, credit score, rental history length,
+// occupants per bedroom and pets at a no-pets property
+@Component
+public class WeightedScoringModel implements ScoringModel {
+
+    private static final double MIN_CREDIT_SCORE = 300;
+    private static final double CREDIT_SCORE_SPAN = 550;
+    private static final int OCCUPANTS_PER_BEDROOM = 2;
+
+    @Value("${scoring.weights.income:0.40}")
+    private double incomeWeight;
+
+    @Value("${scoring.weights.credit:0.35}")
+    private double creditWeight;
+
+    @Value("${scoring.weights.history:0.10}")
+    private double historyWeight;
+
+    @Value("${scoring.weights.occupancy:0.10}")
+    private double occupancyWeight;
+
+    @Value("${scoring.weights.pets:0.05}")
+    private double petsWeight;
+
+    @Value("${scoring.target-income-ratio:3.0}")
+    private double targetIncomeRatio;
+
+    @Value("${scoring.reference-history-length:500}")
+    private int referenceHistoryLength;
+
+    // Scores are divided by the weight total; a zero total would make every score NaN
+    @PostConstruct
+    public void validate() {
+        double[] weights = {incomeWeight, creditWeight, historyWeight, occupancyWeight, petsWeight};
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalStateException("scoring.weights.* must be finite and not negative, got " + weight);
+            }
+        }
+        if (incomeWeight + creditWeight + historyWeight + occupancyWeight + petsWeight <= 0) {
+            throw new IllegalStateException("scoring.weights.* must add up to more than 0");
+        }
+        if (referenceHistoryLength <= 0) {
+            throw new IllegalStateException("scoring.reference-history-length must be positive, got "
+                    + referenceHistoryLength);
+        }
+    }
+
+    @Override
+    public void score(ApplicantFeatures features, PropertyTerms terms, double[] scores) {
+        double[] incomes = features.monthlyIncomes();
+        int[] credit = features.creditScores();
+        int[] occupants = features.occupantsCounts();
+        int[] pets = features.petsCounts();
+        int[] history = features.rentalHistoryLengths();
+
+        double targetIncome = terms.getRentAmount() * targetIncomeRatio;
+        int occupancyLimit = Math.max(1, terms.getBedrooms() * OCCUPANTS_PER_BEDROOM);
+        double petPenalty = terms.isPetsAllowed() ? 0 : petsWeight;
+        double totalWeight = incomeWeight + creditWeight + historyWeight + occupancyWeight + petsWeight;
+
+        for (int i = 0; i < features.size(); i++) {
+            double income = targetIncome > 0 ? Math.min(incomes[i] / targetIncome, 1.0) : 1.0;
+            double creditNorm = clamp((credit[i] - MIN_CREDIT_SCORE) / CREDIT_SCORE_SPAN);
+            double historyNorm = Math.min((double) history[i] / referenceHistoryLength, 1.0);
+            double overcrowding = clamp((double) (occupants[i] - occupancyLimit) / occupancyLimit);
+
+            double raw = incomeWeight * income
+                    + creditWeight * creditNorm
+                    + historyWeight * historyNorm
+                    + occupancyWeight * (1.0 - overcrowding)
+                    + (pets[i] > 0 ? petsWeight - petPenalty : petsWeight);
+            scores[i] = 100.0 * raw / totalWeight;
+        }
+    }
+
+    private static double clamp(double value) {
+        return value < 0 ? 0 : (value > 1 ? 1 : value);
+    }
+}
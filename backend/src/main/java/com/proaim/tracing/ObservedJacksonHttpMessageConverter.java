@@ -0,0 +1,40 @@
+package com.proaim.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Jackson converter that puts response serialization in its own span, so time spent
+// writing JSON (and in lazy loading during it) is separate from the handler's
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    
+    private final ObservationRegistry observationRegistry;
+    
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Observation observation = Observation.createNotStarted("http.response.serialization", observationRegistry)
+                .contextualName("serialize response")
+                .lowCardinalityKeyValue("type", object != null ? object.getClass().getSimpleName() : "null")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
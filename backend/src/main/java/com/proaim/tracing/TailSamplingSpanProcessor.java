@@ -0,0 +1,162 @@
+package com.proaim.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tail-based sampling in process: every span is recorded, finished spans are held
+// per trace until the local root ends, and only then is the whole trace either
+// handed to the exporting delegate or dropped. Slow and failed traces are always
+// kept; the rest survive with probability baselineRatio.
+public class TailSamplingSpanProcessor implements SpanProcessor {
+    
+    private final SpanProcessor delegate;
+    private final long slowThresholdNanos;
+    private final double baselineRatio;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final long pendingTimeoutNanos;
+    
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+    
+    private final Counter keptSlow;
+    private final Counter keptError;
+    private final Counter keptSampled;
+    private final Counter dropped;
+    private final Counter overflow;
+    
+    public TailSamplingSpanProcessor(SpanProcessor delegate, long slowThresholdMs, double baselineRatio,
+                                     int maxPendingTraces, int maxSpansPerTrace, long pendingTimeoutMs,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.baselineRatio = baselineRatio;
+        this.maxPendingTraces = maxPendingTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.pendingTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(pendingTimeoutMs);
+        this.keptSlow = decision(meterRegistry, "kept_slow");
+        this.keptError = decision(meterRegistry, "kept_error");
+        this.keptSampled = decision(meterRegistry, "kept_sampled");
+        this.dropped = decision(meterRegistry, "dropped");
+        this.overflow = decision(meterRegistry, "overflow");
+    }
+    
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+    
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+    
+    @Override
+    public void onEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+        SpanContext parent = span.getParentSpanContext();
+        if (!parent.isValid() || parent.isRemote()) {
+            finishTrace(span, pending.remove(traceId));
+            sweepIfDue();
+            return;
+        }
+        
+        PendingTrace trace = pending.get(traceId);
+        if (trace == null) {
+            if (pending.size() >= maxPendingTraces) {
+                overflow.increment();
+                return;
+            }
+            trace = pending.computeIfAbsent(traceId, id -> new PendingTrace(System.nanoTime()));
+        }
+        trace.add(span, maxSpansPerTrace);
+    }
+    
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+    
+    private void finishTrace(ReadableSpan root, PendingTrace trace) {
+        Counter decision;
+        if (root.getLatencyNanos() >= slowThresholdNanos) {
+            decision = keptSlow;
+        } else if (root.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR) {
+            decision = keptError;
+        } else if (baselineRatio > 0 && ThreadLocalRandom.current().nextDouble() < baselineRatio) {
+            decision = keptSampled;
+        } else {
+            dropped.increment();
+            return;
+        }
+        decision.increment();
+        if (trace != null) {
+            for (ReadableSpan span : trace.drain()) {
+                delegate.onEnd(span);
+            }
+        }
+        delegate.onEnd(root);
+    }
+    
+    // Children that end after their root (async work) start a trace that never completes; expire those
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + pendingTimeoutNanos / 2)) {
+            return;
+        }
+        pending.values().removeIf(trace -> now - trace.startedAt > pendingTimeoutNanos);
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        return delegate.shutdown();
+    }
+    
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+    
+    private static Counter decision(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("tracing.tail.sampling")
+                .description("Local traces by tail-sampling decision")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+    
+    private static final class PendingTrace {
+        
+        private final long startedAt;
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        
+        private PendingTrace(long startedAt) {
+            this.startedAt = startedAt;
+        }
+        
+        private synchronized void add(ReadableSpan span, int maxSpans) {
+            if (spans.size() < maxSpans) {
+                spans.add(span);
+            }
+        }
+        
+        private synchronized List<ReadableSpan> drain() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
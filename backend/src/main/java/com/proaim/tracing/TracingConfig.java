@@ -0,0 +1,67 @@
+package com.proaim.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.EnumSet;
+
+// Spans per request: http.server.requests (actuator) -> security.jwt.authentication ->
+// service.invocations (@Observed) -> jdbc.connection / jdbc.query -> http.response.serialization
+@Configuration
+public class TracingConfig {
+    
+    // Enables @Observed on service classes; also records the service.invocations timer
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+    
+    // Kept traces as OTLP JSON lines on the io.opentelemetry.exporter.logging.otlp logger;
+    // setting management.otlp.tracing.endpoint adds an OTLP/HTTP exporter alongside it
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.console", havingValue = "true", matchIfMissing = true)
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+    
+    // Replaces actuator's list of processors, so the batch exporter only sees traces that tail sampling kept
+    @Bean
+    public SpanProcessors spanProcessors(BatchSpanProcessor otelSpanProcessor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${tracing.tail-sampling.slow-threshold-ms:500}") long slowThresholdMs,
+                                         @Value("${tracing.tail-sampling.baseline-ratio:0.01}") double baselineRatio,
+                                         @Value("${tracing.tail-sampling.max-pending-traces:10000}") int maxPendingTraces,
+                                         @Value("${tracing.tail-sampling.max-spans-per-trace:500}") int maxSpansPerTrace,
+                                         @Value("${tracing.tail-sampling.pending-timeout-ms:60000}") long pendingTimeoutMs) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(otelSpanProcessor, slowThresholdMs, baselineRatio,
+                maxPendingTraces, maxSpansPerTrace, pendingTimeoutMs, meterRegistry));
+    }
+    
+    // One span per connection checkout and per statement; bind values stay out of span attributes
+    @Bean
+    public DataSourceObservationListener dataSourceObservationListener(ObservationRegistry observationRegistry) {
+        DataSourceObservationListener listener = new DataSourceObservationListener(() -> observationRegistry);
+        listener.setSupportedTypes(EnumSet.of(JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+        listener.setIncludeParameterValues(false);
+        return listener;
+    }
+    
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                 ObservationRegistry observationRegistry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+}
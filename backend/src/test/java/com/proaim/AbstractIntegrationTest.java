@@ -0,0 +1,27 @@
+package com.proaim;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Boots the application on the in-memory dev database, filled by the synthetic data
+// generator at a small scale. Every integration test extends this class unchanged so
+// they all share one cached application context.
+@SpringBootTest(properties = {
+        "datagen.users=200",
+        "datagen.properties=100",
+        "datagen.applications=1000",
+        "datagen.agreements=50",
+        "datagen.payments=300",
+        "datagen.reference-date=2026-01-01",
+        "sql.monitor.sample-rate=0.0",
+        "tracing.export.console=false",
+        "notifications.email.file=target/notifications-email.log",
+        "exports.directory=target/exports",
+        "logging.level.com.proaim=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+@ActiveProfiles({"dev", "datagen"})
+@AutoConfigureMockMvc
+public abstract class AbstractIntegrationTest {
+}
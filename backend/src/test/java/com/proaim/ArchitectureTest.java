@@ -0,0 +1,105 @@
+package com.proaim;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchitectureTest {
+
+    // Stream and collection operations that filter or search rows already in memory
+    private static final Set<String> STREAM_FILTERS = Set.of("filter", "anyMatch", "allMatch", "noneMatch",
+            "findFirst", "findAny", "takeWhile", "dropWhile");
+    private static final Set<String> COLLECTION_FILTERS = Set.of("removeIf", "retainAll");
+
+    private static JavaClasses classes;
+
+    @BeforeAll
+    static void importClasses() {
+        classes = new ClassFileImporter()
+                .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+                .importPackages("com.proaim");
+    }
+
+    // Filtering belongs in a derived query, @Query or Specification; findAll() followed
+    // by a stream filter reads the whole table into the JVM on every call
+    @Test
+    void servicesDoNotFilterFindAllResultsInMemory() {
+        ArchRule rule = methods()
+                .that().areDeclaredInClassesThat().resideInAPackage("com.proaim.service..")
+                .should(notFilterFindAllResultsInMemory());
+        rule.check(classes);
+    }
+
+    @Test
+    void ruleRejectsFindAllFollowedByStreamFilter() {
+        JavaClasses fixture = new ClassFileImporter().importClasses(InMemoryFilteringService.class);
+        ArchRule rule = methods()
+                .that().areDeclaredIn(InMemoryFilteringService.class).and().haveName("findActive")
+                .should(notFilterFindAllResultsInMemory());
+        assertThatThrownBy(() -> rule.check(fixture))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("findActive");
+    }
+
+    private static ArchCondition<JavaMethod> notFilterFindAllResultsInMemory() {
+        return new ArchCondition<>("not filter the results of a repository findAll() in memory") {
+            @Override
+            public void check(JavaMethod method, ConditionEvents events) {
+                Set<JavaMethodCall> calls = method.getMethodCallsFromSelf();
+                List<JavaMethodCall> findAlls = calls.stream()
+                        .filter(call -> call.getName().equals("findAll"))
+                        .filter(call -> call.getTargetOwner().isAssignableTo(Repository.class))
+                        .collect(Collectors.toList());
+                if (findAlls.isEmpty()) {
+                    return;
+                }
+                List<JavaMethodCall> filters = calls.stream()
+                        .filter(ArchitectureTest::filtersInMemory)
+                        .collect(Collectors.toList());
+                if (!filters.isEmpty()) {
+                    events.add(SimpleConditionEvent.violated(method, method.getFullName() + " calls "
+                            + findAlls.get(0).getTarget().getFullName() + " and filters the result with "
+                            + filters.get(0).getTarget().getFullName() + " in " + method.getSourceCodeLocation()));
+                }
+            }
+        };
+    }
+
+    private static boolean filtersInMemory(JavaMethodCall call) {
+        if (call.getTargetOwner().isAssignableTo(Stream.class)) {
+            return STREAM_FILTERS.contains(call.getName());
+        }
+        return call.getTargetOwner().isAssignableTo(Collection.class) && COLLECTION_FILTERS.contains(call.getName());
+    }
+
+    // Shape the rule must reject
+    @SuppressWarnings("unused")
+    static class InMemoryFilteringService {
+
+        private org.springframework.data.jpa.repository.JpaRepository<Object, Long> repository;
+
+        List<Object> findActive() {
+            return repository.findAll().stream()
+                    .filter(row -> row != null)
+                    .collect(Collectors.toList());
+        }
+    }
+}
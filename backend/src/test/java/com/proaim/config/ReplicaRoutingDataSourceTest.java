@@ -0,0 +1,79 @@
+package com.proaim.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(true, 60000);
+
+    @BeforeEach
+    void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("tenant", null, List.of()));
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void writeCountsFromCommitNotFromConnectionFetch() {
+        List<TransactionSynchronization> hooks = writeTransaction();
+        assertThat(hooks).hasSize(1);
+
+        // Nothing is committed yet, so there is nothing the replica could be missing
+        assertThat(readOnlyRoute()).isEqualTo(ReplicaRoutingDataSource.Target.REPLICA);
+        assertThat(routing.getStats()).containsEntry("trackedWriters", 0);
+
+        hooks.forEach(TransactionSynchronization::afterCommit);
+        assertThat(readOnlyRoute()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(routing.getStats()).containsEntry("readYourWritesRoutes", 1L);
+    }
+
+    @Test
+    void rolledBackWriteIsNotTracked() {
+        List<TransactionSynchronization> hooks = writeTransaction();
+        hooks.forEach(hook -> hook.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(readOnlyRoute()).isEqualTo(ReplicaRoutingDataSource.Target.REPLICA);
+        assertThat(routing.getStats()).containsEntry("trackedWriters", 0);
+    }
+
+    // A read-write transaction that fetches two connections registers a single hook
+    private List<TransactionSynchronization> writeTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        List<TransactionSynchronization> hooks = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.clear();
+        return hooks;
+    }
+
+    private Object readOnlyRoute() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return routing.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+}
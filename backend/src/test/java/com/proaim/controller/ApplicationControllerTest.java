@@ -0,0 +1,69 @@
+package com.proaim.controller;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ApplicationControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long propertyId;
+    private long ownerId;
+    private long otherLandlordId;
+
+    @BeforeEach
+    void pickProperty() {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT p.id, p.landlord_id FROM properties p " +
+                "WHERE EXISTS (SELECT 1 FROM applications a WHERE a.property_id = p.id AND a.status = 'PENDING') " +
+                "ORDER BY p.id LIMIT 1");
+        propertyId = ((Number) row.get("ID")).longValue();
+        ownerId = ((Number) row.get("LANDLORD_ID")).longValue();
+        otherLandlordId = jdbcTemplate.queryForObject(
+                "SELECT MIN(landlord_id) FROM properties WHERE landlord_id <> ?", Long.class, ownerId);
+    }
+
+    @Test
+    void landlordSeesRankingForOwnProperty() throws Exception {
+        mockMvc.perform(get("/api/applications/property/{id}/ranking", propertyId).with(user(landlord(ownerId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1));
+    }
+
+    @Test
+    void landlordCannotSeeRankingForAnotherLandlordsProperty() throws Exception {
+        mockMvc.perform(get("/api/applications/property/{id}/ranking", propertyId).with(user(landlord(otherLandlordId))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminSeesRankingForAnyProperty() throws Exception {
+        UserDetailsImpl admin = new UserDetailsImpl(1L, "admin", null, null, null, "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        mockMvc.perform(get("/api/applications/property/{id}/ranking", propertyId).with(user(admin)))
+                .andExpect(status().isOk());
+    }
+
+    // Landlords are USER accounts identified by id
+    private static UserDetailsImpl landlord(long id) {
+        return new UserDetailsImpl(id, "landlord" + id, null, null, null, "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,72 @@
+package com.proaim.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void refreshTokenReuseDeniesTheFamilysAccessTokens() throws Exception {
+        JsonNode login = login("tenant", "password");
+        String stolen = login.get("refreshToken").asText();
+        JsonNode rotated = refresh(stolen);
+        String accessToken = rotated.get("token").asText();
+        mockMvc.perform(get("/api/properties/search").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // The old token is presented again: whoever holds it, the family is compromised
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + stolen + "\"}"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/properties/search").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/properties/search").header("Authorization", "Bearer " + login.get("token").asText()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + rotated.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isUnauthorized());
+
+        // A new login starts a new family
+        String fresh = login("tenant", "password").get("token").asText();
+        mockMvc.perform(get("/api/properties/search").header("Authorization", "Bearer " + fresh))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode login(String username, String password) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private JsonNode refresh(String refreshToken) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
@@ -0,0 +1,38 @@
+package com.proaim.controller;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MarketControllerTest extends AbstractIntegrationTest {
+
+    // Users from data.sql: landlord is a USER account with userType LANDLORD, tenant a TENANT
+    private static final UserDetailsImpl ADMIN = new UserDetailsImpl(1L, "admin", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    private static final UserDetailsImpl LANDLORD = new UserDetailsImpl(3L, "landlord", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private static final UserDetailsImpl TENANT = new UserDetailsImpl(4L, "tenant", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rentStatsAreForLandlordsAndAdmins() throws Exception {
+        mockMvc.perform(get("/api/market/rent-stats").param("city", "Austin").with(user(LANDLORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/market/rent-stats").param("city", "Austin").with(user(ADMIN)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/market/rent-stats").param("city", "Austin").with(user(TENANT)))
+                .andExpect(status().isForbidden());
+    }
+}
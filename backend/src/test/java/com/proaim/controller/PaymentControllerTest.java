@@ -0,0 +1,85 @@
+package com.proaim.controller;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PaymentControllerTest extends AbstractIntegrationTest {
+
+    private static final UserDetailsImpl ADMIN = new UserDetailsImpl(1L, "admin", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long tenantId;
+    private long landlordId;
+
+    @BeforeEach
+    void pickPayment() {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT tenant_id, landlord_id FROM payments ORDER BY id LIMIT 1");
+        tenantId = ((Number) row.get("TENANT_ID")).longValue();
+        landlordId = ((Number) row.get("LANDLORD_ID")).longValue();
+    }
+
+    @Test
+    void historyRequiresAuthentication() throws Exception {
+        mockMvc.perform(history())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tenantsAndLandlordsSeeOnlyTheirOwnHistory() throws Exception {
+        mockMvc.perform(history().param("tenantId", String.valueOf(tenantId)).with(user(caller(tenantId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(history().param("landlordId", String.valueOf(landlordId)).with(user(caller(landlordId))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(history().param("tenantId", String.valueOf(tenantId)).with(user(caller(landlordId))))
+                .andExpect(status().isForbidden());
+        // tenantId is the filter that is applied, so naming yourself as landlord does not help
+        mockMvc.perform(history().param("tenantId", String.valueOf(tenantId))
+                        .param("landlordId", String.valueOf(landlordId)).with(user(caller(landlordId))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(history().with(user(caller(tenantId))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminsSeeAnyHistory() throws Exception {
+        mockMvc.perform(history().with(user(ADMIN)))
+                .andExpect(status().isOk());
+        mockMvc.perform(history().param("tenantId", String.valueOf(tenantId)).with(user(ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder history() {
+        return get("/api/payments/history")
+                .param("from", "2020-01-01T00:00:00")
+                .param("to", "2030-01-01T00:00:00");
+    }
+
+    private static UserDetailsImpl caller(long id) {
+        return new UserDetailsImpl(id, "user" + id, null, null, null, "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.proaim.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.security.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PropertyControllerTest extends AbstractIntegrationTest {
+
+    private static final UserDetailsImpl TENANT = new UserDetailsImpl(4L, "tenant", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void statelessSearchFetchesAmenitiesAndImagesWithOneQueryEach() throws Exception {
+        JsonNode properties = getJson("/api/properties/search");
+
+        assertThat(properties.size()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM properties WHERE status = 'AVAILABLE'", Integer.class));
+        assertThat(countElements(properties, "amenities")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM property_amenities a JOIN properties p ON p.id = a.property_id " +
+                "WHERE p.status = 'AVAILABLE'", Integer.class));
+        assertThat(countElements(properties, "imageUrls")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM property_images i JOIN properties p ON p.id = i.property_id " +
+                "WHERE p.status = 'AVAILABLE'", Integer.class));
+        assertThat(maxStatementsPerRequest("/api/properties/search")).isEqualTo(2.0);
+    }
+
+    @Test
+    void pagedReadsReturnAmenitiesAndImagesLoadedPerPageNotPerRow() throws Exception {
+        JsonNode page = getJson("/api/properties?size=20&sortDir=asc").get("content");
+
+        assertThat(page.size()).isEqualTo(20);
+        long firstId = page.get(0).get("id").asLong();
+        long lastId = page.get(19).get("id").asLong();
+        assertThat(countElements(page, "amenities")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM property_amenities WHERE property_id BETWEEN ? AND ?", Integer.class,
+                firstId, lastId));
+        assertThat(countElements(page, "imageUrls")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM property_images WHERE property_id BETWEEN ? AND ?", Integer.class,
+                firstId, lastId));
+        // Page, count and at most one subselect per collection
+        assertThat(maxStatementsPerRequest("/api/properties")).isLessThanOrEqualTo(4.0);
+    }
+
+    private JsonNode getJson(String uri) throws Exception {
+        String body = mockMvc.perform(get(uri).with(user(TENANT)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    // Fails on a null collection, which is how an unloaded lazy collection is written
+    private static int countElements(JsonNode properties, String field) {
+        int count = 0;
+        for (JsonNode property : properties) {
+            assertThat(property.get(field).isArray()).as("%s of property %s", field, property.get("id")).isTrue();
+            count += property.get(field).size();
+        }
+        return count;
+    }
+
+    private double maxStatementsPerRequest(String uri) {
+        return meterRegistry.get("jdbc.statements.per.request").tag("uri", uri).summary().takeSnapshot().max();
+    }
+}
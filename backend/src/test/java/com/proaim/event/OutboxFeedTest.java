@@ -0,0 +1,100 @@
+package com.proaim.event;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.OutboxEvent;
+import com.proaim.repository.OutboxEventRepository;
+import com.proaim.service.RevenueRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxFeedTest extends AbstractIntegrationTest {
+
+    // Not a real landlord; deleted payments take revenue away, which no notification follows
+    private static final long LANDLORD = 9_000_200L;
+
+    @Autowired
+    private OutboxFeed outboxFeed;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteEvents() {
+        outboxEventRepository.deleteAllById(created);
+    }
+
+    @Test
+    void eventCommittedAfterAHigherIdIsDeliveredFromTheGap() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Long> held = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = outboxEventRepository.save(paymentDeleted("10.00")).getId();
+            inserted.countDown();
+            await(commit);
+            return id;
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        created.add(outboxEventRepository.save(paymentDeleted("20.00")).getId());
+
+        // The later id is delivered while the earlier one is still uncommitted
+        awaitRevenue("-20.00");
+        assertThat(outboxFeed.getStats().get("openGaps")).isNotEqualTo(0);
+
+        commit.countDown();
+        Long heldId = held.get(10, TimeUnit.SECONDS);
+        created.add(heldId);
+        assertThat(outboxFeed.isPending(heldId)).isTrue();
+        awaitRevenue("-30.00");
+        assertThat(outboxFeed.isPending(heldId)).isFalse();
+    }
+
+    private static OutboxEvent paymentDeleted(String amount) {
+        return new OutboxEvent(EventTypes.PAYMENT, LANDLORD, EventTypes.PAYMENT_DELETED,
+                "{\"status\":\"COMPLETED\",\"paymentDate\":\"2025-06-01T00:00:00\",\"amount\":" + amount
+                        + ",\"landlordId\":" + LANDLORD + "}");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Drives the feed until the rollup matches; the scheduled feed may get there first
+    private void awaitRevenue(String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            outboxFeed.poll();
+            BigDecimal revenue = revenueRollupService.getLandlordRevenue(LANDLORD,
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).getAmount();
+            if (revenue.compareTo(new BigDecimal(expected)) == 0) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("revenue reached %s, expected %s", revenue, expected)
+                    .isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.proaim.event;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.OutboxEvent;
+import com.proaim.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelayTest extends AbstractIntegrationTest {
+
+    // No subscriber handles this aggregate type, so well-formed events are delivered as no-ops
+    private static final String AGGREGATE = "RELAY_TEST";
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteEvents() {
+        outboxEventRepository.deleteAllById(created);
+    }
+
+    @Test
+    void failedEventBacksOffAndHoldsBackItsAggregate() throws InterruptedException {
+        OutboxEvent poison = save(new OutboxEvent(AGGREGATE, 1L, "BROKEN", "{not json"));
+        OutboxEvent next = save(new OutboxEvent(AGGREGATE, 1L, "FINE", "{}"));
+        OutboxEvent other = save(new OutboxEvent(AGGREGATE, 2L, "FINE", "{}"));
+
+        OutboxEvent failed = awaitEvent(poison.getId(), event -> event.getAttempts() >= 1);
+        assertThat(failed.getLastError()).contains("JsonParseException");
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now().minusSeconds(1));
+        assertThat(failed.getDeadLetteredAt()).isNull();
+
+        awaitEvent(other.getId(), event -> event.getPublishedAt() != null);
+        assertThat(outboxEventRepository.findById(next.getId()).orElseThrow().getPublishedAt()).isNull();
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttemptsAndReleasesItsAggregate() throws InterruptedException {
+        OutboxEvent poison = new OutboxEvent(AGGREGATE, 3L, "BROKEN", "{not json");
+        poison.setAttempts(9);
+        poison = save(poison);
+        OutboxEvent next = save(new OutboxEvent(AGGREGATE, 3L, "FINE", "{}"));
+
+        OutboxEvent dead = awaitEvent(poison.getId(), event -> event.getDeadLetteredAt() != null);
+        assertThat(dead.getAttempts()).isEqualTo(10);
+        assertThat(dead.getPublishedAt()).isNull();
+        awaitEvent(next.getId(), event -> event.getPublishedAt() != null);
+        assertThat(outboxRelay.getStats().getDeadLetteredEvents()).isGreaterThanOrEqualTo(1);
+
+        // Requeue gives it a fresh set of attempts; it fails again straight away
+        outboxEventRepository.deleteById(next.getId());
+        assertThat(outboxRelay.requeueDeadLettered()).isGreaterThanOrEqualTo(1);
+        awaitEvent(poison.getId(), event -> event.getDeadLetteredAt() == null && event.getAttempts() == 1);
+    }
+
+    private OutboxEvent save(OutboxEvent event) {
+        OutboxEvent saved = outboxEventRepository.save(event);
+        created.add(saved.getId());
+        return saved;
+    }
+
+    // Drives the relay until the event matches; the scheduled relay may get there first
+    private OutboxEvent awaitEvent(Long id, Predicate<OutboxEvent> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            outboxRelay.relay();
+            OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+            if (condition.test(event)) {
+                return event;
+            }
+            assertThat(System.currentTimeMillis()).as("event %d did not reach the expected state", id).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.proaim.metrics;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.security.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Needs its own application context: budgets and the failure switch are bound at startup
+@TestPropertySource(properties = {
+        "sql.monitor.budgets[/api/properties/search]=1",
+        "sql.monitor.budgets[/api/properties/{id}]=50",
+        "sql.monitor.fail-on-budget-exceeded=true",
+        // Every SELECT a request runs counts as repeated
+        "sql.monitor.repeated-select-threshold=1"
+})
+class StatementMonitorTest extends AbstractIntegrationTest {
+
+    private static final UserDetailsImpl TENANT = new UserDetailsImpl(4L, "tenant", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void requestOverItsRouteBudgetFails() {
+        double exceeded = count("sql.budget.exceeded", "/api/properties/search");
+
+        // The stateless search runs two statements: properties with amenities, then images
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/properties/search").with(user(TENANT))))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessage("GET /api/properties/search issued 2 statements, budget is 1");
+        assertThat(count("sql.budget.exceeded", "/api/properties/search")).isEqualTo(exceeded + 1);
+    }
+
+    @Test
+    void requestWithinItsBudgetSucceedsAndCountsRepeatedSelects() throws Exception {
+        double repeated = count("sql.repeated.selects", "/api/properties/{id}");
+
+        mockMvc.perform(get("/api/properties/1").with(user(TENANT))).andExpect(status().isOk());
+
+        assertThat(count("sql.repeated.selects", "/api/properties/{id}")).isGreaterThan(repeated);
+        assertThat(count("sql.budget.exceeded", "/api/properties/{id}")).isZero();
+    }
+
+    private double count(String name, String uri) {
+        Counter counter = meterRegistry.find(name).tag("uri", uri).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
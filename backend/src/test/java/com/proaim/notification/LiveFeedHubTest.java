@@ -0,0 +1,157 @@
+package com.proaim.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveFeedHubTest {
+
+    private LiveFeedHub hub;
+    private HeldExecutor writers;
+
+    @BeforeEach
+    void createHub() {
+        hub = new LiveFeedHub();
+        ReflectionTestUtils.setField(hub, "bufferSize", 4);
+        ReflectionTestUtils.setField(hub, "maxConnectionsPerUser", 2);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(hub, "sendTimeoutMs", 10000L);
+        // Writer tasks only run when the test releases them, like a writer stuck on a slow client
+        writers = new HeldExecutor();
+        ReflectionTestUtils.setField(hub, "writers", writers);
+    }
+
+    @Test
+    void extraConnectionEvictsTheOldestOne() {
+        SseEmitter first = hub.subscribe(1L);
+        SseEmitter second = hub.subscribe(1L);
+        SseEmitter third = hub.subscribe(1L);
+
+        assertThat(emitters(1L)).containsExactly(second, third);
+        assertThat(hub.getStats()).containsEntry("openConnections", 2);
+
+        SseEmitter fourth = hub.subscribe(1L);
+        assertThat(emitters(1L)).containsExactly(third, fourth);
+        assertThat(emitters(1L)).doesNotContain(first);
+    }
+
+    @Test
+    void consumerThatFallsAFullBufferBehindIsDropped() {
+        hub.subscribe(1L);
+        hub.subscribe(2L);
+
+        // The writer never gets to user 1, so its buffer fills up
+        for (int i = 0; i < 5; i++) {
+            hub.publish(1L, "status", Map.of("sequence", i));
+        }
+        hub.publish(2L, "status", Map.of("sequence", 0));
+
+        assertThat(emitters(1L)).isEmpty();
+        assertThat(emitters(2L)).hasSize(1);
+        assertThat(hub.getStats())
+                .containsEntry("droppedConnections", 1L)
+                .containsEntry("openConnections", 1);
+
+        // Later events for the dropped user are not buffered anywhere
+        hub.publish(1L, "status", Map.of("sequence", 5));
+        writers.runAll();
+        assertThat(hub.getStats()).containsEntry("openConnections", 1);
+    }
+
+    @Test
+    void concurrentSubscribeAndCompletionKeepTheCountsConsistent() throws Exception {
+        ReflectionTestUtils.setField(hub, "maxConnectionsPerUser", 1000);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(800);
+        for (int i = 0; i < 800; i++) {
+            clients.execute(() -> {
+                try {
+                    SseEmitter emitter = hub.subscribe(1L);
+                    ReflectionTestUtils.invokeMethod(hub, "remove", connection(1L, emitter));
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        clients.shutdown();
+
+        assertThat(emitters(1L)).isEmpty();
+        assertThat(hub.getStats())
+                .containsEntry("openConnections", 0)
+                .containsEntry("connectedUsers", 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> connections(Long userId) {
+        Map<Long, List<Object>> connections = (Map<Long, List<Object>>) ReflectionTestUtils.getField(hub, "connections");
+        return connections.getOrDefault(userId, List.of());
+    }
+
+    private List<Object> emitters(Long userId) {
+        return connections(userId).stream().map(c -> ReflectionTestUtils.getField(c, "emitter")).toList();
+    }
+
+    private Object connection(Long userId, SseEmitter emitter) {
+        return connections(userId).stream()
+                .filter(c -> ReflectionTestUtils.getField(c, "emitter") == emitter)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static final class HeldExecutor extends AbstractExecutorService {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return tasks.poll();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
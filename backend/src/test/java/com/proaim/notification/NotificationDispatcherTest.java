@@ -0,0 +1,103 @@
+package com.proaim.notification;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.event.DomainEvent;
+import com.proaim.event.EventTypes;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationDispatcherTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationSubscriber notificationSubscriber;
+
+    @Autowired
+    private InMemoryNotificationSender inMemoryNotificationSender;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overflowIsSummarisedAndEveryNotificationIsMarkedSent() throws Exception {
+        long recipientId = 900_001L;
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            notifications.add(new Notification(recipientId, NotificationChannel.IN_APP,
+                    "TEST:" + i, "Subject " + i, "Body " + i));
+        }
+        notificationDispatcher.accept(null, notifications);
+        assertThat(unsent(recipientId)).isEqualTo(25);
+
+        awaitSent(recipientId);
+
+        // Newest first; the max digest size is 20
+        List<Notification> inbox = inMemoryNotificationSender.getRecent(recipientId);
+        assertThat(inbox).hasSize(21);
+        assertThat(inbox.get(0).getSubject()).isEqualTo("+5 more");
+        assertThat(inbox.get(1).getSubject()).isEqualTo("Subject 24");
+        assertThat(inbox.get(20).getSubject()).isEqualTo("Subject 5");
+    }
+
+    @Test
+    void replacedNotificationIsSentOnlyAsItsReplacement() throws Exception {
+        long recipientId = 900_002L;
+        // Both rows are stored; the later one replaces the earlier one in the digest
+        notificationDispatcher.accept(null, List.of(
+                new Notification(recipientId, NotificationChannel.IN_APP, "TEST:1", "Pending", "Pending"),
+                new Notification(recipientId, NotificationChannel.IN_APP, "TEST:1", "Approved", "Approved")));
+        assertThat(unsent(recipientId)).isEqualTo(2);
+
+        awaitSent(recipientId);
+
+        assertThat(inMemoryNotificationSender.getRecent(recipientId))
+                .extracting(Notification::getSubject)
+                .containsExactly("Approved");
+    }
+
+    @Test
+    void redeliveredEventQueuesItsNotificationsOnce() throws Exception {
+        long tenantId = 900_003L;
+        // Not a real outbox id, so the relay never delivers it
+        DomainEvent event = new DomainEvent(-1L, EventTypes.APPLICATION, 42L, EventTypes.APPLICATION_STATUS_CHANGED,
+                Map.of("tenantId", tenantId, "status", "APPROVED"), LocalDateTime.now());
+
+        notificationSubscriber.onEvent(event);
+        notificationSubscriber.onEvent(event);
+        // One row per channel
+        assertThat(unsent(tenantId)).isEqualTo(NotificationChannel.values().length);
+
+        awaitSent(tenantId);
+        notificationSubscriber.onEvent(event);
+        assertThat(unsent(tenantId)).isZero();
+        assertThat(inMemoryNotificationSender.getRecent(tenantId))
+                .extracting(Notification::getSubject)
+                .containsExactly("Application APPROVED");
+    }
+
+    private long unsent(long recipientId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM queued_notifications " +
+                "WHERE recipient_id = ? AND sent_at IS NULL", Long.class, recipientId);
+    }
+
+    // Flushes until the sender threads have marked every queued notification of the recipient sent
+    private void awaitSent(long recipientId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (unsent(recipientId) > 0) {
+            assertThat(System.currentTimeMillis()).as("notifications of %s still unsent", recipientId)
+                    .isLessThan(deadline);
+            notificationDispatcher.flush();
+            Thread.sleep(50);
+        }
+    }
+}
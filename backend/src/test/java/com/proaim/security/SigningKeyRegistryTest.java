@@ -0,0 +1,114 @@
+package com.proaim.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyRegistryTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void nodesSharingAKeystoreVerifyEachOthersTokensAcrossRestarts() throws Exception {
+        Path keystore = keystore("keys.p12", "first");
+        SigningKeyRegistry node = registry(keystore, "");
+        String token = sign(node);
+
+        // Another node, or this one after a restart, loads the same key
+        SigningKeyRegistry other = registry(keystore, "");
+        assertThat(other.getActiveKey().kid()).isEqualTo(node.getActiveKey().kid());
+        assertThat(subject(other, token)).isEqualTo("tenant");
+    }
+
+    @Test
+    void activeAliasPicksTheSigningKey() throws Exception {
+        Path keystore = keystore("keys.p12", "first");
+        genkey(keystore, "second");
+
+        SigningKeyRegistry first = registry(keystore, "first");
+        SigningKeyRegistry second = registry(keystore, "second");
+        assertThat(first.getActiveKey().kid()).isNotEqualTo(second.getActiveKey().kid());
+        // Both keys are published, so either node verifies the other's tokens
+        assertThat(first.getJwks().get("keys")).asList().hasSize(2);
+        assertThat(subject(first, sign(second))).isEqualTo("tenant");
+    }
+
+    @Test
+    void reloadSwitchesToTheNewKeyAndKeepsTheRemovedOneUntilItsTokensExpire() throws Exception {
+        Path keystore = keystore("keys.p12", "first");
+        SigningKeyRegistry registry = registry(keystore, "");
+        String kid = registry.getActiveKey().kid();
+        String token = sign(registry);
+
+        Files.copy(keystore("replacement.p12", "second"), keystore, StandardCopyOption.REPLACE_EXISTING);
+        registry.rotate();
+
+        assertThat(registry.getActiveKey().kid()).isNotEqualTo(kid);
+        assertThat(subject(registry, token)).isEqualTo("tenant");
+    }
+
+    @Test
+    void unusableKeystoreFailsStartupInsteadOfGeneratingAKey() throws Exception {
+        assertThatThrownBy(() -> registry(dir.resolve("missing.p12"), ""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing.p12");
+
+        Path keystore = keystore("keys.p12", "first");
+        assertThatThrownBy(() -> registry(keystore, "absent"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("absent");
+    }
+
+    @Test
+    void withoutAKeystoreAKeyIsGenerated() {
+        SigningKeyRegistry registry = new SigningKeyRegistry("RS256", "", 900000, "", "", "", List.of(), 10000);
+        assertThat(subject(registry, sign(registry))).isEqualTo("tenant");
+    }
+
+    private static SigningKeyRegistry registry(Path keystore, String alias) {
+        return new SigningKeyRegistry("RS256", "", 900000, keystore.toString(), PASSWORD, alias, List.of(), 10000);
+    }
+
+    private static String sign(SigningKeyRegistry registry) {
+        SigningKeyRegistry.SigningKey key = registry.getActiveKey();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setSubject("tenant")
+                .signWith(key.signingKey(), key.algorithm())
+                .compact();
+    }
+
+    private static String subject(SigningKeyRegistry registry, String token) {
+        return Jwts.parserBuilder().setSigningKeyResolver(registry).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    private Path keystore(String name, String alias) throws Exception {
+        Path keystore = dir.resolve(name);
+        genkey(keystore, alias);
+        return keystore;
+    }
+
+    // The same keytool command an operator would run to provision the keys
+    private static void genkey(Path keystore, String alias) throws Exception {
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-keystore", keystore.toString(), "-storetype", "PKCS12", "-storepass", PASSWORD,
+                "-alias", alias, "-keyalg", "RSA", "-keysize", "2048", "-dname", "CN=proaim-jwt", "-validity", "1")
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(keytool.getInputStream().readAllBytes());
+        assertThat(keytool.waitFor()).as(output).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.Agreement;
+import com.proaim.event.EventTypes;
+import com.proaim.repository.AgreementRepository;
+import com.proaim.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgreementLifecycleServiceImplTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AgreementLifecycleService agreementLifecycleService;
+
+    @Autowired
+    private AgreementRepository agreementRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long agreementId;
+    private Timestamp endDate;
+
+    @BeforeEach
+    void pickAgreement() {
+        agreementId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM agreements WHERE status = 'ACTIVE'", Long.class);
+        endDate = jdbcTemplate.queryForObject("SELECT end_date FROM agreements WHERE id = ?", Timestamp.class, agreementId);
+    }
+
+    @AfterEach
+    void restoreAgreement() {
+        jdbcTemplate.update("UPDATE agreements SET status = 'ACTIVE', end_date = ? WHERE id = ?", endDate, agreementId);
+    }
+
+    @Test
+    void agreementLockedElsewhereIsRetriedAndExpiresOnce() throws Exception {
+        LocalDateTime ended = LocalDateTime.now().minusHours(1);
+        jdbcTemplate.update("UPDATE agreements SET end_date = ? WHERE id = ?", Timestamp.valueOf(ended), agreementId);
+
+        // Another node, or a terminate, holds the row while this node's sweep runs
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            agreementRepository.lockAvailable(List.of(agreementId));
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            agreementLifecycleService.track(agreementId, ended, Agreement.AgreementStatus.ACTIVE);
+            agreementLifecycleService.processDueDeadlines();
+            assertThat(expiredEvents()).isZero();
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+
+        // The skipped deadline was put back; a duplicate one must not fire a second time
+        agreementLifecycleService.processDueDeadlines();
+        agreementLifecycleService.track(agreementId, ended, Agreement.AgreementStatus.ACTIVE);
+        agreementLifecycleService.processDueDeadlines();
+
+        assertThat(expiredEvents()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM agreements WHERE id = ?", String.class, agreementId))
+                .isEqualTo("EXPIRED");
+    }
+
+    private long expiredEvents() {
+        return outboxEventRepository.findByAggregateTypeAndAggregateId(EventTypes.AGREEMENT, agreementId).stream()
+                .filter(event -> EventTypes.AGREEMENT_EXPIRED.equals(event.getEventType()))
+                .count();
+    }
+}
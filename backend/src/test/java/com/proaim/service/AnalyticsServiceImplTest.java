@@ -0,0 +1,124 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.Application;
+import com.proaim.entity.Property;
+import com.proaim.repository.ApplicationRepository;
+import com.proaim.repository.PropertyRepository;
+import com.proaim.security.UserDetailsImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AnalyticsServiceImplTest extends AbstractIntegrationTest {
+
+    private static final UserDetailsImpl ADMIN = new UserDetailsImpl(1L, "admin", null, null, null, "",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void evictCounts() {
+        analyticsService.evictCachedCounts();
+    }
+
+    @Test
+    void propertyAnalyticsRunsOneAggregateQueryThenServesFromCache() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long propertiesLoaded = statistics.getEntityStatistics(Property.class.getName()).getLoadCount();
+
+        mockMvc.perform(get("/api/properties/analytics").with(user(ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalProperties").value(propertyRepository.count()));
+        assertThat(statementsPerRequest("/api/properties/analytics").takeSnapshot().max()).isEqualTo(1.0);
+
+        mockMvc.perform(get("/api/properties/analytics").with(user(ADMIN)))
+                .andExpect(status().isOk());
+        DistributionSummary statements = statementsPerRequest("/api/properties/analytics");
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.totalAmount()).isEqualTo(1.0);
+
+        assertThat(statistics.getEntityStatistics(Property.class.getName()).getLoadCount()).isEqualTo(propertiesLoaded);
+    }
+
+    @Test
+    void applicationAnalyticsRunsOneAggregateQueryThenServesFromCache() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long applicationsLoaded = statistics.getEntityStatistics(Application.class.getName()).getLoadCount();
+
+        mockMvc.perform(get("/api/applications/analytics").with(user(ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalApplications").value(applicationRepository.count()))
+                .andExpect(jsonPath("$.pendingApplications")
+                        .value(applicationRepository.countByStatus(Application.ApplicationStatus.PENDING)));
+        assertThat(statementsPerRequest("/api/applications/analytics").takeSnapshot().max()).isEqualTo(1.0);
+
+        mockMvc.perform(get("/api/applications/analytics").with(user(ADMIN)))
+                .andExpect(status().isOk());
+        DistributionSummary statements = statementsPerRequest("/api/applications/analytics");
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.totalAmount()).isEqualTo(1.0);
+
+        assertThat(statistics.getEntityStatistics(Application.class.getName()).getLoadCount()).isEqualTo(applicationsLoaded);
+    }
+
+    @Test
+    void evictionForcesTheNextCallBackToTheDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        analyticsService.getPropertyStatusCounts();
+        long executions = totalQueryExecutions(statistics);
+        analyticsService.getPropertyStatusCounts();
+        assertThat(totalQueryExecutions(statistics)).isEqualTo(executions);
+
+        analyticsService.evictCachedCounts();
+        analyticsService.getPropertyStatusCounts();
+        assertThat(totalQueryExecutions(statistics)).isEqualTo(executions + 1);
+    }
+
+    private DistributionSummary statementsPerRequest(String uri) {
+        return meterRegistry.get("jdbc.statements.per.request").tag("uri", uri).summary();
+    }
+
+    // Executions of PropertyRepository.aggregateStatusCounts
+    private static long totalQueryExecutions(Statistics statistics) {
+        long executions = 0;
+        for (String query : statistics.getQueries()) {
+            if (query.contains("FROM Property p") && query.contains("SUM(CASE")) {
+                executions += statistics.getQueryStatistics(query).getExecutionCount();
+            }
+        }
+        return executions;
+    }
+}
@@ -0,0 +1,67 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.dto.ApplicationScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicationScoringServiceImplTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ApplicationScoringService applicationScoringService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long propertyId;
+
+    @BeforeEach
+    void pickProperty() {
+        propertyId = jdbcTemplate.queryForObject(
+                "SELECT MIN(property_id) FROM applications WHERE status = 'PENDING'", Long.class);
+        applicationScoringService.evictProperty(propertyId);
+    }
+
+    @Test
+    void rankingIsCachedUntilEvicted() {
+        List<ApplicationScore> first = applicationScoringService.rankPendingApplications(propertyId);
+        assertThat(applicationScoringService.rankPendingApplications(propertyId)).isSameAs(first);
+
+        applicationScoringService.evictProperty(propertyId);
+        assertThat(applicationScoringService.rankPendingApplications(propertyId)).isNotSameAs(first).hasSameSizeAs(first);
+    }
+
+    @Test
+    void evictionInsideTransactionWaitsForCommit() {
+        List<ApplicationScore> cached = applicationScoringService.rankPendingApplications(propertyId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationScoringService.evictProperty(propertyId);
+            assertThat(applicationScoringService.rankPendingApplications(propertyId)).isSameAs(cached);
+        });
+
+        assertThat(applicationScoringService.rankPendingApplications(propertyId)).isNotSameAs(cached);
+    }
+
+    @Test
+    void rolledBackTransactionKeepsRanking() {
+        List<ApplicationScore> cached = applicationScoringService.rankPendingApplications(propertyId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationScoringService.evictProperty(propertyId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(applicationScoringService.rankPendingApplications(propertyId)).isSameAs(cached);
+    }
+}
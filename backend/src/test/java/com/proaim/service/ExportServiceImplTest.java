@@ -0,0 +1,135 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.dto.ExportJobStatus;
+import com.proaim.dto.ExportRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportServiceImplTest extends AbstractIntegrationTest {
+
+    // Not a real landlord, so rollups and dashboards never see these rows
+    private static final long LANDLORD = 9_000_300L;
+    private static final LocalDateTime DAY = LocalDateTime.of(1999, 1, 1, 0, 0);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> archived = new ArrayList<>();
+
+    @AfterEach
+    void deleteArchived() {
+        archived.forEach(id -> jdbcTemplate.update("DELETE FROM payments_archive WHERE id = ?", id));
+    }
+
+    @Test
+    void onlyTheRequestedColumnsAreWrittenInTheirOrder() throws Exception {
+        archive(9_100_001L, DAY.plusHours(1), "REF-1", "12.50");
+
+        String csv = export(List.of("amount", "id"), DAY, DAY.plusDays(1));
+
+        assertThat(csv).isEqualTo("amount,id\n12.50,9100001\n");
+    }
+
+    @Test
+    void valuesWithSeparatorsQuotesOrLineBreaksAreQuoted() throws Exception {
+        archive(9_100_002L, DAY.plusHours(1), "REF,\"quoted\"\nnext", "1.00");
+
+        String csv = export(List.of("id", "paymentReference"), DAY, DAY.plusDays(1));
+
+        assertThat(csv).isEqualTo("id,paymentReference\n9100002,\"REF,\"\"quoted\"\"\nnext\"\n");
+    }
+
+    @Test
+    void rangeCoversHotAndArchivedPaymentsAndExcludesItsEnd() throws Exception {
+        LocalDateTime from = jdbcTemplate.queryForObject("SELECT MIN(payment_date) FROM payments", Timestamp.class)
+                .toLocalDateTime();
+        LocalDateTime to = from.plusDays(60);
+        archive(9_100_003L, from, "ARCHIVED-FIRST", "1.00");
+        archive(9_100_004L, to.minusSeconds(1), "ARCHIVED-LAST", "1.00");
+        archive(9_100_005L, from.minusSeconds(1), "ARCHIVED-BEFORE", "1.00");
+        archive(9_100_006L, to, "ARCHIVED-AT-END", "1.00");
+        long hot = countInRange("payments", from, to);
+        long inArchive = countInRange("payments_archive", from, to);
+        assertThat(hot).isPositive();
+
+        ExportRequest request = request(List.of("id", "paymentReference"), from, to);
+        ExportJobStatus status = awaitExport(exportService.startExport(request).getId());
+        String csv = read(status.getId());
+
+        assertThat(status.getTotalRows()).isEqualTo(hot + inArchive);
+        assertThat(status.getRowsWritten()).isEqualTo(hot + inArchive);
+        assertThat(csv.lines().count()).isEqualTo(1 + hot + inArchive);
+        assertThat(csv).contains("9100003,ARCHIVED-FIRST\n", "9100004,ARCHIVED-LAST\n")
+                .doesNotContain("ARCHIVED-BEFORE", "ARCHIVED-AT-END");
+    }
+
+    private void archive(long id, LocalDateTime paymentDate, String reference, String amount) {
+        jdbcTemplate.update("INSERT INTO payments_archive (id, archive_month, landlord_id, type, status, " +
+                        "payment_reference, amount, payment_date, created_at, archived_at) " +
+                        "VALUES (?, ?, ?, 'RENT', 'COMPLETED', ?, ?, ?, ?, ?)",
+                id, paymentDate.getYear() * 100 + paymentDate.getMonthValue(), LANDLORD, reference,
+                new BigDecimal(amount), Timestamp.valueOf(paymentDate), Timestamp.valueOf(paymentDate),
+                Timestamp.valueOf(LocalDateTime.now()));
+        archived.add(id);
+    }
+
+    private long countInRange(String table, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table +
+                " WHERE payment_date >= ? AND payment_date < ?", Long.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private String export(List<String> columns, LocalDateTime from, LocalDateTime to) throws Exception {
+        ExportJobStatus status = awaitExport(exportService.startExport(request(columns, from, to)).getId());
+        return read(status.getId());
+    }
+
+    private static ExportRequest request(List<String> columns, LocalDateTime from, LocalDateTime to) {
+        ExportRequest request = new ExportRequest();
+        request.setDataset("payments");
+        request.setColumns(columns);
+        request.setFrom(from);
+        request.setTo(to);
+        return request;
+    }
+
+    private ExportJobStatus awaitExport(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            ExportJobStatus status = exportService.getExportStatus(id).orElseThrow();
+            if ("COMPLETED".equals(status.getStatus()) || "FAILED".equals(status.getStatus())) {
+                assertThat(status.getError()).isNull();
+                return status;
+            }
+            assertThat(System.currentTimeMillis()).as("export %s still %s", id, status.getStatus())
+                    .isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private String read(String id) throws IOException {
+        Path file = exportService.getExportFile(id).orElseThrow();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
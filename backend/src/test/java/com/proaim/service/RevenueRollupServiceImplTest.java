@@ -0,0 +1,108 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.Payment;
+import com.proaim.event.OutboxFeed;
+import com.proaim.service.revenue.PaymentRevenue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevenueRollupServiceImplTest extends AbstractIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2040, 1, 1);
+
+    // Not a real landlord, so direct calls do not disturb the generated data
+    private static final long LANDLORD = 9_000_001L;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OutboxFeed outboxFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void paymentUpdateMovesRevenueByTheDifference() throws InterruptedException {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT id, landlord_id FROM payments " +
+                "WHERE status = 'COMPLETED' AND payment_date IS NOT NULL ORDER BY id LIMIT 1");
+        long paymentId = ((Number) row.get("ID")).longValue();
+        long landlordId = ((Number) row.get("LANDLORD_ID")).longValue();
+        BigDecimal before = landlordRevenue(landlordId);
+
+        Payment payment = paymentService.getPaymentById(paymentId).orElseThrow();
+        BigDecimal amount = payment.getAmount();
+        try {
+            payment.setAmount(amount.add(new BigDecimal("100.00")));
+            paymentService.updatePayment(paymentId, payment);
+            awaitRevenue(landlordId, before.add(new BigDecimal("100.00")));
+
+            payment.setStatus(Payment.PaymentStatus.REFUNDED);
+            paymentService.updatePayment(paymentId, payment);
+            awaitRevenue(landlordId, before.subtract(amount));
+        } finally {
+            payment.setAmount(amount);
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            paymentService.updatePayment(paymentId, payment);
+        }
+        awaitRevenue(landlordId, before);
+    }
+
+    @Test
+    void redeliveredEventIsCountedOnce() {
+        PaymentRevenue paid = completed(LocalDate.of(2025, 6, 1), "50.00");
+        revenueRollupService.applyPaymentChange(-1L, null, LANDLORD, null, paid);
+        revenueRollupService.applyPaymentChange(-1L, null, LANDLORD, null, paid);
+
+        assertThat(landlordRevenue(LANDLORD)).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void absurdPaymentDatesAreClampedInsteadOfWideningTheTiers() {
+        long clamped = (Long) revenueRollupService.getStats().get("clampedDates");
+
+        revenueRollupService.applyPaymentChange(-2L, null, LANDLORD + 1, null, completed(LocalDate.of(9999, 12, 31), "10.00"));
+        revenueRollupService.applyPaymentChange(-3L, null, LANDLORD + 1, null, completed(LocalDate.of(1, 1, 1), "20.00"));
+
+        assertThat(revenueRollupService.getStats().get("clampedDates")).isEqualTo(clamped + 2);
+        assertThat(revenueRollupService.getLandlordRevenue(LANDLORD + 1, LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1))
+                .getAmount()).isEqualByComparingTo("30.00");
+
+        // Taking the same payments back leaves nothing behind
+        revenueRollupService.applyPaymentChange(-4L, null, LANDLORD + 1, completed(LocalDate.of(9999, 12, 31), "10.00"), null);
+        revenueRollupService.applyPaymentChange(-5L, null, LANDLORD + 1, completed(LocalDate.of(1, 1, 1), "20.00"), null);
+        assertThat(revenueRollupService.getLandlordRevenue(LANDLORD + 1, LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1))
+                .getAmount()).isEqualByComparingTo("0.00");
+    }
+
+    private static PaymentRevenue completed(LocalDate day, String amount) {
+        return new PaymentRevenue("COMPLETED", day, new BigDecimal(amount), null, null);
+    }
+
+    private BigDecimal landlordRevenue(long landlordId) {
+        return revenueRollupService.getLandlordRevenue(landlordId, FROM, TO).getAmount();
+    }
+
+    // Payment events reach the rollups through the outbox; the scheduled feed may get there first
+    private void awaitRevenue(long landlordId, BigDecimal expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (landlordRevenue(landlordId).compareTo(expected) != 0) {
+            assertThat(System.currentTimeMillis()).as("revenue of landlord %s to reach %s, was %s",
+                    landlordId, expected, landlordRevenue(landlordId)).isLessThan(deadline);
+            outboxFeed.poll();
+            Thread.sleep(50);
+        }
+    }
+}
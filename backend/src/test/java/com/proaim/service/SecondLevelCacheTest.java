@@ -0,0 +1,114 @@
+package com.proaim.service;
+
+import com.proaim.AbstractIntegrationTest;
+import com.proaim.entity.Property;
+import com.proaim.entity.User;
+import com.proaim.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Updates made through the services must never leave a stale copy in the
+// second-level cache, and repeated reads must still be served from it
+class SecondLevelCacheTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void statusUpdateReplacesTheCachedProperty() {
+        long propertyId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM properties WHERE status = 'AVAILABLE'", Long.class);
+        propertyService.getPropertyById(propertyId);
+        long hits = region(Property.class.getName()).getHitCount();
+        assertThat(propertyService.getPropertyById(propertyId).orElseThrow().getStatus())
+                .isEqualTo(Property.PropertyStatus.AVAILABLE);
+        assertThat(region(Property.class.getName()).getHitCount()).isGreaterThan(hits);
+
+        try {
+            propertyService.updatePropertyStatus(propertyId, Property.PropertyStatus.UNDER_MAINTENANCE);
+            assertThat(propertyService.getPropertyById(propertyId).orElseThrow().getStatus())
+                    .isEqualTo(Property.PropertyStatus.UNDER_MAINTENANCE);
+        } finally {
+            propertyService.updatePropertyStatus(propertyId, Property.PropertyStatus.AVAILABLE);
+        }
+    }
+
+    @Test
+    void amenityUpdateEvictsTheCachedCollection() {
+        long propertyId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM properties", Long.class);
+        List<String> original = List.copyOf(propertyService.getPropertyById(propertyId).orElseThrow().getAmenities());
+        long hits = region(Property.class.getName() + ".amenities").getHitCount();
+        propertyService.getPropertyById(propertyId);
+        assertThat(region(Property.class.getName() + ".amenities").getHitCount()).isGreaterThan(hits);
+
+        try {
+            Property update = new Property();
+            update.setAmenities(new ArrayList<>(List.of("Rooftop Deck")));
+            propertyService.updateProperty(propertyId, update);
+            assertThat(propertyService.getPropertyById(propertyId).orElseThrow().getAmenities())
+                    .containsExactly("Rooftop Deck");
+        } finally {
+            Property restore = new Property();
+            restore.setAmenities(new ArrayList<>(original));
+            propertyService.updateProperty(propertyId, restore);
+        }
+    }
+
+    @Test
+    void userUpdateReplacesTheCachedUserAndInvalidatesUsernameLookups() {
+        User cached = userService.getUserById(4L);
+        String email = cached.getEmail();
+        userRepository.findByUsername(cached.getUsername());
+        long queryHits = statistics.getQueryCacheHitCount();
+        userRepository.findByUsername(cached.getUsername());
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(queryHits);
+
+        User update = new User();
+        update.setFirstName(cached.getFirstName());
+        update.setLastName(cached.getLastName());
+        try {
+            update.setEmail("cache-check@example.com");
+            userService.updateUser(4L, update);
+            assertThat(userService.getUserById(4L).getEmail()).isEqualTo("cache-check@example.com");
+            assertThat(userRepository.findByUsername(cached.getUsername()).orElseThrow().getEmail())
+                    .isEqualTo("cache-check@example.com");
+        } finally {
+            update.setEmail(email);
+            userService.updateUser(4L, update);
+        }
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+}
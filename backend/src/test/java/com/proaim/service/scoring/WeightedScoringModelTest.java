@@ -0,0 +1,49 @@
+package com.proaim.service.scoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeightedScoringModelTest {
+
+    private WeightedScoringModel model;
+
+    @BeforeEach
+    void createModel() {
+        model = new WeightedScoringModel();
+        ReflectionTestUtils.setField(model, "incomeWeight", 0.40);
+        ReflectionTestUtils.setField(model, "creditWeight", 0.35);
+        ReflectionTestUtils.setField(model, "historyWeight", 0.10);
+        ReflectionTestUtils.setField(model, "occupancyWeight", 0.10);
+        ReflectionTestUtils.setField(model, "petsWeight", 0.05);
+        ReflectionTestUtils.setField(model, "referenceHistoryLength", 500);
+    }
+
+    @Test
+    void defaultWeightsAreAccepted() {
+        assertThatCode(model::validate).doesNotThrowAnyException();
+    }
+
+    @Test
+    void weightsAddingUpToZeroAreRejected() {
+        for (String weight : new String[]{"incomeWeight", "creditWeight", "historyWeight", "occupancyWeight", "petsWeight"}) {
+            ReflectionTestUtils.setField(model, weight, 0.0);
+        }
+
+        assertThatThrownBy(model::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("add up to more than 0");
+    }
+
+    @Test
+    void negativeOrNaNWeightIsRejected() {
+        ReflectionTestUtils.setField(model, "petsWeight", -0.05);
+        assertThatThrownBy(model::validate).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(model, "petsWeight", Double.NaN);
+        assertThatThrownBy(model::validate).isInstanceOf(IllegalStateException.class);
+    }
+}
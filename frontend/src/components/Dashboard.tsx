@@ -12,6 +12,7 @@ import {
   Legend,
 } from 'chart.js';
 import axios from 'axios';
+import { useStatusStream } from '../hooks/useStatusStream';
 
 const isMock = (import.meta as any).env?.VITE_MOCK_AUTH === 'true';
 
@@ -44,6 +45,9 @@ const Dashboard: React.FC = () => {
     fetchDashboardData();
   }, []);
 
+  // Revenue moves with payments; re-read when one changes
+  useStatusStream(['payment'], () => fetchDashboardData());
+
   const fetchDashboardData = async () => {
     try {
       if (isMock) {
@@ -1,4 +1,5 @@
 import React, { useEffect, useState } from "react";
+import { useStatusStream } from "../hooks/useStatusStream";
 
 interface Payment {
   id: number;
@@ -38,6 +39,9 @@ const PaymentsPage: React.FC = () => {
     fetchPayments();
   }, []);
 
+  // Status changes made elsewhere (the other party, scheduled jobs) show up live
+  useStatusStream(["payment"], fetchPayments);
+
   // ✅ Handle create payment (fixed)
   const handleCreatePayment = (e: React.FormEvent) => {
     e.preventDefault();
@@ -1,5 +1,5 @@
 import React, { createContext, useContext, useState, useEffect, ReactNode } from 'react';
-import axios from 'axios';
+import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
 
 interface User {
   id: number;
@@ -29,6 +29,36 @@ interface RegisterData {
 
 const AuthContext = createContext<AuthContextType | undefined>(undefined);
 
+// Access tokens are short-lived; a 401 is answered by swapping the stored refresh
+// token at /auth/refresh and retrying the request once with the new access token.
+// Concurrent 401s share one refresh, since each refresh token can be used only once.
+let refreshInFlight: Promise<string> | null = null;
+
+const storeTokens = (token: string, refreshToken?: string) => {
+  localStorage.setItem('token', token);
+  if (refreshToken) {
+    localStorage.setItem('refreshToken', refreshToken);
+  }
+  axios.defaults.headers.common['Authorization'] = `Bearer ${token}`;
+};
+
+export const refreshAccessToken = (): Promise<string> => {
+  if (!refreshInFlight) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshInFlight = (refreshToken
+      ? axios.post('/auth/refresh', { refreshToken }).then((response) => {
+          const data = response.data.data;
+          storeTokens(data.token, data.refreshToken);
+          return data.token as string;
+        })
+      : Promise.reject(new Error('No refresh token'))
+    ).finally(() => {
+      refreshInFlight = null;
+    });
+  }
+  return refreshInFlight;
+};
+
 export const useAuth = () => {
   const context = useContext(AuthContext);
   if (!context) {
@@ -49,6 +79,39 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   // ✅ Backend API base URL (adjust if needed)
   axios.defaults.baseURL = "http://localhost:8080/api";
 
+  const clearSession = () => {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+    delete axios.defaults.headers.common['Authorization'];
+    setUser(null);
+    setIsAuthenticated(false);
+  };
+
+  useEffect(() => {
+    const interceptor = axios.interceptors.response.use(
+      (response) => response,
+      async (error: AxiosError) => {
+        const request = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+        const url = request?.url || '';
+        if (error.response?.status !== 401 || !request || request._retried
+            || ['/auth/login', '/auth/refresh', '/auth/logout'].some((path) => url.includes(path))) {
+          return Promise.reject(error);
+        }
+        request._retried = true;
+        try {
+          const token = await refreshAccessToken();
+          request.headers['Authorization'] = `Bearer ${token}`;
+          return axios(request);
+        } catch {
+          clearSession();
+          return Promise.reject(error);
+        }
+      }
+    );
+    return () => axios.interceptors.response.eject(interceptor);
+  }, []);
+
   useEffect(() => {
     const token = localStorage.getItem('token');
     if (token) {
@@ -77,9 +140,8 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
         role: response.data.data.role
       };
 
-      localStorage.setItem('token', token);
+      storeTokens(token, response.data.data.refreshToken);
       localStorage.setItem('user', JSON.stringify(userData));
-      axios.defaults.headers.common['Authorization'] = `Bearer ${token}`;
 
       setUser(userData);
       setIsAuthenticated(true);
@@ -97,9 +159,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
       // After registration, user may still need to login manually
       // If backend also returns token, you can auto-login here
       if (response.data.data?.token) {
-        const token = response.data.data.token;
-        localStorage.setItem('token', token);
-        axios.defaults.headers.common['Authorization'] = `Bearer ${token}`;
+        storeTokens(response.data.data.token, response.data.data.refreshToken);
       }
     } catch (error: any) {
       const message =
@@ -109,11 +169,12 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   };
 
   const logout = () => {
-    localStorage.removeItem('token');
-    localStorage.removeItem('user');
-    delete axios.defaults.headers.common['Authorization'];
-    setUser(null);
-    setIsAuthenticated(false);
+    // Revokes the refresh token server-side; the local session is cleared either way
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      axios.post('/auth/logout', { refreshToken }).catch(() => undefined);
+    }
+    clearSession();
   };
 
   const value: AuthContextType = {
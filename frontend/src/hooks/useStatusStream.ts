@@ -0,0 +1,127 @@
+import { useEffect, useRef } from 'react';
+import { refreshAccessToken } from '../contexts/AuthContext';
+
+const isMock = (import.meta as any).env?.VITE_MOCK_AUTH === 'true';
+
+const STREAM_URL = 'http://localhost:8080/api/stream/status';
+const MAX_RETRY_MS = 30000;
+// A burst of changes (e.g. a batch of payments) triggers one re-read
+const CHANGE_DELAY_MS = 500;
+
+// Names of the stream's events
+export type StatusEventName = 'application' | 'agreement' | 'payment';
+
+// Calls onChange when the signed-in user's applications, agreements or payments
+// named in `names` change, replacing a re-fetch on a timer. The stream is read
+// with fetch because EventSource cannot send the Authorization header. A dropped
+// stream is reopened with backoff, and onChange also runs after each reconnect,
+// since changes made while it was down were not delivered.
+export const useStatusStream = (names: StatusEventName[], onChange: () => void) => {
+  const handler = useRef(onChange);
+  handler.current = onChange;
+  const key = names.join(',');
+
+  useEffect(() => {
+    if (isMock || !localStorage.getItem('token')) {
+      return;
+    }
+    const controller = new AbortController();
+    let retryMs = 1000;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+    let changeTimer: ReturnType<typeof setTimeout> | undefined;
+    let connected = false;
+
+    const changed = () => {
+      if (changeTimer === undefined) {
+        changeTimer = setTimeout(() => {
+          changeTimer = undefined;
+          handler.current();
+        }, CHANGE_DELAY_MS);
+      }
+    };
+
+    const open = (token: string | null) => fetch(STREAM_URL, {
+      headers: { Accept: 'text/event-stream', Authorization: `Bearer ${token}` },
+      cache: 'no-store',
+      signal: controller.signal,
+    });
+
+    const connect = async () => {
+      try {
+        let response = await open(localStorage.getItem('token'));
+        if (response.status === 401) {
+          let token;
+          try {
+            token = await refreshAccessToken();
+          } catch {
+            // Session is over; the next API call sends the user to login
+            return;
+          }
+          response = await open(token);
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Status stream failed: ${response.status}`);
+        }
+        if (connected) {
+          changed();
+        }
+        connected = true;
+        retryMs = 1000;
+        await read(response.body, (name) => {
+          if (names.includes(name as StatusEventName)) {
+            changed();
+          }
+        });
+      } catch (err) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        console.error('Status stream closed:', err);
+      }
+      if (!controller.signal.aborted) {
+        retryTimer = setTimeout(connect, retryMs);
+        retryMs = Math.min(retryMs * 2, MAX_RETRY_MS);
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(retryTimer);
+      clearTimeout(changeTimer);
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [key]);
+};
+
+// Parses the text/event-stream framing and passes on each event's name; events
+// are separated by a blank line, lines starting with ':' are the server's pings
+const read = async (body: ReadableStream<Uint8Array>, dispatch: (name: string) => void) => {
+  const reader = body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  while (true) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += decoder.decode(value, { stream: true });
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const block = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      let name = 'message';
+      let hasData = false;
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) {
+          name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          hasData = true;
+        }
+      }
+      if (hasData) {
+        dispatch(name);
+      }
+    }
+  }
+};
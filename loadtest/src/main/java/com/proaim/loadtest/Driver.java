@@ -0,0 +1,130 @@
+package com.proaim.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Fires requests at a fixed arrival rate and records each completion against its step
+public class Driver {
+
+    private final HttpClient client;
+    private final Scenario scenario;
+    private final Fixtures fixtures;
+    private final List<RequestTemplate> templates = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+    private final int drainSeconds;
+
+    public Driver(HttpClient client, Scenario scenario, Fixtures fixtures, Options options) {
+        this.client = client;
+        this.scenario = scenario;
+        this.fixtures = fixtures;
+        this.random = new SplittableRandom(options.seed());
+        this.drainSeconds = options.timeoutSeconds() + 5;
+        this.cumulativeWeights = new int[scenario.getSteps().size()];
+        int total = 0;
+        for (int i = 0; i < scenario.getSteps().size(); i++) {
+            Scenario.Step step = scenario.getSteps().get(i);
+            templates.add(new RequestTemplate(step, options));
+            total += step.getWeight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public List<EndpointStats> newStats() {
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Scenario.Step step : scenario.getSteps()) {
+            stats.add(new EndpointStats(step));
+        }
+        return stats;
+    }
+
+    // Runs one phase; progress lines are printed every reportSeconds when label is set
+    public void run(List<EndpointStats> stats, int seconds, String label, int reportSeconds) throws InterruptedException {
+        long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / scenario.getRate()));
+        Semaphore inFlight = new Semaphore(scenario.getMaxInFlight());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long nextReport = start + TimeUnit.SECONDS.toNanos(reportSeconds);
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            if (label != null && now >= nextReport) {
+                progress(stats, label, now - start, reportSeconds);
+                nextReport += TimeUnit.SECONDS.toNanos(reportSeconds);
+            }
+
+            // Waiting for a permit delays the send but not the schedule, so the wait shows up as latency
+            inFlight.acquire();
+            int index = pickStep();
+            EndpointStats endpoint = stats.get(index);
+            HttpRequest request = templates.get(index).build(fixtures, random);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long completed = System.nanoTime();
+                        inFlight.release();
+                        if (error == null) {
+                            int status = response.statusCode();
+                            endpoint.record(scheduled, sent, completed, String.valueOf(status), endpoint.getStep().isExpected(status));
+                        } else {
+                            endpoint.record(scheduled, sent, completed, outcomeOf(error), false);
+                        }
+                    });
+        }
+
+        if (!inFlight.tryAcquire(scenario.getMaxInFlight(), drainSeconds, TimeUnit.SECONDS)) {
+            System.err.println("Gave up waiting for in-flight requests to finish");
+        }
+        for (EndpointStats endpoint : stats) {
+            endpoint.drain();
+        }
+    }
+
+    private int pickStep() {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private void progress(List<EndpointStats> stats, String label, long elapsedNanos, int reportSeconds) {
+        Histogram interval = new Histogram(3);
+        for (EndpointStats endpoint : stats) {
+            interval.add(endpoint.drain());
+        }
+        long errors = stats.stream().mapToLong(EndpointStats::getErrors).sum();
+        System.out.printf("[%s %4ds] %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d%n",
+                label, TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+                interval.getTotalCount() / (double) reportSeconds,
+                interval.getValueAtPercentile(50) / 1000.0,
+                interval.getValueAtPercentile(99) / 1000.0,
+                interval.getMaxValue() / 1000.0,
+                errors);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,77 @@
+package com.proaim.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-step latency histograms in microseconds, recorded from completion callbacks
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Scenario.Step step;
+
+    // Latency counts from the scheduled send time, so a stalled server cannot hide queued requests
+    private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram totalLatency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram totalServiceTime = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private Histogram intervalLatency;
+    private Histogram intervalServiceTime;
+
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public EndpointStats(Scenario.Step step) {
+        this.step = step;
+    }
+
+    public void record(long scheduledNanos, long sentNanos, long completedNanos, String outcome, boolean success) {
+        latency.recordValue(clamp(completedNanos - scheduledNanos));
+        serviceTime.recordValue(clamp(completedNanos - sentNanos));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    // Moves everything recorded since the last call into the totals and returns the interval's latencies
+    public synchronized Histogram drain() {
+        intervalLatency = latency.getIntervalHistogram(intervalLatency);
+        intervalServiceTime = serviceTime.getIntervalHistogram(intervalServiceTime);
+        totalLatency.add(intervalLatency);
+        totalServiceTime.add(intervalServiceTime);
+        return intervalLatency;
+    }
+
+    private static long clamp(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public Scenario.Step getStep() {
+        return step;
+    }
+
+    public Histogram getTotalLatency() {
+        return totalLatency;
+    }
+
+    public Histogram getTotalServiceTime() {
+        return totalServiceTime;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public Map<String, Long> getOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+}
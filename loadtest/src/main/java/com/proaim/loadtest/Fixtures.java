@@ -0,0 +1,169 @@
+package com.proaim.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+// Users, sessions and properties discovered from the running backend before the measured run
+public class Fixtures {
+
+    public record Session(long id, String username, String token) {}
+
+    public record PropertySample(long id, long landlordId, String city, Integer bedrooms,
+                                 String rentAmount, Double latitude, Double longitude) {}
+
+    private final Session admin;
+    private final List<Session> tenants;
+    private final List<Session> landlords;
+    private final List<PropertySample> properties;
+
+    private Fixtures(Session admin, List<Session> tenants, List<Session> landlords, List<PropertySample> properties) {
+        this.admin = admin;
+        this.tenants = tenants;
+        this.landlords = landlords;
+        this.properties = properties;
+    }
+
+    public static Fixtures discover(HttpClient client, ObjectMapper mapper, Options options) throws IOException, InterruptedException {
+        Session admin = login(client, mapper, options, options.adminUser(), options.adminPassword()).join();
+        if (admin == null) {
+            throw new IllegalStateException("Admin login failed for " + options.adminUser());
+        }
+
+        // Pool users by account type; ids alone do not say who is a landlord
+        JsonNode users = get(client, mapper, options, "/api/users", admin.token());
+        List<JsonNode> tenantUsers = new ArrayList<>();
+        List<JsonNode> landlordUsers = new ArrayList<>();
+        for (JsonNode user : users) {
+            if (user.path("username").asText().equals(options.adminUser())) {
+                continue;
+            }
+            String userType = user.path("userType").asText();
+            if ("TENANT".equals(userType)) {
+                tenantUsers.add(user);
+            } else if ("LANDLORD".equals(userType)) {
+                landlordUsers.add(user);
+            }
+        }
+        Random random = new Random(options.seed());
+        Collections.shuffle(tenantUsers, random);
+        Collections.shuffle(landlordUsers, random);
+        List<Session> tenants = loginAll(client, mapper, options, tenantUsers);
+        List<Session> landlords = loginAll(client, mapper, options, landlordUsers);
+
+        JsonNode page = get(client, mapper, options, "/api/properties?page=0&size=" + options.propertyPoolSize(), admin.token());
+        List<PropertySample> properties = new ArrayList<>();
+        for (JsonNode property : page.path("content")) {
+            JsonNode latitude = property.path("latitude");
+            JsonNode longitude = property.path("longitude");
+            properties.add(new PropertySample(
+                    property.path("id").asLong(),
+                    property.path("landlord").path("id").asLong(),
+                    property.path("city").asText(""),
+                    property.path("bedrooms").isNumber() ? property.path("bedrooms").asInt() : null,
+                    property.path("rentAmount").asText("0"),
+                    latitude.isNumber() ? latitude.asDouble() : null,
+                    longitude.isNumber() ? longitude.asDouble() : null));
+        }
+        return new Fixtures(admin, tenants, landlords, properties);
+    }
+
+    // Fails fast when a step needs a pool that discovery left empty
+    public void requireFor(Scenario scenario) {
+        for (Scenario.Step step : scenario.getSteps()) {
+            if (step.getAuth() == Scenario.Auth.TENANT && tenants.isEmpty()) {
+                throw new IllegalStateException("Step " + step.getName() + " needs tenant sessions but none logged in");
+            }
+            if (step.getAuth() == Scenario.Auth.LANDLORD && landlords.isEmpty()) {
+                throw new IllegalStateException("Step " + step.getName() + " needs landlord sessions but none logged in");
+            }
+            if (step.getPath().contains("${property.") && properties.isEmpty()) {
+                throw new IllegalStateException("Step " + step.getName() + " needs properties but none were found");
+            }
+        }
+    }
+
+    private static List<Session> loginAll(HttpClient client, ObjectMapper mapper, Options options, List<JsonNode> users) {
+        List<CompletableFuture<Session>> logins = new ArrayList<>();
+        for (JsonNode user : users.subList(0, Math.min(options.poolSize(), users.size()))) {
+            logins.add(login(client, mapper, options, user.path("username").asText(), options.password()));
+        }
+        // Seeded accounts with their own passwords simply drop out of the pool
+        List<Session> sessions = new ArrayList<>();
+        for (CompletableFuture<Session> login : logins) {
+            Session session = login.join();
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+    private static CompletableFuture<Session> login(HttpClient client, ObjectMapper mapper, Options options,
+                                                    String username, String password) {
+        String body = mapper.createObjectNode().put("username", username).put("password", password).toString();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        return null;
+                    }
+                    try {
+                        JsonNode data = mapper.readTree(response.body()).path("data");
+                        return new Session(data.path("id").asLong(), username, data.path("token").asText());
+                    } catch (IOException e) {
+                        return null;
+                    }
+                });
+    }
+
+    private static JsonNode get(HttpClient client, ObjectMapper mapper, Options options, String path, String token)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds()))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+
+    public Map<String, Integer> sizes() {
+        return Map.of("tenants", tenants.size(), "landlords", landlords.size(), "properties", properties.size());
+    }
+
+    public Session getAdmin() {
+        return admin;
+    }
+
+    public List<Session> getTenants() {
+        return tenants;
+    }
+
+    public List<Session> getLandlords() {
+        return landlords;
+    }
+
+    public List<PropertySample> getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,89 @@
+package com.proaim.loadtest;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Replays scenario traffic against a running backend and compares reports between runs
+public class LoadTest {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage:",
+            "  run <scenario.json> [--base-url http://localhost:8080] [--rate N] [--duration S] [--warmup S]",
+            "      [--max-in-flight N] [--out reports] [--admin-user admin] [--admin-password admin123]",
+            "      [--password password123] [--pool-size 50] [--property-pool-size 500] [--seed 42] [--timeout 30]",
+            "  compare <baseline> <candidate> [--max-regression 10]");
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> arguments = options.arguments();
+        ObjectMapper mapper = JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
+
+        if (arguments.size() == 2 && arguments.get(0).equals("run")) {
+            run(mapper, options, Path.of(arguments.get(1)));
+        } else if (arguments.size() == 3 && arguments.get(0).equals("compare")) {
+            boolean ok = Report.compare(mapper, Path.of(arguments.get(1)), Path.of(arguments.get(2)), options.maxRegressionPercent());
+            if (!ok) {
+                System.out.printf("p99 regressed by more than %.1f%%%n", options.maxRegressionPercent());
+                System.exit(1);
+            }
+        } else {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    private static void run(ObjectMapper mapper, Options options, Path scenarioPath) throws Exception {
+        Scenario scenario = Scenario.load(scenarioPath, mapper);
+        options.applyOverrides(scenario);
+
+        ExecutorService executor = newExecutor();
+        String executorName = executor.getClass().getSimpleName().contains("ThreadPerTask") ? "virtual-threads" : "thread-pool";
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(options.timeoutSeconds()))
+                .build();
+
+        try {
+            System.out.printf("Discovering fixtures at %s%n", options.baseUrl());
+            Fixtures fixtures = Fixtures.discover(client, mapper, options);
+            fixtures.requireFor(scenario);
+            System.out.printf("Fixtures %s, executor %s%n", fixtures.sizes(), executorName);
+
+            Driver driver = new Driver(client, scenario, fixtures, options);
+            if (scenario.getWarmupSeconds() > 0) {
+                System.out.printf("Warming up %s for %ds at %.1f req/s%n", scenario.getName(), scenario.getWarmupSeconds(), scenario.getRate());
+                driver.run(driver.newStats(), scenario.getWarmupSeconds(), null, 5);
+            }
+            System.out.printf("Running %s for %ds at %.1f req/s%n", scenario.getName(), scenario.getDurationSeconds(), scenario.getRate());
+            List<EndpointStats> stats = driver.newStats();
+            driver.run(stats, scenario.getDurationSeconds(), scenario.getName(), 5);
+
+            Path directory = Report.write(mapper, options, scenario, fixtures, stats, executorName);
+            System.out.printf("%nReport written to %s%n", directory.toAbsolutePath());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Virtual threads when the runtime has them (Java 21+), otherwise a cached pool of daemon threads
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
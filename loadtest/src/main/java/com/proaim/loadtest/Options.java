@@ -0,0 +1,69 @@
+package com.proaim.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line settings; --rate, --duration, --warmup and --max-in-flight override the scenario script
+public record Options(List<String> arguments, String baseUrl, String adminUser, String adminPassword, String password,
+                      int poolSize, int propertyPoolSize, long seed, int timeoutSeconds, Path outputDir,
+                      Double rate, Integer durationSeconds, Integer warmupSeconds, Integer maxInFlight,
+                      double maxRegressionPercent) {
+
+    public static Options parse(String[] args) {
+        List<String> arguments = new ArrayList<>();
+        Map<String, String> flags = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                String flag = args[i].substring(2);
+                int equals = flag.indexOf('=');
+                if (equals >= 0) {
+                    flags.put(flag.substring(0, equals), flag.substring(equals + 1));
+                } else if (i + 1 < args.length) {
+                    flags.put(flag, args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Missing value for --" + flag);
+                }
+            } else {
+                arguments.add(args[i]);
+            }
+        }
+        return new Options(
+                arguments,
+                stripTrailingSlash(flags.getOrDefault("base-url", "http://localhost:8080")),
+                flags.getOrDefault("admin-user", "admin"),
+                flags.getOrDefault("admin-password", "admin123"),
+                flags.getOrDefault("password", "password123"),
+                Integer.parseInt(flags.getOrDefault("pool-size", "50")),
+                Integer.parseInt(flags.getOrDefault("property-pool-size", "500")),
+                Long.parseLong(flags.getOrDefault("seed", "42")),
+                Integer.parseInt(flags.getOrDefault("timeout", "30")),
+                Path.of(flags.getOrDefault("out", "reports")),
+                flags.containsKey("rate") ? Double.valueOf(flags.get("rate")) : null,
+                flags.containsKey("duration") ? Integer.valueOf(flags.get("duration")) : null,
+                flags.containsKey("warmup") ? Integer.valueOf(flags.get("warmup")) : null,
+                flags.containsKey("max-in-flight") ? Integer.valueOf(flags.get("max-in-flight")) : null,
+                Double.parseDouble(flags.getOrDefault("max-regression", "10")));
+    }
+
+    public void applyOverrides(Scenario scenario) {
+        if (rate != null) {
+            scenario.setRate(rate);
+        }
+        if (durationSeconds != null) {
+            scenario.setDurationSeconds(durationSeconds);
+        }
+        if (warmupSeconds != null) {
+            scenario.setWarmupSeconds(warmupSeconds);
+        }
+        if (maxInFlight != null) {
+            scenario.setMaxInFlight(maxInFlight);
+        }
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,174 @@
+package com.proaim.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Writes report.json plus one .hgrm percentile distribution per step, and compares two report.json files
+public class Report {
+
+    private static final double[] PERCENTILES = {50, 75, 90, 99, 99.9};
+
+    private Report() {}
+
+    public static Path write(ObjectMapper mapper, Options options, Scenario scenario, Fixtures fixtures,
+                             List<EndpointStats> stats, String executor) throws IOException {
+        Path directory = options.outputDir().resolve(scenario.getName() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(directory);
+
+        ObjectNode report = mapper.createObjectNode();
+        report.put("scenario", scenario.getName());
+        report.put("baseUrl", options.baseUrl());
+        report.put("finishedAt", Instant.now().toString());
+        report.put("rate", scenario.getRate());
+        report.put("durationSeconds", scenario.getDurationSeconds());
+        report.put("warmupSeconds", scenario.getWarmupSeconds());
+        report.put("maxInFlight", scenario.getMaxInFlight());
+        report.put("seed", options.seed());
+        report.put("executor", executor);
+        report.set("fixtures", mapper.valueToTree(fixtures.sizes()));
+
+        Histogram allLatency = new Histogram(3);
+        Histogram allServiceTime = new Histogram(3);
+        long allErrors = 0;
+        ArrayNode endpoints = report.putArray("endpoints");
+        for (EndpointStats endpoint : stats) {
+            ObjectNode node = summarize(endpoints.addObject(), endpoint.getStep().getName(), endpoint.getTotalLatency(),
+                    endpoint.getTotalServiceTime(), endpoint.getErrors(), scenario.getDurationSeconds());
+            node.put("method", endpoint.getStep().getMethod());
+            node.put("path", endpoint.getStep().getPath());
+            node.set("outcomes", mapper.valueToTree(endpoint.getOutcomes()));
+            allLatency.add(endpoint.getTotalLatency());
+            allServiceTime.add(endpoint.getTotalServiceTime());
+            allErrors += endpoint.getErrors();
+            writeDistribution(directory.resolve(fileName(endpoint.getStep().getName()) + ".hgrm"), endpoint.getTotalLatency());
+        }
+        summarize(report.putObject("total"), "total", allLatency, allServiceTime, allErrors, scenario.getDurationSeconds());
+        writeDistribution(directory.resolve("total.hgrm"), allLatency);
+
+        mapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("report.json").toFile(), report);
+        print(report);
+        return directory;
+    }
+
+    private static ObjectNode summarize(ObjectNode node, String name, Histogram latency, Histogram serviceTime,
+                                        long errors, int durationSeconds) {
+        node.put("name", name);
+        node.put("count", latency.getTotalCount());
+        node.put("errors", errors);
+        node.put("throughput", round(latency.getTotalCount() / (double) durationSeconds));
+        latencies(node.putObject("latencyMs"), latency);
+        latencies(node.putObject("serviceTimeMs"), serviceTime);
+        return node;
+    }
+
+    private static void latencies(ObjectNode node, Histogram histogram) {
+        node.put("mean", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            node.put(percentileKey(percentile), round(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        node.put("max", round(histogram.getMaxValue() / 1000.0));
+    }
+
+    // Same layout HdrHistogram's plotter reads, scaled to milliseconds
+    private static void writeDistribution(Path path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path))) {
+            histogram.outputPercentileDistribution(out, 5, 1000.0);
+        }
+    }
+
+    private static void print(JsonNode report) {
+        System.out.printf("%n%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (JsonNode endpoint : report.path("endpoints")) {
+            printRow(endpoint);
+        }
+        printRow(report.path("total"));
+    }
+
+    private static void printRow(JsonNode row) {
+        JsonNode latency = row.path("latencyMs");
+        System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                row.path("name").asText(), row.path("count").asLong(), row.path("errors").asLong(),
+                row.path("throughput").asDouble(), latency.path("p50").asDouble(), latency.path("p90").asDouble(),
+                latency.path("p99").asDouble(), latency.path("max").asDouble());
+    }
+
+    // Prints baseline vs candidate per step; returns false when any p99 regressed past the allowed percentage
+    public static boolean compare(ObjectMapper mapper, Path baseline, Path candidate, double maxRegressionPercent) throws IOException {
+        JsonNode before = mapper.readTree(resolve(baseline).toFile());
+        JsonNode after = mapper.readTree(resolve(candidate).toFile());
+        if (!before.path("scenario").equals(after.path("scenario")) || before.path("rate").asDouble() != after.path("rate").asDouble()) {
+            System.out.println("Warning: reports come from different scenarios or rates");
+        }
+
+        System.out.printf("%-28s %-8s %10s %10s %9s%n", "endpoint", "metric", "baseline", "candidate", "change");
+        boolean ok = true;
+        for (JsonNode endpoint : after.path("endpoints")) {
+            JsonNode previous = findEndpoint(before, endpoint.path("name").asText());
+            if (previous != null) {
+                ok &= compareRow(previous, endpoint, maxRegressionPercent);
+            }
+        }
+        ok &= compareRow(before.path("total"), after.path("total"), maxRegressionPercent);
+        return ok;
+    }
+
+    private static boolean compareRow(JsonNode before, JsonNode after, double maxRegressionPercent) {
+        String name = after.path("name").asText();
+        boolean ok = true;
+        printChange(name, "req/s", before.path("throughput").asDouble(), after.path("throughput").asDouble());
+        for (double percentile : PERCENTILES) {
+            String key = percentileKey(percentile);
+            double change = printChange(name, key, before.path("latencyMs").path(key).asDouble(), after.path("latencyMs").path(key).asDouble());
+            if (percentile == 99 && change > maxRegressionPercent) {
+                ok = false;
+            }
+        }
+        printChange(name, "errors", before.path("errors").asDouble(), after.path("errors").asDouble());
+        return ok;
+    }
+
+    private static double printChange(String name, String metric, double before, double after) {
+        double change = before == 0 ? (after == 0 ? 0 : 100) : (after - before) * 100 / before;
+        System.out.printf("%-28s %-8s %10.2f %10.2f %+8.1f%%%n", name, metric, before, after, change);
+        return change;
+    }
+
+    private static JsonNode findEndpoint(JsonNode report, String name) {
+        for (JsonNode endpoint : report.path("endpoints")) {
+            if (endpoint.path("name").asText().equals(name)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private static Path resolve(Path path) {
+        return Files.isDirectory(path) ? path.resolve("report.json") : path;
+    }
+
+    private static String percentileKey(double percentile) {
+        return "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", ""));
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.proaim.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Renders ${...} placeholders in a step's path and body against randomly drawn fixtures
+public class RequestTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final Scenario.Step step;
+    private final String baseUrl;
+    private final String body;
+    private final String password;
+    private final Duration timeout;
+
+    public RequestTemplate(Scenario.Step step, Options options) {
+        this.step = step;
+        this.baseUrl = options.baseUrl();
+        this.body = step.getBody() == null ? null : step.getBody().toString();
+        this.password = options.password();
+        this.timeout = Duration.ofSeconds(options.timeoutSeconds());
+    }
+
+    public HttpRequest build(Fixtures fixtures, SplittableRandom random) {
+        Context context = new Context(
+                pick(fixtures.getTenants(), random),
+                pick(fixtures.getLandlords(), random),
+                pick(fixtures.getProperties(), random),
+                random);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + render(step.getPath(), context, RequestTemplate::urlEncode)))
+                .timeout(timeout);
+        String token = switch (step.getAuth()) {
+            case NONE -> null;
+            case TENANT -> context.tenant.token();
+            case LANDLORD -> context.landlord.token();
+            case ADMIN -> fixtures.getAdmin().token();
+        };
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body == null) {
+            return builder.method(step.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(step.getMethod(), HttpRequest.BodyPublishers.ofString(render(body, context, RequestTemplate::jsonEscape)))
+                .build();
+    }
+
+    private String render(String template, Context context, UnaryOperator<String> escape) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder rendered = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(escape.apply(resolve(matcher.group(1), context))));
+        }
+        matcher.appendTail(rendered);
+        return rendered.toString();
+    }
+
+    private String resolve(String name, Context context) {
+        String[] parts = name.split(":");
+        switch (parts[0]) {
+            case "tenant.id": return String.valueOf(context.tenant.id());
+            case "tenant.username": return context.tenant.username();
+            case "landlord.id": return String.valueOf(context.landlord.id());
+            case "landlord.username": return context.landlord.username();
+            case "property.id": return String.valueOf(context.property.id());
+            case "property.landlordId": return String.valueOf(context.property.landlordId());
+            case "property.city": return context.property.city();
+            case "property.bedrooms": return String.valueOf(context.property.bedrooms());
+            case "property.rentAmount": return context.property.rentAmount();
+            case "property.latitude": return String.valueOf(context.property.latitude());
+            case "property.longitude": return String.valueOf(context.property.longitude());
+            case "password": return password;
+            case "now": return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+            case "today": return LocalDate.now().toString();
+            case "daysAgo": return LocalDate.now().minusDays(Long.parseLong(parts[1])).toString();
+            case "uuid": return new UUID(context.random.nextLong(), context.random.nextLong()).toString();
+            case "random": return String.valueOf(context.random.nextInt(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]) + 1));
+            default: throw new IllegalArgumentException("Unknown placeholder ${" + name + "} in step " + step.getName());
+        }
+    }
+
+    private static <T> T pick(List<T> pool, SplittableRandom random) {
+        return pool.isEmpty() ? null : pool.get(random.nextInt(pool.size()));
+    }
+
+    private static String urlEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String jsonEscape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private record Context(Fixtures.Session tenant, Fixtures.Session landlord,
+                           Fixtures.PropertySample property, SplittableRandom random) {}
+}
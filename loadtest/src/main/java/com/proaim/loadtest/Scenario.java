@@ -0,0 +1,185 @@
+package com.proaim.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// A weighted traffic mix loaded from a scenario script under loadtest/scenarios
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Scenario {
+
+    private String name;
+    private String description;
+
+    // Open-model arrival rate: requests are scheduled at this rate whether or not earlier ones finished
+    private double rate = 50;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int maxInFlight = 256;
+    private List<Step> steps = new ArrayList<>();
+
+    // Constructors
+    public Scenario() {}
+
+    public static Scenario load(Path path, ObjectMapper mapper) throws IOException {
+        Scenario scenario = mapper.readValue(path.toFile(), Scenario.class);
+        if (scenario.getName() == null) {
+            String file = path.getFileName().toString();
+            scenario.setName(file.endsWith(".json") ? file.substring(0, file.length() - 5) : file);
+        }
+        if (scenario.getSteps().isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + scenario.getName() + " has no steps");
+        }
+        for (Step step : scenario.getSteps()) {
+            if (step.getName() == null || step.getPath() == null || step.getWeight() <= 0) {
+                throw new IllegalArgumentException("Every step needs a name, a path and a positive weight");
+            }
+        }
+        return scenario;
+    }
+
+    // Which pooled session a step sends its bearer token from
+    public enum Auth {
+        NONE, TENANT, LANDLORD, ADMIN
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Step {
+
+        private String name;
+        private int weight = 1;
+        private Auth auth = Auth.NONE;
+        private String method = "GET";
+        private String path;
+        private JsonNode body;
+
+        // Status codes counted as success; empty means any 2xx
+        private List<Integer> expect = new ArrayList<>();
+
+        // Constructors
+        public Step() {}
+
+        public boolean isExpected(int status) {
+            return expect.isEmpty() ? status >= 200 && status < 300 : expect.contains(status);
+        }
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public Auth getAuth() {
+            return auth;
+        }
+
+        public void setAuth(Auth auth) {
+            this.auth = auth;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public JsonNode getBody() {
+            return body;
+        }
+
+        public void setBody(JsonNode body) {
+            this.body = body;
+        }
+
+        public List<Integer> getExpect() {
+            return expect;
+        }
+
+        public void setExpect(List<Integer> expect) {
+            this.expect = expect;
+        }
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+}